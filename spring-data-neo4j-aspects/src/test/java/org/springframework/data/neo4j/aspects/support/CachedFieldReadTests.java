@@ -0,0 +1,76 @@
+/**
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.neo4j.aspects.support;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.neo4j.graphdb.Transaction;
+import org.springframework.data.neo4j.aspects.Sensor;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author mh
+ * @since 17.10.26
+ */
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(locations = {"classpath:org/springframework/data/neo4j/aspects/support/Neo4jGraphPersistenceTests-context.xml"})
+public class CachedFieldReadTests extends EntityTestBase {
+
+    @Test
+    @Transactional
+    public void testRepeatedReadsAreCachedWithinTransaction() {
+        final Sensor sensor = new Sensor("s1", 1).persist();
+        assertEquals("s1", sensor.getName());
+        getNodeState(sensor).setProperty("name", "changed");
+        assertEquals("cached value", "s1", sensor.getName());
+    }
+
+    @Test
+    @Transactional
+    public void testWritesEvictCachedValue() {
+        final Sensor sensor = new Sensor("s1", 1).persist();
+        assertEquals(1, sensor.getValue());
+        sensor.setValue(2);
+        assertEquals(2, sensor.getValue());
+        assertEquals(2, getNodeState(sensor).getProperty("value"));
+    }
+
+    @Test
+    public void testCacheIsDiscardedAtTransactionBoundary() {
+        manualCleanDb();
+        Sensor sensor;
+        Transaction tx = graphDatabaseService.beginTx();
+        try {
+            sensor = new Sensor("s1", 1).persist();
+            assertEquals("s1", sensor.getName());
+            tx.success();
+        } finally {
+            tx.finish();
+        }
+        tx = graphDatabaseService.beginTx();
+        try {
+            getNodeState(sensor).setProperty("name", "changed");
+            assertEquals("changed", sensor.getName());
+            tx.success();
+        } finally {
+            tx.finish();
+        }
+    }
+}
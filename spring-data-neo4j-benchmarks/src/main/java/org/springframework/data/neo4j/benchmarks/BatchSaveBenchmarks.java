@@ -0,0 +1,78 @@
+/**
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.neo4j.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.neo4j.benchmarks.domain.Actor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Saves of many entities, in transactions of {@link #batchSize} entities.
+ *
+ * @author mh
+ * @since 17.10.26
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class BatchSaveBenchmarks {
+    private static final int ACTORS = 1000;
+
+    @Param({"1", "100"})
+    public int batchSize;
+
+    private CineastsGraph graph;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        graph = new CineastsGraph();
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        graph.close();
+    }
+
+    /**
+     * saves 1000 actors per invocation
+     */
+    @Benchmark
+    public List<Actor> saveActors() {
+        final List<Actor> actors = new ArrayList<Actor>(ACTORS);
+        for (int i = 0; i < ACTORS; i++) {
+            actors.add(new Actor("batch-" + i, "Batch Actor " + i));
+        }
+        return graph.getTemplate().save(actors, batchSize);
+    }
+}
@@ -0,0 +1,165 @@
+/**
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.neo4j.benchmarks;
+
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.context.support.ClassPathXmlApplicationContext;
+import org.springframework.data.neo4j.config.Neo4jConfiguration;
+import org.springframework.data.neo4j.benchmarks.domain.Actor;
+import org.springframework.data.neo4j.benchmarks.domain.ActorRepository;
+import org.springframework.data.neo4j.benchmarks.domain.Director;
+import org.springframework.data.neo4j.benchmarks.domain.Movie;
+import org.springframework.data.neo4j.benchmarks.domain.MovieRepository;
+import org.springframework.data.neo4j.support.Neo4jTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Embedded (impermanent) cineasts graph shared by the benchmarks. The generated data only depends on the passed
+ * sizes, so that results of different commits are comparable. Benchmarks that write create a new graph per iteration,
+ * so that every iteration starts with the same data and empty caches.
+ *
+ * @author mh
+ * @since 17.10.26
+ */
+public class CineastsGraph {
+    public static final int DIRECTORS = 10;
+    public static final String NO_FEATURE = "none";
+
+    private final ClassPathXmlApplicationContext context;
+    private final Neo4jTemplate template;
+    private final TransactionTemplate transactionTemplate;
+    private final MovieRepository movieRepository;
+    private final ActorRepository actorRepository;
+    private final List<Director> directors = new ArrayList<Director>();
+
+    public CineastsGraph() {
+        this(Collections.<String, Object>emptyMap());
+    }
+
+    /**
+     * @param configuration properties set on the {@link Neo4jConfiguration}, e.g. to enable opt-in features
+     */
+    public CineastsGraph(final Map<String, Object> configuration) {
+        context = new ClassPathXmlApplicationContext(new String[]{"benchmark-context.xml"}, false);
+        context.addBeanFactoryPostProcessor(new BeanFactoryPostProcessor() {
+            public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+                for (String name : beanFactory.getBeanNamesForType(Neo4jConfiguration.class, true, false)) {
+                    beanFactory.getBeanDefinition(name).getPropertyValues().addPropertyValues(configuration);
+                }
+            }
+        });
+        context.refresh();
+        template = context.getBean(Neo4jTemplate.class);
+        transactionTemplate = new TransactionTemplate(context.getBean("transactionManager", PlatformTransactionManager.class));
+        movieRepository = context.getBean(MovieRepository.class);
+        actorRepository = context.getBean(ActorRepository.class);
+        createDirectors();
+    }
+
+    /**
+     * @param feature name of a boolean {@link Neo4jConfiguration} property to enable, or {@link #NO_FEATURE}
+     */
+    public static Map<String, Object> feature(String feature) {
+        if (NO_FEATURE.equals(feature)) return Collections.emptyMap();
+        return Collections.<String, Object>singletonMap(feature, true);
+    }
+
+    private void createDirectors() {
+        inTransaction(new TransactionCallback<Void>() {
+            public Void doInTransaction(TransactionStatus status) {
+                for (int i = 0; i < DIRECTORS; i++) {
+                    directors.add(template.save(new Director("director-" + i, "Director " + i)));
+                }
+                return null;
+            }
+        });
+    }
+
+    public <T> T inTransaction(TransactionCallback<T> callback) {
+        return transactionTemplate.execute(callback);
+    }
+
+    /**
+     * Creates movies with the ids {@code movie-<n>}, each directed by one of the directors and with the given number
+     * of actors, which play only in this movie.
+     */
+    public List<Movie> createMovies(final int count, final int actorsPerMovie) {
+        return inTransaction(new TransactionCallback<List<Movie>>() {
+            public List<Movie> doInTransaction(TransactionStatus status) {
+                final List<Movie> movies = new ArrayList<Movie>(count);
+                final int first = (int) movieRepository.count();
+                for (int i = first; i < first + count; i++) {
+                    final Movie movie = new Movie("movie-" + i, "Movie " + i, 1950 + i % 60);
+                    movie.setDirector(directors.get(i % DIRECTORS));
+                    movie.getActors().addAll(createActors("actor-" + i + "-", actorsPerMovie));
+                    movies.add(template.save(movie));
+                }
+                return movies;
+            }
+        });
+    }
+
+    /**
+     * Creates actors with the ids {@code <prefix><n>}, each playing in the given number of new movies.
+     */
+    public List<Actor> createActorsWithMovies(final String prefix, final int count, final int moviesPerActor) {
+        final List<Movie> movies = createMovies(count * moviesPerActor, 0);
+        return inTransaction(new TransactionCallback<List<Actor>>() {
+            public List<Actor> doInTransaction(TransactionStatus status) {
+                final List<Actor> actors = new ArrayList<Actor>(count);
+                for (int i = 0; i < count; i++) {
+                    final Actor actor = new Actor(prefix + i, "Actor " + prefix + i);
+                    actor.getMovies().addAll(movies.subList(i * moviesPerActor, (i + 1) * moviesPerActor));
+                    actors.add(template.save(actor));
+                }
+                return actors;
+            }
+        });
+    }
+
+    public List<Actor> createActors(String prefix, int count) {
+        final List<Actor> actors = new ArrayList<Actor>(count);
+        for (int i = 0; i < count; i++) {
+            actors.add(new Actor(prefix + i, "Actor " + prefix + i));
+        }
+        return template.save(actors, 1000);
+    }
+
+    public Neo4jTemplate getTemplate() {
+        return template;
+    }
+
+    public MovieRepository getMovieRepository() {
+        return movieRepository;
+    }
+
+    public ActorRepository getActorRepository() {
+        return actorRepository;
+    }
+
+    public void close() {
+        context.close();
+    }
+}
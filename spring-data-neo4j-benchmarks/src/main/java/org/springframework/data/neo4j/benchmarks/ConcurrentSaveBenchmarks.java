@@ -0,0 +1,84 @@
+/**
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.neo4j.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.neo4j.benchmarks.domain.Actor;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Concurrent saves of entities of the same type, without exact type counters ({@code 0}) and with type counters of
+ * the given number of {@link org.springframework.data.neo4j.support.typerepresentation.StripedCounters stripes}.
+ *
+ * @author mh
+ * @since 17.10.26
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Threads(4)
+@Fork(1)
+public class ConcurrentSaveBenchmarks {
+
+    @Param({"0", "1", "4"})
+    public int counterStripes;
+
+    private CineastsGraph graph;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        final Map<String, Object> configuration = new HashMap<String, Object>();
+        if (counterStripes > 0) {
+            configuration.put("indexedTypeCounters", true);
+            configuration.put("counterStripes", counterStripes);
+        }
+        graph = new CineastsGraph(configuration);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        graph.close();
+    }
+
+    @Benchmark
+    public Actor saveActor() {
+        return graph.inTransaction(new TransactionCallback<Actor>() {
+            public Actor doInTransaction(TransactionStatus status) {
+                return graph.getTemplate().save(new Actor("concurrent-" + Thread.currentThread().getId(), "Concurrent Actor"));
+            }
+        });
+    }
+}
@@ -0,0 +1,91 @@
+/**
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.neo4j.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.neo4j.benchmarks.domain.Actor;
+import org.springframework.data.neo4j.benchmarks.domain.Movie;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Delete throughput of indexed entities with index removal limited to the indexes of the persisted type
+ * ({@code targetedIndexRemoval}) compared to removal from every index of the graph.
+ *
+ * @author mh
+ * @since 17.10.26
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class DeleteBenchmarks {
+    private static final int MOVIES = 1000;
+
+    @Param({"false", "true"})
+    public boolean targetedIndexRemoval;
+
+    private CineastsGraph graph;
+
+    @Setup
+    public void setUp() {
+        graph = new CineastsGraph(Collections.<String, Object>singletonMap("targetedIndexRemoval", targetedIndexRemoval));
+        graph.createMovies(MOVIES, 5);
+    }
+
+    @TearDown
+    public void tearDown() {
+        graph.close();
+    }
+
+    @Benchmark
+    public void createAndDeleteMovie() {
+        graph.inTransaction(new TransactionCallback<Void>() {
+            public Void doInTransaction(TransactionStatus status) {
+                final Movie movie = graph.getTemplate().save(new Movie("deleted-movie", "Deleted Movie", 2000));
+                graph.getTemplate().delete(movie);
+                return null;
+            }
+        });
+    }
+
+    @Benchmark
+    public void createAndDeleteActor() {
+        graph.inTransaction(new TransactionCallback<Void>() {
+            public Void doInTransaction(TransactionStatus status) {
+                final Actor actor = graph.getTemplate().save(new Actor("deleted-actor", "Deleted Actor"));
+                graph.getTemplate().delete(actor);
+                return null;
+            }
+        });
+    }
+}
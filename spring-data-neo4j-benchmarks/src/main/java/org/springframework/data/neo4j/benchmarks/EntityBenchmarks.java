@@ -0,0 +1,112 @@
+/**
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.neo4j.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.neo4j.benchmarks.domain.Movie;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single entity load, save, update of an indexed property and delete, without and with the opt-in entity snapshots
+ * ({@code dirtyTracking}) and identity cache.
+ *
+ * @author mh
+ * @since 17.10.26
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class EntityBenchmarks {
+    private static final int MOVIES = 1000;
+
+    @Param({CineastsGraph.NO_FEATURE, "dirtyTracking", "entityIdentityCache"})
+    public String feature;
+
+    private CineastsGraph graph;
+    private List<Movie> movies;
+    private int next;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        graph = new CineastsGraph(CineastsGraph.feature(feature));
+        movies = graph.createMovies(MOVIES, 5);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        graph.close();
+    }
+
+    private Movie nextMovie() {
+        next = (next + 1) % MOVIES;
+        return movies.get(next);
+    }
+
+    @Benchmark
+    public Movie loadMovie() {
+        return graph.getMovieRepository().findOne(nextMovie().getNodeId());
+    }
+
+    @Benchmark
+    public Movie saveMovie() {
+        return graph.inTransaction(new TransactionCallback<Movie>() {
+            public Movie doInTransaction(TransactionStatus status) {
+                return graph.getTemplate().save(new Movie("new-movie", "New Movie", 2000));
+            }
+        });
+    }
+
+    @Benchmark
+    public Movie updateIndexedProperty() {
+        final Movie movie = graph.getMovieRepository().findOne(nextMovie().getNodeId());
+        movie.setTitle(movie.getTitle() + "!");
+        return graph.inTransaction(new TransactionCallback<Movie>() {
+            public Movie doInTransaction(TransactionStatus status) {
+                return graph.getTemplate().save(movie);
+            }
+        });
+    }
+
+    @Benchmark
+    public void createAndDeleteMovie() {
+        graph.inTransaction(new TransactionCallback<Void>() {
+            public Void doInTransaction(TransactionStatus status) {
+                final Movie movie = graph.getTemplate().save(new Movie("deleted-movie", "Deleted Movie", 2000));
+                graph.getTemplate().delete(movie);
+                return null;
+            }
+        });
+    }
+}
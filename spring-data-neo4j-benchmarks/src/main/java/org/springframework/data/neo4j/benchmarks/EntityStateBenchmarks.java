@@ -0,0 +1,105 @@
+/**
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.neo4j.benchmarks;
+
+import org.neo4j.graphdb.Node;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.data.neo4j.benchmarks.domain.Movie;
+import org.springframework.data.neo4j.core.EntityState;
+import org.springframework.data.neo4j.fieldaccess.CachingEntityState;
+import org.springframework.data.neo4j.fieldaccess.DelegatingFieldAccessorFactory;
+import org.springframework.data.neo4j.fieldaccess.FieldAccessorFactoryFactory;
+import org.springframework.data.neo4j.fieldaccess.NodeDelegatingFieldAccessorFactory;
+import org.springframework.data.neo4j.support.Neo4jTemplate;
+import org.springframework.data.neo4j.support.node.NodeEntityStateFactory;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Repeated field reads of an attached entity within one transaction, through the plain node entity state and
+ * through the {@link CachingEntityState} that entities with {@code @NodeEntity(cacheFieldReads = true)} get in the
+ * AspectJ mode. The state is set up directly, as this module doesn't weave the aspects.
+ *
+ * @author mh
+ * @since 17.10.26
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class EntityStateBenchmarks {
+    private static final int READS = 10;
+
+    @Param({"false", "true"})
+    public boolean cacheFieldReads;
+
+    private CineastsGraph graph;
+    private EntityState<Node> entityState;
+    private Field title;
+    private Field year;
+
+    @Setup
+    public void setUp() throws Exception {
+        graph = new CineastsGraph();
+        final Movie movie = graph.createMovies(1, 0).get(0);
+        final Neo4jTemplate template = graph.getTemplate();
+        final NodeEntityStateFactory entityStateFactory = new NodeEntityStateFactory(template.getInfrastructure().getMappingContext(), new FieldAccessorFactoryFactory() {
+            public DelegatingFieldAccessorFactory create(Neo4jTemplate template) {
+                return new NodeDelegatingFieldAccessorFactory(template);
+            }
+        });
+        final EntityState<Node> nodeEntityState = entityStateFactory.getEntityState(movie, false, template);
+        nodeEntityState.setPersistentState(template.getNode(movie.getNodeId()));
+        entityState = cacheFieldReads ? new CachingEntityState<Node>(nodeEntityState, template.getGraphDatabase().getTransactionManager()) : nodeEntityState;
+        title = Movie.class.getDeclaredField("title");
+        year = Movie.class.getDeclaredField("year");
+    }
+
+    @TearDown
+    public void tearDown() {
+        graph.close();
+    }
+
+    @Benchmark
+    public void readFieldsInTransaction(final Blackhole blackhole) {
+        graph.inTransaction(new TransactionCallback<Void>() {
+            public Void doInTransaction(TransactionStatus status) {
+                for (int i = 0; i < READS; i++) {
+                    blackhole.consume(entityState.getValue(title, null));
+                    blackhole.consume(entityState.getValue(year, null));
+                }
+                return null;
+            }
+        });
+    }
+}
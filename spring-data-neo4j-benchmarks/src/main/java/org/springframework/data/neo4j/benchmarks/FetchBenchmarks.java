@@ -0,0 +1,77 @@
+/**
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.neo4j.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.neo4j.benchmarks.domain.Actor;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loading actors with their {@code @Fetch}ed movies, which in turn fetch their directors, without and with the
+ * opt-in entity identity cache.
+ *
+ * @author mh
+ * @since 17.10.26
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class FetchBenchmarks {
+    private static final int ACTORS = 100;
+
+    @Param({"1", "10", "100"})
+    public int moviesPerActor;
+
+    @Param({CineastsGraph.NO_FEATURE, "entityIdentityCache"})
+    public String feature;
+
+    private CineastsGraph graph;
+    private List<Actor> actors;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        graph = new CineastsGraph(CineastsGraph.feature(feature));
+        actors = graph.createActorsWithMovies("fetched-", ACTORS, moviesPerActor);
+    }
+
+    @TearDown
+    public void tearDown() {
+        graph.close();
+    }
+
+    @Benchmark
+    public Actor loadFetchedGraph() {
+        next = (next + 1) % ACTORS;
+        return graph.getActorRepository().findOne(actors.get(next).getNodeId());
+    }
+}
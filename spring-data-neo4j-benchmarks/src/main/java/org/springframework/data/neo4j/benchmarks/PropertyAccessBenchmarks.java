@@ -0,0 +1,73 @@
+/**
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.neo4j.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.neo4j.benchmarks.domain.Movie;
+import org.springframework.data.neo4j.support.mapping.EntityPropertyAccessor;
+import org.springframework.data.neo4j.support.mapping.EntityPropertyAccessors;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Raw cost of reading and writing a mapped field with the generated accessor compared to reflection, the per entity
+ * cost in context is measured by {@link EntityBenchmarks#loadMovie()}.
+ *
+ * @author mh
+ * @since 17.10.26
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class PropertyAccessBenchmarks {
+    private EntityPropertyAccessor generated;
+    private EntityPropertyAccessor reflective;
+    private Movie movie;
+
+    @Setup
+    public void setUp() throws Exception {
+        final EntityPropertyAccessors accessors = new EntityPropertyAccessors();
+        final Field title = Movie.class.getDeclaredField("title");
+        generated = accessors.forField(title);
+        reflective = EntityPropertyAccessors.reflective(title);
+        movie = new Movie("movie-0", "Movie 0", 2000);
+    }
+
+    @Benchmark
+    public Object generatedReadWrite() {
+        generated.setValue(movie, generated.getValue(movie));
+        return movie;
+    }
+
+    @Benchmark
+    public Object reflectiveReadWrite() {
+        reflective.setValue(movie, reflective.getValue(movie));
+        return movie;
+    }
+}
@@ -0,0 +1,109 @@
+/**
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.neo4j.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.neo4j.benchmarks.domain.Movie;
+import org.springframework.data.neo4j.benchmarks.domain.MovieCast;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Derived finders, {@code @Query} methods with map results and paged {@code findAll}.
+ *
+ * @author mh
+ * @since 17.10.26
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class QueryBenchmarks {
+    private static final int MOVIES = 1000;
+    private static final int PAGE_SIZE = 20;
+
+    private CineastsGraph graph;
+    private List<Movie> movies;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        graph = new CineastsGraph();
+        movies = graph.createMovies(MOVIES, 10);
+    }
+
+    @TearDown
+    public void tearDown() {
+        graph.close();
+    }
+
+    private Movie nextMovie() {
+        next = (next + 1) % MOVIES;
+        return movies.get(next);
+    }
+
+    @Benchmark
+    public Movie derivedFinderByIndexedProperty() {
+        return graph.getMovieRepository().findById(nextMovie().getId());
+    }
+
+    @Benchmark
+    public List<Movie> derivedFinderWithTwoProperties() {
+        final Movie movie = nextMovie();
+        return graph.getMovieRepository().findByTitleAndYear(movie.getTitle(), movie.getYear());
+    }
+
+    @Benchmark
+    public void queryMapResult(Blackhole blackhole) {
+        for (MovieCast cast : graph.getMovieRepository().getCast(nextMovie())) {
+            blackhole.consume(cast.getName());
+            blackhole.consume(cast.getRole());
+        }
+    }
+
+    @Benchmark
+    public void queryMaps(Blackhole blackhole) {
+        for (Map<String, Object> row : graph.getMovieRepository().getActorNames(nextMovie())) {
+            blackhole.consume(row);
+        }
+    }
+
+    @Benchmark
+    public void findAllPaged(Blackhole blackhole) {
+        next = (next + 1) % (MOVIES / PAGE_SIZE);
+        final Page<Movie> page = graph.getMovieRepository().findAll(new PageRequest(next, PAGE_SIZE));
+        for (Movie movie : page) {
+            blackhole.consume(movie);
+        }
+    }
+}
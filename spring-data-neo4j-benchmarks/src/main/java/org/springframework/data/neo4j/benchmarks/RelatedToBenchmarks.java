@@ -0,0 +1,102 @@
+/**
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.neo4j.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.data.neo4j.benchmarks.domain.Actor;
+import org.springframework.data.neo4j.benchmarks.domain.Movie;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading and writing back {@code @RelatedTo} collections of different sizes, the write replaces one element so
+ * that the cost of diffing the collection against the stored relationships is measured, without and with the opt-in
+ * entity snapshots ({@code dirtyTracking}).
+ *
+ * @author mh
+ * @since 17.10.26
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class RelatedToBenchmarks {
+    @Param({"10", "100", "1000", "10000"})
+    public int actors;
+
+    @Param({CineastsGraph.NO_FEATURE, "dirtyTracking"})
+    public String feature;
+
+    private CineastsGraph graph;
+    private Long movieId;
+    private List<Actor> spareActors;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        graph = new CineastsGraph(CineastsGraph.feature(feature));
+        movieId = graph.createMovies(1, actors).get(0).getNodeId();
+        spareActors = graph.inTransaction(new TransactionCallback<List<Actor>>() {
+            public List<Actor> doInTransaction(TransactionStatus status) {
+                return graph.createActors("spare-", 2);
+            }
+        });
+    }
+
+    @TearDown
+    public void tearDown() {
+        graph.close();
+    }
+
+    @Benchmark
+    public void readRelatedTo(Blackhole blackhole) {
+        final Movie movie = graph.getMovieRepository().findOne(movieId);
+        for (Actor actor : movie.getActors()) {
+            blackhole.consume(actor);
+        }
+    }
+
+    @Benchmark
+    public Movie replaceOneRelatedTo() {
+        final Movie movie = graph.getMovieRepository().findOne(movieId);
+        final Actor added = spareActors.get(next % 2);
+        final Actor removed = spareActors.get(++next % 2);
+        movie.getActors().remove(removed);
+        movie.getActors().add(added);
+        return graph.inTransaction(new TransactionCallback<Movie>() {
+            public Movie doInTransaction(TransactionStatus status) {
+                return graph.getTemplate().save(movie);
+            }
+        });
+    }
+}
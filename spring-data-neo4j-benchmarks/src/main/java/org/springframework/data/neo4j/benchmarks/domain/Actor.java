@@ -0,0 +1,68 @@
+/**
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.neo4j.benchmarks.domain;
+
+import org.springframework.data.neo4j.annotation.Fetch;
+import org.springframework.data.neo4j.annotation.GraphId;
+import org.springframework.data.neo4j.annotation.Indexed;
+import org.springframework.data.neo4j.annotation.NodeEntity;
+import org.springframework.data.neo4j.annotation.RelatedTo;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Actor of the cineasts domain, fetches all movies (and thereby their directors) eagerly.
+ *
+ * @author mh
+ * @since 17.10.26
+ */
+@NodeEntity
+public class Actor {
+    @GraphId Long nodeId;
+
+    @Indexed
+    String id;
+
+    String name;
+
+    @Fetch @RelatedTo(type = "ACTS_IN")
+    Set<Movie> movies = new HashSet<Movie>();
+
+    public Actor() {
+    }
+
+    public Actor(String id, String name) {
+        this.id = id;
+        this.name = name;
+    }
+
+    public Long getNodeId() {
+        return nodeId;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Set<Movie> getMovies() {
+        return movies;
+    }
+}
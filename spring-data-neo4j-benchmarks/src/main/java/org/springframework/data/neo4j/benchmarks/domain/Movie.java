@@ -0,0 +1,110 @@
+/**
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.neo4j.benchmarks.domain;
+
+import org.springframework.data.neo4j.annotation.Fetch;
+import org.springframework.data.neo4j.annotation.GraphId;
+import org.springframework.data.neo4j.annotation.Indexed;
+import org.springframework.data.neo4j.annotation.NodeEntity;
+import org.springframework.data.neo4j.annotation.RelatedTo;
+import org.springframework.data.neo4j.annotation.RelatedToVia;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.neo4j.graphdb.Direction.INCOMING;
+
+/**
+ * Movie of the cineasts domain, fetches its director eagerly.
+ *
+ * @author mh
+ * @since 17.10.26
+ */
+@NodeEntity
+public class Movie {
+    @GraphId Long nodeId;
+
+    @Indexed
+    String id;
+
+    @Indexed
+    String title;
+
+    String description;
+    int year;
+
+    @Fetch @RelatedTo(type = "DIRECTED", direction = INCOMING)
+    Director director;
+
+    @RelatedTo(type = "ACTS_IN", direction = INCOMING)
+    Set<Actor> actors = new HashSet<Actor>();
+
+    @RelatedToVia(type = "ACTS_IN", direction = INCOMING)
+    Iterable<Role> roles;
+
+    public Movie() {
+    }
+
+    public Movie(String id, String title, int year) {
+        this.id = id;
+        this.title = title;
+        this.year = year;
+    }
+
+    public Long getNodeId() {
+        return nodeId;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public int getYear() {
+        return year;
+    }
+
+    public Director getDirector() {
+        return director;
+    }
+
+    public void setDirector(Director director) {
+        this.director = director;
+    }
+
+    public Set<Actor> getActors() {
+        return actors;
+    }
+
+    public Iterable<Role> getRoles() {
+        return roles;
+    }
+}
@@ -0,0 +1,38 @@
+/**
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.neo4j.benchmarks.domain;
+
+import org.springframework.data.neo4j.annotation.Query;
+import org.springframework.data.neo4j.repository.GraphRepository;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author mh
+ * @since 17.10.26
+ */
+public interface MovieRepository extends GraphRepository<Movie> {
+    Movie findById(String id);
+
+    List<Movie> findByTitleAndYear(String title, int year);
+
+    @Query("start movie=node({0}) match movie<-[role:ACTS_IN]-actor return movie.title as title, actor.name as name, role.name? as role")
+    Iterable<MovieCast> getCast(Movie movie);
+
+    @Query("start movie=node({0}) match movie<-[:ACTS_IN]-actor return actor.name as name, count(*) as movies")
+    Iterable<Map<String, Object>> getActorNames(Movie movie);
+}
@@ -0,0 +1,59 @@
+/**
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.neo4j.benchmarks.domain;
+
+import org.springframework.data.neo4j.annotation.EndNode;
+import org.springframework.data.neo4j.annotation.GraphId;
+import org.springframework.data.neo4j.annotation.RelationshipEntity;
+import org.springframework.data.neo4j.annotation.StartNode;
+
+/**
+ * @author mh
+ * @since 17.10.26
+ */
+@RelationshipEntity(type = "ACTS_IN")
+public class Role {
+    @GraphId Long id;
+    @StartNode Actor actor;
+    @EndNode Movie movie;
+
+    String name;
+
+    public Role() {
+    }
+
+    public Role(Actor actor, Movie movie, String name) {
+        this.actor = actor;
+        this.movie = movie;
+        this.name = name;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Actor getActor() {
+        return actor;
+    }
+
+    public Movie getMovie() {
+        return movie;
+    }
+}
@@ -38,6 +38,7 @@ import org.springframework.data.neo4j.support.query.ConversionServiceQueryResult
 import org.springframework.data.neo4j.support.query.QueryEngine;
 
 import javax.transaction.TransactionManager;
+import java.util.Collection;
 import java.util.Map;
 
 public class SpringRestGraphDatabase extends org.neo4j.rest.graphdb.RestGraphDatabase implements GraphDatabase{
@@ -179,6 +180,24 @@ public class SpringRestGraphDatabase extends org.neo4j.rest.graphdb.RestGraphDat
        relationship.delete();
     }
 
+    @Override
+    public void remove(Node node, Collection<String> indexNames) {
+        final RestIndexManager indexManager = index();
+        for (String indexName : indexNames) {
+            if (indexManager.existsForNodes(indexName)) indexManager.forNodes(indexName).remove(node);
+        }
+        node.delete();
+    }
+
+    @Override
+    public void remove(Relationship relationship, Collection<String> indexNames) {
+        final RestIndexManager indexManager = index();
+        for (String indexName : indexNames) {
+            if (indexManager.existsForRelationships(indexName)) indexManager.forRelationships(indexName).remove(relationship);
+        }
+        relationship.delete();
+    }
+
     @Override
     public void setResultConverter(ResultConverter resultConverter) {
        this.resultConverter = resultConverter;
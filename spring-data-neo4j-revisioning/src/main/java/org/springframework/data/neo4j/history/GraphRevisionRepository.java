@@ -16,10 +16,11 @@
 
 package org.springframework.data.neo4j.history;
 
-
+import org.joda.time.DateTime;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.history.Revision;
 import org.springframework.data.neo4j.conversion.EndResult;
 import org.springframework.data.neo4j.repository.GraphRepository;
 import org.springframework.data.repository.NoRepositoryBean;
@@ -40,4 +41,6 @@ public interface GraphRevisionRepository<T> extends
     EndResult<T> findAll(Sort sort, long revisionNumber);
 
     Page<T> findAll(Pageable pageable, long revisionNumber);
+
+    Page<Revision<Long, T>> findRevisions(Long id, DateTime from, DateTime to, Pageable pageable);
 }
@@ -16,10 +16,10 @@
 
 package org.springframework.data.neo4j.history;
 
+import org.joda.time.DateTime;
 import org.neo4j.graphdb.Direction;
 import org.neo4j.graphdb.Node;
-import org.neo4j.graphdb.Path;
-import org.neo4j.kernel.Traversal;
+import org.neo4j.graphdb.Relationship;
 import org.springframework.dao.DataRetrievalFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -28,10 +28,11 @@ import org.springframework.data.domain.Sort;
 import org.springframework.data.history.Revision;
 import org.springframework.data.history.Revisions;
 import org.springframework.data.neo4j.conversion.EndResult;
-import org.springframework.data.neo4j.conversion.Result;
 import org.springframework.data.neo4j.repository.GraphRepository;
 import org.springframework.data.neo4j.repository.NodeGraphRepositoryImpl;
 import org.springframework.data.neo4j.support.Neo4jTemplate;
+import org.springframework.data.neo4j.versioning.DeltaHistory;
+import org.springframework.data.neo4j.versioning.Range;
 import org.springframework.data.neo4j.versioning.RevisionManager;
 import org.springframework.data.neo4j.versioning.VersionedNeo4jTemplate;
 import org.springframework.data.neo4j.versioning.VersionedTraversalDescription;
@@ -131,67 +132,96 @@ public class NodeGraphRevisionRepository<T>
 
     @Override
     public Revisions<Long, T> findRevisions(Long id) {
-        final Node node = template.getNode(id);
-        if (RevisionManager.isVersioned(node)) {
-            return new Revisions<Long, T>(findAllRevisions(node));
+        final List<Revision<Long, T>> revisions = new ArrayList<Revision<Long, T>>();
+        for (Node state = versionedNode(id); state != null; state = older(state)) {
+            revisions.add(buildRevision(state));
         }
-        throw new RuntimeException("Node is not revisioned");
+        return new Revisions<Long, T>(revisions);
     }
 
+    /**
+     * Walks the revision chain once, newest revision first, and only materializes the requested page. The total is
+     * taken from the revision counter of the node if it has one.
+     */
     @Override
     public Page<Revision<Long, T>> findRevisions(Long id, Pageable pageable) {
-        final Node node = template.getNode(id);
-        if (RevisionManager.isVersioned(node)) {
-            final List<Path> paths = new ArrayList<Path>();
-            final Iterator<Path> it = template.traverse(node, Traversal.description().relationships(RevisionManager.PREV_REV_REL_TYPE, Direction.OUTGOING)).iterator();
-            int total = subPath(pageable.getOffset(), pageable.getPageSize(), it, paths);
-            if (it.hasNext()) {
-                total++;
+        final Node node = versionedNode(id);
+        final int offset = pageable.getOffset();
+        final int end = offset + pageable.getPageSize();
+        final List<Revision<Long, T>> revisions = new ArrayList<Revision<Long, T>>(pageable.getPageSize());
+        long position = 0;
+        Node state = node;
+        for (; state != null && position < end; state = older(state), position++) {
+            if (position >= offset) {
+                revisions.add(buildRevision(state));
             }
-            final List<Revision<Long, T>> revisions = new ArrayList<Revision<Long, T>>();
-            final Result<Path> path = template.traverse(node, Traversal.description().relationships(RevisionManager.PREV_REV_REL_TYPE, Direction.OUTGOING));
-            for (Path p : path) {
-                revisions.add(buildRevision(p.endNode()));
+        }
+        final long total;
+        if (state == null) {
+            total = position;
+        } else if (node.hasProperty(RevisionManager.PROPERTY_REVISION_COUNT)) {
+            total = (Long) node.getProperty(RevisionManager.PROPERTY_REVISION_COUNT);
+        } else {
+            total = position + countStates(state);
+        }
+        return new PageImpl<Revision<Long, T>>(revisions, pageable, total);
+    }
+
+    /**
+     * Like {@link #findRevisions(Long, Pageable)}, restricted to the states that were created by revisions within
+     * the given time range, as found in the revision date index.
+     */
+    @Override
+    public Page<Revision<Long, T>> findRevisions(Long id, DateTime from, DateTime to, Pageable pageable) {
+        final Node node = versionedNode(id);
+        final List<Revision<Long, T>> revisions = new ArrayList<Revision<Long, T>>(pageable.getPageSize());
+        final Range range = RevisionManager.getRevisionRange(template.getGraphDatabase(), from, to);
+        if (range == null) {
+            return new PageImpl<Revision<Long, T>>(revisions, pageable, 0);
+        }
+        final int offset = pageable.getOffset();
+        final int end = offset + pageable.getPageSize();
+        long position = 0;
+        for (Node state = node; state != null; state = older(state)) {
+            final long start = RevisionManager.getStartRevision(state);
+            if (start > range.to()) continue;
+            if (start < range.from()) break;
+            if (position >= offset && position < end) {
+                revisions.add(buildRevision(state));
             }
-            return new PageImpl<Revision<Long, T>>(revisions, pageable, total);
+            position++;
         }
-        throw new RuntimeException("Node is not revisioned");
+        return new PageImpl<Revision<Long, T>>(revisions, pageable, position);
     }
 
-    private List<Revision<Long, T>> findAllRevisions(Node node) {
-        final List<Revision<Long, T>> revisions = new ArrayList<Revision<Long, T>>();
-        final Result<Path> path = template.traverse(node, Traversal.description().relationships(RevisionManager.PREV_REV_REL_TYPE, Direction.OUTGOING));
-        for (Path p : path) {
-            revisions.add(buildRevision(p.endNode()));
+    private Node versionedNode(Long id) {
+        final Node node = template.getNode(id);
+        if (!RevisionManager.isVersioned(node)) {
+            throw new RuntimeException("Node is not revisioned");
         }
-        return revisions;
+        return node;
     }
 
-    private Revision<Long, T> buildRevision(Node node) {
-        final Long number = RevisionManager.getRevisionNumber(node);
-        final EndResult<Rev> result = revRepository.findAllByPropertyValue("number", number);
-        final Rev rev = result.single();
-        return new Revision<Long, T>(new GraphRevisionMetadata(rev), template.projectTo(node, clazz));
+    private Node older(Node state) {
+        final Relationship prev = state.getSingleRelationship(RevisionManager.PREV_REV_REL_TYPE, Direction.OUTGOING);
+        return prev == null ? null : prev.getEndNode();
     }
 
-    private int subPath(int skip, int limit, Iterator<Path> source, final List<Path> list) {
-        int count = 0;
-        while (source.hasNext()) {
+    private long countStates(Node state) {
+        long count = 0;
+        for (; state != null; state = older(state)) {
             count++;
-            Path p = source.next();
-            if (skip > 0) {
-                skip--;
-            } else {
-                list.add(p);
-                limit--;
-            }
-            if (limit + skip == 0) {
-                break;
-            }
         }
         return count;
     }
 
+    private Revision<Long, T> buildRevision(Node node) {
+        final Long number = RevisionManager.getRevisionNumber(node);
+        final EndResult<Rev> result = revRepository.findAllByPropertyValue("number", number);
+        final Rev rev = result.single();
+        return new Revision<Long, T>(new GraphRevisionMetadata(rev), template.projectTo(DeltaHistory.snapshot(node), clazz));
+    }
+
     private PageImpl<T> extractPage(Pageable pageable, int count, int offset, Iterator<T> iterator) {
         final List<T> result = new ArrayList<T>(count);
         int total = subList(offset, count, iterator, result);
@@ -16,6 +16,7 @@
 
 package org.springframework.data.neo4j.history;
 
+import org.joda.time.DateTime;
 import org.neo4j.graphdb.Node;
 import org.neo4j.graphdb.Relationship;
 import org.springframework.dao.DataRetrievalFailureException;
@@ -159,5 +160,10 @@ public class RelationshipGraphRevisionRepository<T> extends RelationshipGraphRep
     public Page<Revision<Long, T>> findRevisions(Long id, Pageable pageable) {
         throw new UnsupportedOperationException("Revisions for relationships are not supported");
     }
+
+    @Override
+    public Page<Revision<Long, T>> findRevisions(Long id, DateTime from, DateTime to, Pageable pageable) {
+        throw new UnsupportedOperationException("Revisions for relationships are not supported");
+    }
 }
 
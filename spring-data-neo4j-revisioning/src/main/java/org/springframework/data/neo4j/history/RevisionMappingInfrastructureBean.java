@@ -49,8 +49,8 @@ public class RevisionMappingInfrastructureBean extends MappingInfrastructureFact
         super.afterPropertiesSet();
         strategies = new RevisionTypeRepresentationStrategies(getMappingContext(), getNodeTypeRepresentationStrategy(), getRelationshipTypeRepresentationStrategy());
         entityRemover = new RevisionEntityRemover(getEntityStateHandler(), getNodeTypeRepresentationStrategy(), getRelationshipTypeRepresentationStrategy(), getGraphDatabase());
-        EntityTools<Node> nodeEntityTools = new EntityTools<Node>(getNodeTypeRepresentationStrategy(), nodeEntityStateFactory, nodeEntityInstantiator, getMappingContext());
-        EntityTools<Relationship> relationshipEntityTools = new EntityTools<Relationship>(getRelationshipTypeRepresentationStrategy(), relationshipEntityStateFactory, relationshipEntityInstantiator, getMappingContext());
+        EntityTools<Node> nodeEntityTools = new EntityTools<Node>(getNodeTypeRepresentationStrategy(), nodeEntityStateFactory, nodeEntityInstantiator, getMappingContext(), getEntitySnapshots());
+        EntityTools<Relationship> relationshipEntityTools = new EntityTools<Relationship>(getRelationshipTypeRepresentationStrategy(), relationshipEntityStateFactory, relationshipEntityInstantiator, getMappingContext(), getEntitySnapshots());
         entityPersister = new VersioningNeo4jEntityPersister(getConversionService(), nodeEntityTools, relationshipEntityTools, getMappingContext(), getEntityStateHandler());
         mappingInfrastructure = new MappingInfrastructure(getGraphDatabase(), getGraphDatabaseService(), getIndexProvider(),
                 getResultConverter(), getTransactionManager(), getTypeRepresentationStrategies(), getEntityRemover(),
@@ -76,11 +76,16 @@ public class RevisionNeo4jConfiguration extends Neo4jConfiguration {
 
     @Bean
     public RevisionTransactionEventHandler versioningTransactionHandler() throws Exception {
-        final RevisionTransactionEventHandler handler = new RevisionTransactionEventHandler(revisionManager(), indexProvider());
+        final RevisionTransactionEventHandler handler = new RevisionTransactionEventHandler(revisionManager(), indexProvider(), deltaHistory());
         getGraphDatabaseService().registerTransactionEventHandler(handler);
         return handler;
     }
 
+    @Bean
+    public DeltaHistory deltaHistory() {
+        return new DeltaHistory();
+    }
+
     @Bean
     public RevisionManager revisionManager() throws Exception {
         return new RevisionManager(revisionProvider(), neo4jTransactionManager(), neo4jTemplate());
@@ -0,0 +1,300 @@
+/**
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.neo4j.versioning;
+
+import org.neo4j.graphdb.Direction;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.PropertyContainer;
+import org.neo4j.graphdb.Relationship;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Storage format of the historic nodes in the {@code __PREV_REV__} chain of a versioned node.
+ * <p/>
+ * A delta node only holds the internal properties (type, revision range) and the previous values of the properties
+ * that changed with the revision that replaced it, keys that did not exist before are listed in
+ * {@link #PROPERTY_DELTA_ABSENT}. Every {@code snapshotInterval}-th historic node is written as a full copy, so that
+ * reconstructing a snapshot with {@link #snapshot} never has to walk more than that many nodes towards the live node.
+ * A snapshot interval of 1 writes full copies only.
+ * <p/>
+ * Deltas are relative to the next newer node of the chain, reconstruction starts at the nearest newer full copy. Only
+ * the deltas written after the newest full copy start at the live node, which has to be in its committed state then:
+ * history has to be read outside of a transaction that modifies the versioned node, read-only transactions are fine.
+ *
+ * @author mh
+ * @since 17.10.26
+ */
+public class DeltaHistory {
+
+    public static final String PROPERTY_DELTA_DEPTH = "__DELTA_DEPTH__";
+
+    public static final String PROPERTY_DELTA_ABSENT = "__DELTA_ABSENT__";
+
+    public static final int DEFAULT_SNAPSHOT_INTERVAL = 10;
+
+    private static final String INTERNAL_PREFIX = "__";
+
+    private final int snapshotInterval;
+
+    private final AtomicLong historyNodes = new AtomicLong();
+    private final AtomicLong changedProperties = new AtomicLong();
+    private final AtomicLong writtenProperties = new AtomicLong();
+
+    public DeltaHistory() {
+        this(DEFAULT_SNAPSHOT_INTERVAL);
+    }
+
+    public DeltaHistory(int snapshotInterval) {
+        if (snapshotInterval < 1) throw new IllegalArgumentException("Snapshot interval must be at least 1");
+        this.snapshotInterval = snapshotInterval;
+    }
+
+    public int getSnapshotInterval() {
+        return snapshotInterval;
+    }
+
+    /**
+     * Fills a new historic node for the state of the live node before the current transaction.
+     *
+     * @param previousValues the previously committed values of the changed properties, null for new properties
+     * @param previous       the historic node that was the head of the chain so far, or null
+     */
+    void writeHistory(Node mainNode, Node historicNode, Map<String, Object> previousValues, Node previous) {
+        final int depth = previous != null && isDelta(previous) ? depthOf(previous) + 1 : 1;
+        int written = 0;
+        if (depth >= snapshotInterval) {
+            for (String key : mainNode.getPropertyKeys()) {
+                historicNode.setProperty(key, mainNode.getProperty(key));
+                written++;
+            }
+            for (Map.Entry<String, Object> entry : previousValues.entrySet()) {
+                if (entry.getValue() == null) {
+                    if (historicNode.removeProperty(entry.getKey()) != null) written--;
+                } else {
+                    historicNode.setProperty(entry.getKey(), entry.getValue());
+                }
+            }
+        } else {
+            for (String key : mainNode.getPropertyKeys()) {
+                if (isInternal(key)) {
+                    historicNode.setProperty(key, mainNode.getProperty(key));
+                    written++;
+                }
+            }
+            final List<String> absent = new ArrayList<String>();
+            for (Map.Entry<String, Object> entry : previousValues.entrySet()) {
+                if (entry.getValue() == null) {
+                    absent.add(entry.getKey());
+                } else {
+                    historicNode.setProperty(entry.getKey(), entry.getValue());
+                    written++;
+                }
+            }
+            historicNode.setProperty(PROPERTY_DELTA_DEPTH, depth);
+            written++;
+            if (!absent.isEmpty()) {
+                historicNode.setProperty(PROPERTY_DELTA_ABSENT, absent.toArray(new String[absent.size()]));
+                written++;
+            }
+        }
+        historyNodes.incrementAndGet();
+        changedProperties.addAndGet(previousValues.size());
+        writtenProperties.addAndGet(written);
+    }
+
+    public static boolean isDelta(PropertyContainer container) {
+        return container.hasProperty(PROPERTY_DELTA_DEPTH);
+    }
+
+    /**
+     * @return true for the historic nodes of the chain, false for live nodes
+     */
+    public static boolean isHistoric(Node node) {
+        return node.hasRelationship(RevisionManager.PREV_REV_REL_TYPE, Direction.INCOMING);
+    }
+
+    /**
+     * @return the passed container or, for delta nodes, a read-only node with the full state it represents
+     */
+    public static <S extends PropertyContainer> S snapshot(S container) {
+        if (!(container instanceof Node) || !isDelta(container)) return container;
+        final Node node = (Node) container;
+        @SuppressWarnings("unchecked") final S snapshot = (S) new SnapshotNode(node, reconstruct(node));
+        return snapshot;
+    }
+
+    static Map<String, Object> reconstruct(Node historicNode) {
+        final LinkedList<Node> deltas = new LinkedList<Node>();
+        Node node = historicNode;
+        while (isDelta(node)) {
+            deltas.addFirst(node);
+            node = newer(node);
+        }
+        // the nearest newer full copy, or the live node
+        final Map<String, Object> properties = new HashMap<String, Object>();
+        copyUserProperties(node, properties);
+        for (Node delta : deltas) {
+            applyDelta(delta, properties);
+        }
+        for (String key : historicNode.getPropertyKeys()) {
+            if (isInternal(key) && !isDeltaProperty(key)) {
+                properties.put(key, historicNode.getProperty(key));
+            }
+        }
+        return properties;
+    }
+
+    /**
+     * Rewrites deltas of the chain of the given live node as full copies, so that no node is more than
+     * {@code snapshotInterval} deltas away from a full one, e.g. after lowering the interval. Runs in the callers
+     * transaction, which must not have modified the live node before.
+     *
+     * @return the number of rewritten historic nodes
+     */
+    public int compact(Node mainNode) {
+        final List<Node> chain = new ArrayList<Node>();
+        for (Node node = older(mainNode); node != null; node = older(node)) {
+            chain.add(node);
+        }
+        // depths are counted from the oldest node, as in writeHistory
+        final Set<Long> materialize = new HashSet<Long>();
+        int depth = 0;
+        for (int i = chain.size() - 1; i >= 0; i--) {
+            final Node node = chain.get(i);
+            if (!isDelta(node)) {
+                depth = 0;
+            } else if (++depth >= snapshotInterval) {
+                materialize.add(node.getId());
+                depth = 0;
+            } else if (depthOf(node) != depth) {
+                node.setProperty(PROPERTY_DELTA_DEPTH, depth);
+            }
+        }
+        if (materialize.isEmpty()) return 0;
+
+        // walk from the live node towards the oldest one, applying the deltas on the way
+        final Map<String, Object> state = new HashMap<String, Object>();
+        copyUserProperties(mainNode, state);
+        for (Node node : chain) {
+            if (isDelta(node)) {
+                applyDelta(node, state);
+            } else {
+                state.clear();
+                copyUserProperties(node, state);
+            }
+            if (materialize.contains(node.getId())) {
+                for (Map.Entry<String, Object> entry : state.entrySet()) {
+                    node.setProperty(entry.getKey(), entry.getValue());
+                }
+                node.removeProperty(PROPERTY_DELTA_DEPTH);
+                node.removeProperty(PROPERTY_DELTA_ABSENT);
+            }
+        }
+        return materialize.size();
+    }
+
+    /**
+     * @return the number of properties stored in the historic nodes of the given live node, as a measure of the
+     * size of its history
+     */
+    public static long countHistoryProperties(Node mainNode) {
+        long count = 0;
+        for (Node node = older(mainNode); node != null; node = older(node)) {
+            for (String ignored : node.getPropertyKeys()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public long getHistoryNodes() {
+        return historyNodes.get();
+    }
+
+    public long getChangedProperties() {
+        return changedProperties.get();
+    }
+
+    public long getWrittenProperties() {
+        return writtenProperties.get();
+    }
+
+    /**
+     * @return properties written to historic nodes per changed property
+     */
+    public double getWriteAmplification() {
+        final long changed = changedProperties.get();
+        return changed == 0 ? 0 : (double) writtenProperties.get() / changed;
+    }
+
+    public void resetStatistics() {
+        historyNodes.set(0);
+        changedProperties.set(0);
+        writtenProperties.set(0);
+    }
+
+    private static void copyUserProperties(Node node, Map<String, Object> properties) {
+        for (String key : node.getPropertyKeys()) {
+            if (!isInternal(key)) {
+                properties.put(key, node.getProperty(key));
+            }
+        }
+    }
+
+    private static void applyDelta(Node delta, Map<String, Object> properties) {
+        copyUserProperties(delta, properties);
+        for (String key : (String[]) delta.getProperty(PROPERTY_DELTA_ABSENT, new String[0])) {
+            properties.remove(key);
+        }
+    }
+
+    private static Node newer(Node node) {
+        final Relationship rel = node.getSingleRelationship(RevisionManager.PREV_REV_REL_TYPE, Direction.INCOMING);
+        if (rel == null) throw new IllegalStateException("Delta node " + node + " is not part of a revision chain");
+        return rel.getStartNode();
+    }
+
+    private static Node older(Node node) {
+        final Relationship rel = node.getSingleRelationship(RevisionManager.PREV_REV_REL_TYPE, Direction.OUTGOING);
+        return rel == null ? null : rel.getEndNode();
+    }
+
+    private static int depthOf(Node node) {
+        return (Integer) node.getProperty(PROPERTY_DELTA_DEPTH);
+    }
+
+    private static boolean isInternal(String key) {
+        return key.startsWith(INTERNAL_PREFIX);
+    }
+
+    private static boolean isDeltaProperty(String key) {
+        return key.equals(PROPERTY_DELTA_DEPTH) || key.equals(PROPERTY_DELTA_ABSENT);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("DeltaHistory{snapshotInterval=%d, historyNodes=%d, changedProperties=%d, writtenProperties=%d}",
+                snapshotInterval, getHistoryNodes(), getChangedProperties(), getWrittenProperties());
+    }
+}
@@ -17,14 +17,48 @@ package org.springframework.data.neo4j.versioning;
 
 import org.joda.time.DateTime;
 import org.neo4j.graphdb.*;
+import org.neo4j.graphdb.index.Index;
+import org.neo4j.graphdb.index.IndexHits;
+import org.neo4j.index.lucene.QueryContext;
+import org.neo4j.index.lucene.ValueContext;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.neo4j.core.GraphDatabase;
 import org.springframework.data.neo4j.history.Rev;
+import org.springframework.data.neo4j.support.index.IndexType;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.TransactionStatus;
 import org.springframework.transaction.support.TransactionCallback;
 import org.springframework.transaction.support.TransactionCallbackWithoutResult;
 import org.springframework.transaction.support.TransactionTemplate;
 
-public class RevisionManager {
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Hands out the revision numbers of committing transactions and maintains the chain of revision nodes.
+ * <p/>
+ * Numbers are taken from an atomic counter, so committing transactions don't wait for each other. Each transaction
+ * stores its {@link Rev} node itself, the {@code __PREV_REV__} chain and the {@code __REVISIONS__} head relationship
+ * are updated in batches by a single background thread, in revision order and only up to the highest revision below
+ * which every transaction has completed. Numbers of rolled back transactions are skipped in the chain.
+ *
+ * @author mh
+ * @since 17.10.26
+ */
+public class RevisionManager implements DisposableBean {
 
     public static final String PROPERTY_DELETED = "__DELETED_ENTITY__";
 
@@ -38,6 +72,10 @@ public class RevisionManager {
 
     public static final String INDEX_VALID_TO = "__VALID_TO__";
 
+    public static final String INDEX_REVISION_DATE = "__REVISION_DATE__";
+
+    public static final String PROPERTY_REVISION_COUNT = "__REVISION_COUNT__";
+
     public static final RelationshipType PREV_REV_REL_TYPE = DynamicRelationshipType.withName("__PREV_REV__");
 
     public static final RelationshipType REVISIONS_REL_TYPE = DynamicRelationshipType.withName("__REVISIONS__");
@@ -46,13 +84,41 @@ public class RevisionManager {
 
     public static final Long LATEST = Long.MAX_VALUE;
 
+    private static final int LINK_BATCH_SIZE = 1000;
+
     private VersionedNeo4jTemplate template;
 
     private final RevisionProvider<? extends Rev> provider;
 
     private final PlatformTransactionManager transactionManager;
 
-    private Rev current;
+    // last allocated revision number
+    private final AtomicLong allocated = new AtomicLong();
+    // all revisions up to this one have been committed or rolled back
+    private final AtomicLong completed = new AtomicLong();
+    // completed revisions above the completed watermark
+    private final ConcurrentSkipListSet<Long> completedAbove = new ConcurrentSkipListSet<Long>();
+    // committed revisions that are not yet part of the chain
+    private final ConcurrentNavigableMap<Long, Rev> unlinked = new ConcurrentSkipListMap<Long, Rev>();
+    // committed revisions above the current one, which become current once the completed watermark reaches them
+    private final ConcurrentNavigableMap<Long, Rev> committedAbove = new ConcurrentSkipListMap<Long, Rev>();
+    // latest committed revision at or below the completed watermark
+    private final AtomicReference<Rev> current = new AtomicReference<Rev>();
+    private final AtomicBoolean linkScheduled = new AtomicBoolean();
+    private final ExecutorService linker = Executors.newSingleThreadExecutor(new ThreadFactory() {
+        public Thread newThread(Runnable runnable) {
+            final Thread thread = new Thread(runnable, "revision-chain-linker");
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+
+    private volatile boolean initialized;
+
+    private volatile Index<Node> dateIndex;
+
+    // id of the head of the persisted chain, only used while holding the monitor
+    private Long linkedHead;
 
     public RevisionManager(RevisionProvider<? extends Rev> provider, PlatformTransactionManager transactionManager, VersionedNeo4jTemplate template) {
         this.provider = provider;
@@ -60,8 +126,14 @@ public class RevisionManager {
         this.template = template;
     }
 
+    /**
+     * Reads the head of the revision chain, creating revision 0 for an empty graph. Revisions that were committed but
+     * not linked into the chain before a shutdown are linked now, so that their numbers are not handed out again, and
+     * revisions that predate the revision date index are added to it.
+     */
     synchronized boolean createMainRevisionNode() {
         final Relationship versions = template.getReferenceNode().getSingleRelationship(REVISIONS_REL_TYPE, Direction.OUTGOING);
+        dateIndex = revisionDateIndex(template.getGraphDatabase());
 
         final Rev rev;
         if (versions == null) {
@@ -72,35 +144,242 @@ public class RevisionManager {
                     template.save(rev);
                     final Node current = template.getNode(rev.getId());
                     template.getReferenceNode().createRelationshipTo(current, REVISIONS_REL_TYPE);
+                    indexDate(current, rev);
                 }
             });
+            linkedHead = rev.getId();
         } else {
-            final Node current = versions.getEndNode();
-            rev = template.projectTo(current, Rev.class);
+            linkedHead = versions.getEndNode().getId();
+            final List<Node> unlinkedNodes = findRevisionNodesAfter(projectRevision(linkedHead).getNumber());
+            if (!unlinkedNodes.isEmpty()) {
+                new TransactionTemplate(transactionManager).execute(new TransactionCallbackWithoutResult() {
+                    @Override
+                    public void doInTransactionWithoutResult(TransactionStatus status) {
+                        for (Node node : unlinkedNodes) {
+                            linkedHead = appendToChain(linkedHead, node);
+                        }
+                    }
+                });
+            }
+            indexExistingRevisionDates();
+            rev = projectRevision(linkedHead);
         }
-        this.current = rev;
+        unlinked.clear();
+        committedAbove.clear();
+        completedAbove.clear();
+        allocated.set(rev.getNumber());
+        completed.set(rev.getNumber());
+        current.set(rev);
+        initialized = true;
         return versions == null;
     }
 
-    synchronized Long increaseVersion() {
-        return new TransactionTemplate(transactionManager).execute(new TransactionCallback<Long>() {
+    private Rev projectRevision(Long nodeId) {
+        return template.projectTo(template.getNode(nodeId), Rev.class);
+    }
+
+    private List<Node> findRevisionNodesAfter(long number) {
+        final List<Node> nodes = new ArrayList<Node>();
+        for (Node node : template.<Node>lookup(Rev.class, "number", QueryContext.numericRange("number", number + 1, Long.MAX_VALUE))) {
+            nodes.add(node);
+        }
+        Collections.sort(nodes, new Comparator<Node>() {
+            public int compare(Node node1, Node node2) {
+                final long number1 = (Long) node1.getProperty("number");
+                final long number2 = (Long) node2.getProperty("number");
+                return number1 < number2 ? -1 : number1 == number2 ? 0 : 1;
+            }
+        });
+        return nodes;
+    }
+
+    /**
+     * Allocates the next revision number and stores its revision node within the current (committing) transaction.
+     * The caller has to report the outcome with {@link #revisionCommitted} or {@link #revisionRolledBack}.
+     */
+    Rev newRevision() {
+        if (!initialized) {
+            getCurrentRevision();
+        }
+        final Rev rev = createRevision(allocated.incrementAndGet(), new DateTime());
+        try {
+            return new TransactionTemplate(transactionManager).execute(new TransactionCallback<Rev>() {
+                @Override
+                public Rev doInTransaction(TransactionStatus status) {
+                    final Rev saved = template.save(rev);
+                    indexDate(template.getNode(saved.getId()), saved);
+                    return saved;
+                }
+            });
+        } catch (RuntimeException e) {
+            revisionRolledBack(rev);
+            throw e;
+        }
+    }
+
+    private void indexDate(Node node, Rev rev) {
+        dateIndex.add(node, "date", ValueContext.numeric(rev.getDate().getMillis()));
+        dateIndex.add(node, "number", ValueContext.numeric(rev.getNumber()));
+    }
+
+    private boolean isDateIndexed(Node node) {
+        final IndexHits<Node> hits = dateIndex.get("number", ValueContext.numeric((Long) node.getProperty("number")));
+        try {
+            return hits.hasNext();
+        } finally {
+            hits.close();
+        }
+    }
+
+    /**
+     * Adds the revisions of the chain that were created before the revision date index to it. The chain is walked
+     * from the head and stops at the first indexed revision, as all revisions created since are indexed as well.
+     */
+    private void indexExistingRevisionDates() {
+        final List<Node> missing = new ArrayList<Node>();
+        for (Node node = template.getNode(linkedHead); node != null && !isDateIndexed(node); ) {
+            missing.add(node);
+            final Relationship prev = node.getSingleRelationship(PREV_REV_REL_TYPE, Direction.OUTGOING);
+            node = prev == null ? null : prev.getEndNode();
+        }
+        if (missing.isEmpty()) return;
+        new TransactionTemplate(transactionManager).execute(new TransactionCallbackWithoutResult() {
             @Override
-            public Long doInTransaction(TransactionStatus status) {
-                final Long newVersion = getCurrentRevisionNumber() + 1;
-                final Rev rev = createRevision(newVersion, new DateTime());
-                template.save(rev);
-
-                final Node newRev = template.getNode(rev.getId());
-                final Node oldRev = template.getNode(getCurrentRevision().getId());
-                oldRev.getSingleRelationship(REVISIONS_REL_TYPE, Direction.INCOMING).delete();
-                newRev.createRelationshipTo(oldRev, PREV_REV_REL_TYPE);
-                template.getReferenceNode().createRelationshipTo(newRev, REVISIONS_REL_TYPE);
-                current = rev;
-                return newVersion;
+            public void doInTransactionWithoutResult(TransactionStatus status) {
+                for (Node node : missing) {
+                    indexDate(node, template.projectTo(node, Rev.class));
+                }
             }
         });
     }
 
+    private static Index<Node> revisionDateIndex(GraphDatabase graphDatabase) {
+        return graphDatabase.createIndex(Node.class, INDEX_REVISION_DATE, IndexType.SIMPLE);
+    }
+
+    /**
+     * Seeks the revisions created within the given time range in the revision date index.
+     *
+     * @param from start of the time range (inclusive), null for unbounded
+     * @param to   end of the time range (inclusive), null for unbounded
+     * @return the range from the lowest to the highest revision number created within the time range, or null if
+     * there is none
+     */
+    public static Range getRevisionRange(GraphDatabase graphDatabase, DateTime from, DateTime to) {
+        final Index<Node> index = revisionDateIndex(graphDatabase);
+        final Long min = boundaryRevision(index, from, to, false);
+        if (min == null) return null;
+        return Range.range(min, boundaryRevision(index, from, to, true));
+    }
+
+    /**
+     * @return the lowest or highest revision number within the time range, seeking only the first hit of the index
+     * sorted by revision number
+     */
+    private static Long boundaryRevision(Index<Node> index, DateTime from, DateTime to, boolean highest) {
+        final QueryContext query = QueryContext.numericRange("date", from == null ? 0L : from.getMillis(), to == null ? Long.MAX_VALUE : to.getMillis())
+                .sortNumeric("number", highest).top(1);
+        final IndexHits<Node> hits = index.query(query);
+        try {
+            return hits.hasNext() ? (Long) hits.next().getProperty("number") : null;
+        } finally {
+            hits.close();
+        }
+    }
+
+    void revisionCommitted(Rev rev) {
+        unlinked.put(rev.getNumber(), rev);
+        committedAbove.put(rev.getNumber(), rev);
+        complete(rev.getNumber());
+        advanceCurrent();
+        scheduleLinking();
+    }
+
+    void revisionRolledBack(Rev rev) {
+        complete(rev.getNumber());
+        advanceCurrent();
+    }
+
+    /**
+     * Moves the current revision to the latest committed one that has no lower revision still in flight, so that
+     * readers of the current revision see all of its predecessors.
+     */
+    private void advanceCurrent() {
+        final Map.Entry<Long, Rev> latest = committedAbove.floorEntry(completed.get());
+        if (latest == null) return;
+        Rev last;
+        do {
+            last = current.get();
+        } while (last.getNumber() < latest.getKey() && !current.compareAndSet(last, latest.getValue()));
+        committedAbove.headMap(latest.getKey(), true).clear();
+    }
+
+    private void complete(long number) {
+        if (number <= completed.get()) return;
+        completedAbove.add(number);
+        while (true) {
+            final long watermark = completed.get();
+            if (!completedAbove.contains(watermark + 1)) return;
+            if (completed.compareAndSet(watermark, watermark + 1)) {
+                completedAbove.remove(watermark + 1);
+            }
+        }
+    }
+
+    private void scheduleLinking() {
+        if (linker.isShutdown()) return; // linked on destroy
+        if (linkScheduled.compareAndSet(false, true)) {
+            linker.execute(new Runnable() {
+                public void run() {
+                    linkScheduled.set(false);
+                    linkCommittedRevisions();
+                }
+            });
+        }
+    }
+
+    /**
+     * Appends all committed revisions below the completed watermark to the persisted revision chain.
+     */
+    public synchronized void linkCommittedRevisions() {
+        while (true) {
+            final List<Rev> batch = new ArrayList<Rev>();
+            for (Map.Entry<Long, Rev> entry : unlinked.headMap(completed.get(), true).entrySet()) {
+                batch.add(entry.getValue());
+                if (batch.size() == LINK_BATCH_SIZE) break;
+            }
+            if (batch.isEmpty()) return;
+            linkedHead = new TransactionTemplate(transactionManager).execute(new TransactionCallback<Long>() {
+                @Override
+                public Long doInTransaction(TransactionStatus status) {
+                    Long head = linkedHead;
+                    for (Rev rev : batch) {
+                        head = appendToChain(head, template.getNode(rev.getId()));
+                    }
+                    return head;
+                }
+            });
+            for (Rev rev : batch) {
+                unlinked.remove(rev.getNumber());
+            }
+        }
+    }
+
+    private Long appendToChain(Long headId, Node newRev) {
+        final Node oldRev = template.getNode(headId);
+        oldRev.getSingleRelationship(REVISIONS_REL_TYPE, Direction.INCOMING).delete();
+        newRev.createRelationshipTo(oldRev, PREV_REV_REL_TYPE);
+        template.getReferenceNode().createRelationshipTo(newRev, REVISIONS_REL_TYPE);
+        return newRev.getId();
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        linker.shutdown();
+        linker.awaitTermination(10, TimeUnit.SECONDS);
+        linkCommittedRevisions();
+    }
+
     private Rev createRevision(Long revision, DateTime date) {
         final Rev rev = provider.getRevision();
         rev.setDate(date);
@@ -108,15 +387,22 @@ public class RevisionManager {
         return rev;
     }
 
-    public synchronized long getCurrentRevisionNumber() {
+    /**
+     * @return the number of the latest committed revision
+     */
+    public long getCurrentRevisionNumber() {
         return getCurrentRevision().getNumber();
     }
 
-    public synchronized <R extends Rev> R getCurrentRevision() {
-        if (current == null) {
-            createMainRevisionNode();
+    public <R extends Rev> R getCurrentRevision() {
+        if (!initialized) {
+            synchronized (this) {
+                if (!initialized) {
+                    createMainRevisionNode();
+                }
+            }
         }
-        return (R) current;
+        return (R) current.get();
     }
 
     public static Long getRevisionNumber(PropertyContainer pc) {
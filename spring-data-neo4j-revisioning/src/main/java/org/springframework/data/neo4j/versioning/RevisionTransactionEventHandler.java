@@ -25,6 +25,7 @@ import org.neo4j.graphdb.index.Index;
 import org.neo4j.index.lucene.ValueContext;
 import org.springframework.data.neo4j.history.IndexingRevisionNodeTypeRepresentationStrategy;
 import org.springframework.data.neo4j.history.IndexingRevisionRelationshipTypeRepresentationStrategy;
+import org.springframework.data.neo4j.history.Rev;
 import org.springframework.data.neo4j.support.index.IndexProvider;
 import org.springframework.data.neo4j.support.typerepresentation.IndexingNodeTypeRepresentationStrategy;
 import org.springframework.data.neo4j.support.typerepresentation.IndexingRelationshipTypeRepresentationStrategy;
@@ -40,9 +41,16 @@ public class RevisionTransactionEventHandler implements TransactionEventHandler<
 
     private final IndexProvider indexProvider;
 
+    private final DeltaHistory history;
+
     public RevisionTransactionEventHandler(RevisionManager revisionManager, IndexProvider indexProvider) {
+        this(revisionManager, indexProvider, new DeltaHistory());
+    }
+
+    public RevisionTransactionEventHandler(RevisionManager revisionManager, IndexProvider indexProvider, DeltaHistory history) {
         this.revisionManager = revisionManager;
         this.indexProvider = indexProvider;
+        this.history = history;
     }
 
     public Object beforeCommit(final TransactionData data) throws Exception {
@@ -53,38 +61,45 @@ public class RevisionTransactionEventHandler implements TransactionEventHandler<
           final Map<Node, Map<String, Object>> properties = findModifiedProperties(nodesCreated, nodesDeleted, data);
 
           if (!nodesCreated.isEmpty() || !relsCreated.isEmpty() || !relsDeleted.isEmpty() || !nodesDeleted.isEmpty() || !properties.isEmpty()) {
-              final long before = revisionManager.getCurrentRevisionNumber();
-              final long version = revisionManager.increaseVersion();
-              for (final Node node : nodesCreated) {
-                  final Range range = Range.range(version);
-                  RevisionManager.setRevisionRange(node, range);
-                  updateNodeIndex(node, range, null);
-              }
-              for (final Relationship rel : relsCreated) {
-                  final Range range = Range.range(version);
-                  RevisionManager.setRevisionRange(rel, range);
-                  updateRelationshipIndex(rel, range, null);
-              }
-              for (final Relationship rel : relsDeleted) {
-                  final Range old = RevisionManager.getRevisionRange(rel);
-                  RevisionManager.setEndRevision(rel, version - 1);
-                  updateRelationshipIndex(rel, RevisionManager.getRevisionRange(rel), old);
-              }
-              for (final Node node : nodesDeleted) {
-                  final Range oldRange = RevisionManager.getRevisionRange(node);
-                  RevisionManager.setEndRevision(node, version - 1);
-                  final Range newRange = RevisionManager.getRevisionRange(node);
-                  updateNodeIndex(node, newRange, oldRange);
-              }
-              rotateProperties(version, properties);
-              final long after = revisionManager.getCurrentRevisionNumber();
-              if (before != after - 1) {
-                  throw new RuntimeException("Revision changed during transaction");
+              final Rev rev = revisionManager.newRevision();
+              try {
+                  rotate(rev.getNumber(), nodesCreated, relsCreated, relsDeleted, nodesDeleted, properties);
+              } catch (Exception e) {
+                  revisionManager.revisionRolledBack(rev);
+                  throw e;
               }
+              return rev;
           }
           return null;
       }
 
+      private void rotate(final long version, final Set<Node> nodesCreated, final Set<Relationship> relsCreated, final Set<Relationship> relsDeleted,
+                          final Set<Node> nodesDeleted, final Map<Node, Map<String, Object>> properties) {
+          for (final Node node : nodesCreated) {
+              final Range range = Range.range(version);
+              RevisionManager.setRevisionRange(node, range);
+              node.setProperty(RevisionManager.PROPERTY_REVISION_COUNT, 1L);
+              updateNodeIndex(node, range, null);
+          }
+          for (final Relationship rel : relsCreated) {
+              final Range range = Range.range(version);
+              RevisionManager.setRevisionRange(rel, range);
+              updateRelationshipIndex(rel, range, null);
+          }
+          for (final Relationship rel : relsDeleted) {
+              final Range old = RevisionManager.getRevisionRange(rel);
+              RevisionManager.setEndRevision(rel, version - 1);
+              updateRelationshipIndex(rel, RevisionManager.getRevisionRange(rel), old);
+          }
+          for (final Node node : nodesDeleted) {
+              final Range oldRange = RevisionManager.getRevisionRange(node);
+              RevisionManager.setEndRevision(node, version - 1);
+              final Range newRange = RevisionManager.getRevisionRange(node);
+              updateNodeIndex(node, newRange, oldRange);
+          }
+          rotateProperties(version, properties);
+      }
+
       private Set<Node> processCreatedNodes(final Iterable<Node> createdNodes) {
           final Set<Node> created = new HashSet<Node>();
           for (final Node node : createdNodes) {
@@ -119,7 +134,7 @@ public class RevisionTransactionEventHandler implements TransactionEventHandler<
           final Map<Node, Map<String, Object>> modifiedPropsByNode = new HashMap<Node, Map<String, Object>>();
           for (final PropertyEntry<Node> nodePropertyEntry : data.assignedNodeProperties()) {
               final Node node = nodePropertyEntry.entity();
-              if (!data.isDeleted(node) && RevisionManager.isVersioned(node) && !created.contains(node)) {
+              if (!data.isDeleted(node) && RevisionManager.isVersioned(node) && !created.contains(node) && !DeltaHistory.isHistoric(node)) {
                   if (nodePropertyEntry.key().equals(RevisionManager.PROPERTY_DELETED)) {
                       deleted.add(node);
                       continue;
@@ -132,7 +147,7 @@ public class RevisionTransactionEventHandler implements TransactionEventHandler<
           }
           for (final PropertyEntry<Node> nodePropertyEntry : data.removedNodeProperties()) {
               final Node node = nodePropertyEntry.entity();
-              if (!data.isDeleted(node) && RevisionManager.isVersioned(node) && !created.contains(node)) {
+              if (!data.isDeleted(node) && RevisionManager.isVersioned(node) && !created.contains(node) && !DeltaHistory.isHistoric(node)) {
                   if (isInternalProperty(nodePropertyEntry)) {
                       continue;
                   }
@@ -163,26 +178,12 @@ public class RevisionTransactionEventHandler implements TransactionEventHandler<
           for (final Map.Entry<Node, Map<String, Object>> nodeEntry : modifiedPropsByNode.entrySet()) {
               final Node mainNode = nodeEntry.getKey();
               final Node newHistoricNode = mainNode.getGraphDatabase().createNode();
-              copyProps(mainNode, newHistoricNode, nodeEntry.getValue());
+              final Relationship prevVersionRel = mainNode.getSingleRelationship(RevisionManager.PREV_REV_REL_TYPE, Direction.OUTGOING);
+              history.writeHistory(mainNode, newHistoricNode, nodeEntry.getValue(), prevVersionRel == null ? null : prevVersionRel.getEndNode());
               insertFirstInChain(mainNode, newHistoricNode, version);
           }
       }
 
-      private void copyProps(final Node node, final Node newNode, final Map<String, Object> oldValues) {
-          for (final String propKey : node.getPropertyKeys()) {
-              newNode.setProperty(propKey, node.getProperty(propKey, null));
-          }
-          for (final Map.Entry<String, Object> propEntry : oldValues.entrySet()) {
-              final String key = propEntry.getKey();
-              final Object value = propEntry.getValue();
-              if (value == null) {
-                  newNode.removeProperty(key);
-              } else {
-                  newNode.setProperty(key, value);
-              }
-          }
-      }
-
       private void insertFirstInChain(final Node mainNode, final Node newHistoricNode, final long version) {
           Relationship prevVersionRel = mainNode.getSingleRelationship(RevisionManager.PREV_REV_REL_TYPE, Direction.OUTGOING);
           if (prevVersionRel != null) {
@@ -190,6 +191,10 @@ public class RevisionTransactionEventHandler implements TransactionEventHandler<
               prevVersionRel.delete();
           }
           mainNode.createRelationshipTo(newHistoricNode, RevisionManager.PREV_REV_REL_TYPE);
+          // nodes created before the counter was introduced don't get one
+          if (mainNode.hasProperty(RevisionManager.PROPERTY_REVISION_COUNT)) {
+              mainNode.setProperty(RevisionManager.PROPERTY_REVISION_COUNT, (Long) mainNode.getProperty(RevisionManager.PROPERTY_REVISION_COUNT) + 1);
+          }
           final Range mainOld = RevisionManager.getRevisionRange(mainNode);
           final Range mainNew = Range.range(version);
           RevisionManager.setRevisionRange(mainNode, mainNew);
@@ -202,9 +207,15 @@ public class RevisionTransactionEventHandler implements TransactionEventHandler<
       }
 
       public void afterCommit(TransactionData data, Object state) {
+          if (state != null) {
+              revisionManager.revisionCommitted((Rev) state);
+          }
       }
 
       public void afterRollback(TransactionData data, Object state) {
+          if (state != null) {
+              revisionManager.revisionRolledBack((Rev) state);
+          }
       }
 
       private void updateNodeIndex(final Node node, final Range range, final Range oldRange) {
@@ -0,0 +1,172 @@
+/**
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.neo4j.versioning;
+
+import org.neo4j.graphdb.Direction;
+import org.neo4j.graphdb.GraphDatabaseService;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.NotFoundException;
+import org.neo4j.graphdb.Relationship;
+import org.neo4j.graphdb.RelationshipType;
+import org.neo4j.graphdb.ReturnableEvaluator;
+import org.neo4j.graphdb.StopEvaluator;
+import org.neo4j.graphdb.Traverser;
+
+import java.util.Map;
+
+/**
+ * Read-only view of a delta node of a revision chain with the full state reconstructed by {@link DeltaHistory}.
+ * Relationships and identity are those of the underlying node.
+ *
+ * @author mh
+ * @since 17.10.26
+ */
+class SnapshotNode implements Node {
+
+    private final Node node;
+    private final Map<String, Object> properties;
+
+    SnapshotNode(Node node, Map<String, Object> properties) {
+        this.node = node;
+        this.properties = properties;
+    }
+
+    public long getId() {
+        return node.getId();
+    }
+
+    public GraphDatabaseService getGraphDatabase() {
+        return node.getGraphDatabase();
+    }
+
+    public boolean hasProperty(String key) {
+        return properties.containsKey(key);
+    }
+
+    public Object getProperty(String key) {
+        final Object value = properties.get(key);
+        if (value == null) throw new NotFoundException("Property " + key + " not found on historic node " + node.getId());
+        return value;
+    }
+
+    public Object getProperty(String key, Object defaultValue) {
+        final Object value = properties.get(key);
+        return value != null ? value : defaultValue;
+    }
+
+    public Iterable<String> getPropertyKeys() {
+        return properties.keySet();
+    }
+
+    @Deprecated
+    public Iterable<Object> getPropertyValues() {
+        return properties.values();
+    }
+
+    public void setProperty(String key, Object value) {
+        throw readOnly();
+    }
+
+    public Object removeProperty(String key) {
+        throw readOnly();
+    }
+
+    public void delete() {
+        throw readOnly();
+    }
+
+    public Relationship createRelationshipTo(Node otherNode, RelationshipType type) {
+        throw readOnly();
+    }
+
+    private UnsupportedOperationException readOnly() {
+        return new UnsupportedOperationException("Historic node " + node.getId() + " is read only");
+    }
+
+    public Iterable<Relationship> getRelationships() {
+        return node.getRelationships();
+    }
+
+    public boolean hasRelationship() {
+        return node.hasRelationship();
+    }
+
+    public Iterable<Relationship> getRelationships(RelationshipType... types) {
+        return node.getRelationships(types);
+    }
+
+    public Iterable<Relationship> getRelationships(Direction direction, RelationshipType... types) {
+        return node.getRelationships(direction, types);
+    }
+
+    public boolean hasRelationship(RelationshipType... types) {
+        return node.hasRelationship(types);
+    }
+
+    public boolean hasRelationship(Direction direction, RelationshipType... types) {
+        return node.hasRelationship(direction, types);
+    }
+
+    public Iterable<Relationship> getRelationships(Direction dir) {
+        return node.getRelationships(dir);
+    }
+
+    public boolean hasRelationship(Direction dir) {
+        return node.hasRelationship(dir);
+    }
+
+    public Iterable<Relationship> getRelationships(RelationshipType type, Direction dir) {
+        return node.getRelationships(type, dir);
+    }
+
+    public boolean hasRelationship(RelationshipType type, Direction dir) {
+        return node.hasRelationship(type, dir);
+    }
+
+    public Relationship getSingleRelationship(RelationshipType type, Direction dir) {
+        return node.getSingleRelationship(type, dir);
+    }
+
+    @Deprecated
+    public Traverser traverse(Traverser.Order traversalOrder, StopEvaluator stopEvaluator, ReturnableEvaluator returnableEvaluator, RelationshipType relationshipType, Direction direction) {
+        return node.traverse(traversalOrder, stopEvaluator, returnableEvaluator, relationshipType, direction);
+    }
+
+    @Deprecated
+    public Traverser traverse(Traverser.Order traversalOrder, StopEvaluator stopEvaluator, ReturnableEvaluator returnableEvaluator, RelationshipType firstRelationshipType, Direction firstDirection, RelationshipType secondRelationshipType, Direction secondDirection) {
+        return node.traverse(traversalOrder, stopEvaluator, returnableEvaluator, firstRelationshipType, firstDirection, secondRelationshipType, secondDirection);
+    }
+
+    @Deprecated
+    public Traverser traverse(Traverser.Order traversalOrder, StopEvaluator stopEvaluator, ReturnableEvaluator returnableEvaluator, Object... relationshipTypesAndDirections) {
+        return node.traverse(traversalOrder, stopEvaluator, returnableEvaluator, relationshipTypesAndDirections);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Node && ((Node) o).getId() == getId();
+    }
+
+    @Override
+    public int hashCode() {
+        return (int) ((getId() >>> 32) ^ getId());
+    }
+
+    @Override
+    public String toString() {
+        return "SnapshotNode[" + getId() + "]";
+    }
+}
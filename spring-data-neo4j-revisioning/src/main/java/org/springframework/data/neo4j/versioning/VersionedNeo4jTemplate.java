@@ -18,6 +18,7 @@ package org.springframework.data.neo4j.versioning;
 import org.neo4j.graphdb.*;
 import org.neo4j.graphdb.traversal.TraversalDescription;
 import org.neo4j.helpers.collection.ClosableIterable;
+import org.neo4j.helpers.collection.IteratorWrapper;
 import org.springframework.data.neo4j.conversion.EndResult;
 import org.springframework.data.neo4j.conversion.QueryResultBuilder;
 import org.springframework.data.neo4j.conversion.Result;
@@ -28,6 +29,8 @@ import org.springframework.data.neo4j.support.Neo4jTemplate;
 import org.springframework.data.neo4j.support.mapping.Neo4jPersistentEntityImpl;
 import org.springframework.transaction.PlatformTransactionManager;
 
+import java.util.Iterator;
+
 import static org.springframework.data.neo4j.support.ParameterCheck.notNull;
 
 public class VersionedNeo4jTemplate extends Neo4jTemplate {
@@ -79,7 +82,26 @@ public class VersionedNeo4jTemplate extends Neo4jTemplate {
     public <T> EndResult<T> findAll(Class<T> entityClass, final Long revision) {
         notNull(entityClass, "entity type");
         final ClosableIterable<PropertyContainer> all = ((RevisionTypeRepresentationStrategies) getInfrastructure().getTypeRepresentationStrategies()).findAll(getEntityType(entityClass), revision);
-        return new QueryResultBuilder<PropertyContainer>(all, getDefaultConverter()).to(entityClass);
+        return new QueryResultBuilder<PropertyContainer>(snapshots(all), getDefaultConverter()).to(entityClass);
+    }
+
+    private ClosableIterable<PropertyContainer> snapshots(final ClosableIterable<PropertyContainer> states) {
+        return new ClosableIterable<PropertyContainer>() {
+            @Override
+            public void close() {
+                states.close();
+            }
+
+            @Override
+            public Iterator<PropertyContainer> iterator() {
+                return new IteratorWrapper<PropertyContainer, PropertyContainer>(states.iterator()) {
+                    @Override
+                    protected PropertyContainer underlyingObjectToObject(PropertyContainer state) {
+                        return DeltaHistory.snapshot(state);
+                    }
+                };
+            }
+        };
     }
 
     @Override
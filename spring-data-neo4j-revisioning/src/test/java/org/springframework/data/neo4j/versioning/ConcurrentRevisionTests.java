@@ -0,0 +1,153 @@
+/**
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.neo4j.versioning;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.neo4j.graphdb.Direction;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.Relationship;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.neo4j.history.Rev;
+import org.springframework.data.neo4j.support.node.Neo4jHelper;
+import org.springframework.data.neo4j.versioning.model.Person;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.test.context.transaction.BeforeTransaction;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.*;
+
+/**
+ * Commits versioned changes from several threads at once and checks that every commit got its own revision and that
+ * the revision chain contains all of them in order.
+ *
+ * @author mh
+ * @since 17.10.26
+ */
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(locations = {"classpath:revision-test-context.xml"})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class ConcurrentRevisionTests {
+
+    private static final int THREADS = 8;
+    private static final int COMMITS = 50;
+
+    @Autowired
+    VersionedNeo4jTemplate template;
+
+    @Autowired
+    RevisionManager versionManager;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @BeforeTransaction
+    public void cleanDb() throws Exception {
+        Neo4jHelper.cleanDb(template);
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        versionManager.createMainRevisionNode();
+    }
+
+    @Test
+    public void testConcurrentCommitsGetDistinctRevisions() throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        final List<Future<List<Long>>> results = new ArrayList<Future<List<Long>>>();
+        for (int thread = 0; thread < THREADS; thread++) {
+            final int threadNo = thread;
+            results.add(executor.submit(new Callable<List<Long>>() {
+                public List<Long> call() throws Exception {
+                    final List<Long> revisions = new ArrayList<Long>(COMMITS);
+                    for (int i = 0; i < COMMITS; i++) {
+                        revisions.add(savePerson("p" + threadNo + "-" + i));
+                    }
+                    return revisions;
+                }
+            }));
+        }
+        final List<Long> allRevisions = new ArrayList<Long>();
+        for (Future<List<Long>> result : results) {
+            final List<Long> revisions = result.get();
+            for (int i = 1; i < revisions.size(); i++) {
+                assertTrue("revisions of a thread increase", revisions.get(i) > revisions.get(i - 1));
+            }
+            allRevisions.addAll(revisions);
+        }
+        executor.shutdown();
+
+        Collections.sort(allRevisions);
+        for (int i = 0; i < allRevisions.size(); i++) {
+            assertEquals(Long.valueOf(i + 1), allRevisions.get(i));
+        }
+        assertEquals(THREADS * COMMITS, versionManager.getCurrentRevisionNumber());
+
+        versionManager.linkCommittedRevisions();
+        assertChain(THREADS * COMMITS);
+    }
+
+    @Test
+    public void testCurrentRevisionWaitsForLowerRevisionsInFlight() {
+        final Rev first = versionManager.newRevision();
+        final Rev second = versionManager.newRevision();
+        final Rev third = versionManager.newRevision();
+
+        versionManager.revisionCommitted(second);
+        assertEquals(0, versionManager.getCurrentRevisionNumber());
+
+        versionManager.revisionRolledBack(first);
+        assertEquals(second.getNumber(), versionManager.getCurrentRevision().getNumber());
+
+        versionManager.revisionCommitted(third);
+        assertEquals(third.getNumber(), versionManager.getCurrentRevision().getNumber());
+    }
+
+    private Long savePerson(final String name) {
+        final Person person = new TransactionTemplate(transactionManager).execute(new TransactionCallback<Person>() {
+            public Person doInTransaction(TransactionStatus status) {
+                return template.save(new Person(name, 42));
+            }
+        });
+        return RevisionManager.getStartRevision(template.getNode(person.getId()));
+    }
+
+    private void assertChain(long head) {
+        Node rev = template.getReferenceNode().getSingleRelationship(RevisionManager.REVISIONS_REL_TYPE, Direction.OUTGOING).getEndNode();
+        for (long number = head; number > 0; number--) {
+            assertEquals(number, rev.getProperty("number"));
+            final Relationship prev = rev.getSingleRelationship(RevisionManager.PREV_REV_REL_TYPE, Direction.OUTGOING);
+            assertNotNull("revision " + number + " is linked to its predecessor", prev);
+            rev = prev.getEndNode();
+        }
+        assertEquals(0L, rev.getProperty("number"));
+        assertNull(rev.getSingleRelationship(RevisionManager.PREV_REV_REL_TYPE, Direction.OUTGOING));
+    }
+}
@@ -0,0 +1,199 @@
+/**
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.neo4j.versioning;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.neo4j.graphdb.Direction;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.Relationship;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.neo4j.support.node.Neo4jHelper;
+import org.springframework.data.neo4j.versioning.model.Person;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.test.context.transaction.BeforeTransaction;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author mh
+ * @since 17.10.26
+ */
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(locations = {"classpath:revision-test-context.xml"})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class DeltaHistoryTests {
+
+    @Autowired
+    VersionedNeo4jTemplate template;
+
+    @Autowired
+    RevisionManager versionManager;
+
+    @Autowired
+    DeltaHistory deltaHistory;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    private Person person;
+
+    @BeforeTransaction
+    public void cleanDb() throws Exception {
+        Neo4jHelper.cleanDb(template);
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        versionManager.createMainRevisionNode();
+        person = save(new Person("Donald", 30));
+        deltaHistory.resetStatistics();
+    }
+
+    private Person save(final Person person) {
+        return new TransactionTemplate(transactionManager).execute(new TransactionCallback<Person>() {
+            public Person doInTransaction(TransactionStatus status) {
+                return template.save(person);
+            }
+        });
+    }
+
+    private List<Long> rename(int times) {
+        final List<Long> revisions = new ArrayList<Long>();
+        for (int i = 0; i < times; i++) {
+            revisions.add(versionManager.getCurrentRevisionNumber());
+            person.setName("Name" + i);
+            person = save(person);
+        }
+        return revisions;
+    }
+
+    private List<Node> history() {
+        final List<Node> history = new ArrayList<Node>();
+        Relationship rel = mainNode().getSingleRelationship(RevisionManager.PREV_REV_REL_TYPE, Direction.OUTGOING);
+        while (rel != null) {
+            history.add(rel.getEndNode());
+            rel = rel.getEndNode().getSingleRelationship(RevisionManager.PREV_REV_REL_TYPE, Direction.OUTGOING);
+        }
+        return history;
+    }
+
+    private Node mainNode() {
+        return template.getNode(person.getId());
+    }
+
+    @Test
+    public void testHistoricNodeStoresOnlyChangedProperties() {
+        rename(1);
+        final Node historic = history().get(0);
+        assertTrue(DeltaHistory.isDelta(historic));
+        assertEquals("Donald", historic.getProperty("name"));
+        assertFalse(historic.hasProperty("age"));
+        assertTrue(RevisionManager.isVersioned(historic));
+    }
+
+    @Test
+    public void testSnapshotReconstructsFullState() {
+        rename(3);
+        final List<Node> history = history();
+        assertEquals(3, history.size());
+        for (int i = 0; i < history.size(); i++) {
+            final Node snapshot = DeltaHistory.snapshot(history.get(i));
+            assertEquals(i == 2 ? "Donald" : "Name" + (1 - i), snapshot.getProperty("name"));
+            assertEquals(30, snapshot.getProperty("age"));
+            assertEquals(history.get(i).getProperty(RevisionManager.PROPERTY_VALID_FROM), snapshot.getProperty(RevisionManager.PROPERTY_VALID_FROM));
+        }
+    }
+
+    @Test
+    public void testSnapshotWithinReadOnlyTransaction() {
+        rename(2);
+        final Node newest = history().get(0);
+        final TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        final Map<String, Object> snapshot = readOnly.execute(new TransactionCallback<Map<String, Object>>() {
+            public Map<String, Object> doInTransaction(TransactionStatus status) {
+                return DeltaHistory.reconstruct(newest);
+            }
+        });
+        assertEquals("Name0", snapshot.get("name"));
+        assertEquals(30, snapshot.get("age"));
+    }
+
+    @Test
+    public void testFindAllAtRevisionReadsDeltas() {
+        final List<Long> revisions = rename(3);
+        final Person donald = template.findAll(Person.class, revisions.get(0)).single();
+        assertEquals("Donald", donald.getName());
+        assertEquals(30, donald.getAge());
+        final Person name1 = template.findAll(Person.class, revisions.get(2)).single();
+        assertEquals("Name1", name1.getName());
+        assertEquals(30, name1.getAge());
+    }
+
+    @Test
+    public void testFullSnapshotEverySnapshotInterval() {
+        final int interval = deltaHistory.getSnapshotInterval();
+        rename(interval + 1);
+        final List<Node> history = history();
+        int full = 0;
+        for (Node node : history) {
+            if (!DeltaHistory.isDelta(node)) full++;
+        }
+        assertEquals(1, full);
+        assertFalse(DeltaHistory.isDelta(history.get(history.size() - interval)));
+        assertEquals(30, history.get(history.size() - interval).getProperty("age"));
+    }
+
+    @Test
+    public void testWriteAmplificationAndSize() {
+        rename(5);
+        assertEquals(5, deltaHistory.getHistoryNodes());
+        assertEquals(5, deltaHistory.getChangedProperties());
+        assertEquals(deltaHistory.getWrittenProperties(), DeltaHistory.countHistoryProperties(mainNode()));
+        for (Node node : history()) {
+            assertFalse(node.hasProperty("age"));
+        }
+    }
+
+    @Test
+    public void testCompactMaterializesDeltas() {
+        final List<Long> revisions = rename(6);
+        final int compacted = new TransactionTemplate(transactionManager).execute(new TransactionCallback<Integer>() {
+            public Integer doInTransaction(TransactionStatus status) {
+                return new DeltaHistory(2).compact(mainNode());
+            }
+        });
+        assertEquals(3, compacted);
+        assertEquals(6, history().size());
+        for (int i = 0; i < revisions.size(); i++) {
+            final Person old = template.findAll(Person.class, revisions.get(i)).single();
+            assertEquals(i == 0 ? "Donald" : "Name" + (i - 1), old.getName());
+            assertEquals(30, old.getAge());
+        }
+    }
+}
@@ -0,0 +1,162 @@
+/**
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.neo4j.versioning;
+
+import org.joda.time.DateTime;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.history.Revision;
+import org.springframework.data.neo4j.support.node.Neo4jHelper;
+import org.springframework.data.neo4j.versioning.model.Person;
+import org.springframework.data.neo4j.versioning.repository.PersonRepository;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.test.context.transaction.BeforeTransaction;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallbackWithoutResult;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author mh
+ * @since 17.10.26
+ */
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(locations = {"classpath:revision-test-context.xml"})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class RevisionPagingTests {
+
+    private static final int RENAMES = 9;
+
+    @Autowired
+    VersionedNeo4jTemplate template;
+
+    @Autowired
+    PersonRepository repository;
+
+    @Autowired
+    RevisionManager versionManager;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    private Person person;
+    private DateTime beforeRename5;
+    private DateTime afterRename7;
+
+    @BeforeTransaction
+    public void cleanDb() throws Exception {
+        Neo4jHelper.cleanDb(template);
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        versionManager.createMainRevisionNode();
+        person = repository.save(new Person("Donald", 30));
+        for (int i = 0; i < RENAMES; i++) {
+            if (i == 5) beforeRename5 = now();
+            person.setName("Name" + i);
+            person = repository.save(person);
+            if (i == 7) afterRename7 = now();
+        }
+    }
+
+    private DateTime now() throws InterruptedException {
+        Thread.sleep(5);
+        final DateTime now = new DateTime();
+        Thread.sleep(5);
+        return now;
+    }
+
+    private String name(Revision<Long, Person> revision) {
+        return revision.getEntity().getName();
+    }
+
+    @Test
+    public void testRevisionCounter() {
+        assertEquals(RENAMES + 1L, template.getNode(person.getId()).getProperty(RevisionManager.PROPERTY_REVISION_COUNT));
+    }
+
+    @Test
+    public void testFirstPage() {
+        final Page<Revision<Long, Person>> page = repository.findRevisions(person.getId(), new PageRequest(0, 3));
+        assertEquals(RENAMES + 1, page.getTotalElements());
+        assertEquals(3, page.getNumberOfElements());
+        assertEquals("Name8", name(page.getContent().get(0)));
+        assertEquals("Name7", name(page.getContent().get(1)));
+        assertEquals("Name6", name(page.getContent().get(2)));
+        assertTrue(page.getContent().get(0).getRevisionNumber() > page.getContent().get(1).getRevisionNumber());
+    }
+
+    @Test
+    public void testLastPage() {
+        final Page<Revision<Long, Person>> page = repository.findRevisions(person.getId(), new PageRequest(3, 3));
+        assertEquals(RENAMES + 1, page.getTotalElements());
+        assertEquals(1, page.getNumberOfElements());
+        assertEquals("Donald", name(page.getContent().get(0)));
+        assertFalse(page.hasNextPage());
+    }
+
+    @Test
+    public void testAllRevisions() {
+        assertEquals(RENAMES + 1, repository.findRevisions(person.getId()).getContent().size());
+    }
+
+    @Test
+    public void testRevisionsInTimeRange() {
+        final Page<Revision<Long, Person>> page = repository.findRevisions(person.getId(), beforeRename5, afterRename7, new PageRequest(0, 2));
+        assertEquals(3, page.getTotalElements());
+        assertEquals(2, page.getNumberOfElements());
+        assertEquals("Name7", name(page.getContent().get(0)));
+        assertEquals("Name6", name(page.getContent().get(1)));
+
+        final Page<Revision<Long, Person>> next = repository.findRevisions(person.getId(), beforeRename5, afterRename7, new PageRequest(1, 2));
+        assertEquals(1, next.getNumberOfElements());
+        assertEquals("Name5", name(next.getContent().get(0)));
+    }
+
+    @Test
+    public void testRevisionsInTimeRangeAfterDateIndexBackfill() {
+        versionManager.linkCommittedRevisions();
+        new TransactionTemplate(transactionManager).execute(new TransactionCallbackWithoutResult() {
+            @Override
+            protected void doInTransactionWithoutResult(TransactionStatus status) {
+                template.getGraphDatabase().getIndex(RevisionManager.INDEX_REVISION_DATE).delete();
+            }
+        });
+        versionManager.createMainRevisionNode();
+
+        final Page<Revision<Long, Person>> page = repository.findRevisions(person.getId(), beforeRename5, afterRename7, new PageRequest(0, 10));
+        assertEquals(3, page.getTotalElements());
+        assertEquals("Name7", name(page.getContent().get(0)));
+        assertEquals("Name5", name(page.getContent().get(2)));
+    }
+
+    @Test
+    public void testNoRevisionsInTimeRange() {
+        final DateTime before = new DateTime().minusYears(1);
+        final Page<Revision<Long, Person>> page = repository.findRevisions(person.getId(), before.minusDays(1), before, new PageRequest(0, 10));
+        assertEquals(0, page.getTotalElements());
+        assertFalse(page.hasContent());
+    }
+}
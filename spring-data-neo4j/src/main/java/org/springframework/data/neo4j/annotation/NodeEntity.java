@@ -50,5 +50,13 @@ public @interface NodeEntity {
      */
     boolean partial() default false;
 
+    /**
+     * Only used with the aspects: repeated reads of the plain properties of an attached entity are answered from a
+     * per entity cache within the current transaction, writes through the entity evict the cached value.
+     * Changes to the node made by other means in the same transaction are not seen by the entity then.
+     *
+     * @return true if field reads of attached entities are cached within a transaction
+     */
+    boolean cacheFieldReads() default false;
 
 }
@@ -65,4 +65,11 @@ public @interface RelatedTo {
      * Used to discriminate between relationships with the same type based on end node type (inferred or from {@link #elementClass}
      */
     boolean enforceTargetType() default false;
+
+    /**
+     * Only for collection fields: the related entities are not loaded with the field but created on demand while
+     * iterating, {@code size()} and {@code contains()} work on the relationships only. Intended for large collections,
+     * should not be combined with {@link Fetch}.
+     */
+    boolean lazy() default false;
 }
@@ -52,6 +52,7 @@ import org.springframework.data.neo4j.support.mapping.SourceStateTransmitter;
 import org.springframework.data.neo4j.support.mapping.TRSTypeAliasAccessor;
 import org.springframework.data.neo4j.support.node.NodeEntityInstantiator;
 import org.springframework.data.neo4j.support.node.NodeEntityStateFactory;
+import org.springframework.data.neo4j.support.query.CountQueryExecutor;
 import org.springframework.data.neo4j.support.relationship.RelationshipEntityInstantiator;
 import org.springframework.data.neo4j.support.relationship.RelationshipEntityStateFactory;
 import org.springframework.data.neo4j.support.typerepresentation.ClassValueTypeInformationMapper;
@@ -61,6 +62,7 @@ import org.springframework.transaction.PlatformTransactionManager;
 import javax.validation.Validator;
 
 import java.util.Set;
+import java.util.concurrent.Executor;
 
 import static java.util.Arrays.asList;
 
@@ -78,6 +80,22 @@ public abstract class Neo4jConfiguration {
 
     private Set<? extends Class<?>> initialEntitySet;
 
+    private boolean dirtyTracking;
+
+    private boolean targetedIndexRemoval;
+
+    private boolean entityIdentityCache;
+
+    private boolean indexedTypeCounters;
+
+    private int counterStripes = 1;
+
+    private int saveBatchSize = 1;
+
+    private Executor countQueryExecutor;
+
+    private long countCacheTtl;
+
     @Autowired(required = false)
     private Validator validator;
 
@@ -119,6 +137,9 @@ public abstract class Neo4jConfiguration {
         factoryBean.setIsNewStrategyFactory(isNewStrategyFactory());
         
         factoryBean.setIndexProvider(indexProvider());
+        factoryBean.setDirtyTracking(dirtyTracking);
+        factoryBean.setTargetedIndexRemoval(targetedIndexRemoval);
+        factoryBean.setEntityIdentityCache(entityIdentityCache);
 
         if (validator!=null) {
             factoryBean.setValidator(validator);
@@ -133,7 +154,12 @@ public abstract class Neo4jConfiguration {
 
     @Bean
     public Neo4jTemplate neo4jTemplate() throws Exception {
-        return new Neo4jTemplate(mappingInfrastructure().getObject());
+        final Neo4jTemplate template = new Neo4jTemplate(mappingInfrastructure().getObject());
+        template.setSaveBatchSize(saveBatchSize);
+        if (countQueryExecutor != null || countCacheTtl > 0) {
+            template.setCountQueryExecutor(new CountQueryExecutor(countQueryExecutor, countCacheTtl));
+        }
+        return template;
 	}
 
     @Bean
@@ -148,7 +174,10 @@ public abstract class Neo4jConfiguration {
 
     @Bean
     public TypeRepresentationStrategyFactory typeRepresentationStrategyFactory() throws Exception {
-        return new TypeRepresentationStrategyFactory(graphDatabase(), indexProvider());
+        final TypeRepresentationStrategyFactory factory = new TypeRepresentationStrategyFactory(graphDatabase(), indexProvider());
+        factory.setIndexedTypeCounters(indexedTypeCounters);
+        factory.setCounterStripes(counterStripes);
+        return factory;
     }
 
     @Bean
@@ -276,4 +305,77 @@ public abstract class Neo4jConfiguration {
     public void setInitialEntitySet(Set<? extends Class<?>> initialEntitySet) {
    		this.initialEntitySet = initialEntitySet;
    	}
+
+    public boolean isDirtyTracking() {
+        return dirtyTracking;
+    }
+
+    public void setDirtyTracking(boolean dirtyTracking) {
+        this.dirtyTracking = dirtyTracking;
+    }
+
+    public boolean isTargetedIndexRemoval() {
+        return targetedIndexRemoval;
+    }
+
+    public void setTargetedIndexRemoval(boolean targetedIndexRemoval) {
+        this.targetedIndexRemoval = targetedIndexRemoval;
+    }
+
+    public boolean isEntityIdentityCache() {
+        return entityIdentityCache;
+    }
+
+    public void setEntityIdentityCache(boolean entityIdentityCache) {
+        this.entityIdentityCache = entityIdentityCache;
+    }
+
+    public boolean isIndexedTypeCounters() {
+        return indexedTypeCounters;
+    }
+
+    public void setIndexedTypeCounters(boolean indexedTypeCounters) {
+        this.indexedTypeCounters = indexedTypeCounters;
+    }
+
+    public int getCounterStripes() {
+        return counterStripes;
+    }
+
+    /**
+     * @param counterStripes number of stripes of the instance counters of the type representation, see {@link org.springframework.data.neo4j.support.typerepresentation.StripedCounters}
+     */
+    public void setCounterStripes(int counterStripes) {
+        this.counterStripes = counterStripes;
+    }
+
+    public int getSaveBatchSize() {
+        return saveBatchSize;
+    }
+
+    public void setSaveBatchSize(int saveBatchSize) {
+        this.saveBatchSize = saveBatchSize;
+    }
+
+    public Executor getCountQueryExecutor() {
+        return countQueryExecutor;
+    }
+
+    /**
+     * @param countQueryExecutor runs the count queries of paged repository queries concurrently with the content query
+     */
+    public void setCountQueryExecutor(Executor countQueryExecutor) {
+        this.countQueryExecutor = countQueryExecutor;
+    }
+
+    public long getCountCacheTtl() {
+        return countCacheTtl;
+    }
+
+    /**
+     * @param countCacheTtl milliseconds the count of a paged repository query is reused for the same parameters, 0 disables caching
+     */
+    public void setCountCacheTtl(long countCacheTtl) {
+        this.countCacheTtl = countCacheTtl;
+    }
 }
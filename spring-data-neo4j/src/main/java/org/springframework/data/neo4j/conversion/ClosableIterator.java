@@ -0,0 +1,29 @@
+/**
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.neo4j.conversion;
+
+import java.util.Iterator;
+
+/**
+ * Iterator over a query result that converts one row at a time. The underlying result is closed when the iterator
+ * is exhausted or when {@link #close()} is called, whichever comes first.
+ *
+ * @author mh
+ * @since 17.10.26
+ */
+public interface ClosableIterator<T> extends Iterator<T> {
+    void close();
+}
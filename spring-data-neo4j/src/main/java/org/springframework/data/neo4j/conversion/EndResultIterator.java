@@ -0,0 +1,61 @@
+/**
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.neo4j.conversion;
+
+import java.util.Iterator;
+
+/**
+ * {@link ClosableIterator} over an {@link EndResult}, finishes the result on exhaustion or close.
+ *
+ * @author mh
+ * @since 17.10.26
+ */
+public class EndResultIterator<T> implements ClosableIterator<T> {
+    private final EndResult<T> result;
+    private final Iterator<T> iterator;
+    private boolean closed;
+
+    public EndResultIterator(EndResult<T> result) {
+        this.result = result;
+        this.iterator = result.iterator();
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (closed) return false;
+        if (iterator.hasNext()) return true;
+        close();
+        return false;
+    }
+
+    @Override
+    public T next() {
+        if (closed) throw new IllegalStateException("Result iterator is already closed");
+        return iterator.next();
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void close() {
+        if (closed) return;
+        closed = true;
+        result.finish();
+    }
+}
@@ -16,23 +16,22 @@
 package org.springframework.data.neo4j.conversion;
 
 import org.springframework.data.neo4j.mapping.MappingPolicy;
-import org.springframework.data.neo4j.support.conversion.QueryResultProxy;
+import org.springframework.data.neo4j.support.conversion.MapResultTypes;
 import org.springframework.data.neo4j.template.Neo4jOperations;
 
-import java.lang.reflect.Proxy;
 import java.util.Map;
 
 public class QueryMapResultConverter<T> implements ResultConverter<Map<String, Object>, T> {
     private final Neo4jOperations template;
+    private final MapResultTypes mapResultTypes = new MapResultTypes();
 
     public QueryMapResultConverter(Neo4jOperations template) {
         this.template = template;
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     public T convert(Map<String, Object> value, Class<T> type, MappingPolicy mappingPolicy) {
-        return (T) Proxy.newProxyInstance(this.getClass().getClassLoader(), new Class[]{type}, new QueryResultProxy(value,mappingPolicy,template.getDefaultConverter()));
+        return mapResultTypes.of(type).createProxy(value, mappingPolicy, template.getDefaultConverter());
     }
 
     @SuppressWarnings("unchecked")
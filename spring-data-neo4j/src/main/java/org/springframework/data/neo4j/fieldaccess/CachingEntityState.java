@@ -0,0 +1,159 @@
+/**
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.neo4j.fieldaccess;
+
+import org.springframework.data.neo4j.annotation.GraphTraversal;
+import org.springframework.data.neo4j.core.EntityState;
+import org.springframework.data.neo4j.mapping.MappingPolicy;
+import org.springframework.data.neo4j.mapping.Neo4jPersistentEntity;
+import org.springframework.data.neo4j.mapping.Neo4jPersistentProperty;
+
+import javax.transaction.SystemException;
+import javax.transaction.Transaction;
+import javax.transaction.TransactionManager;
+import java.lang.reflect.Field;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Caches the values of plain properties read through the delegate within the current transaction, so that repeated
+ * reads of attached entities don't access and convert the graph properties again. Values are evicted when they are
+ * written through this state, all values when the transaction changes or the state is persisted or replaced.
+ * <p/>
+ * Changes of the underlying node made by other means (other instances, cypher, the core API) within the same
+ * transaction are not seen. Like the entity itself, instances are not meant to be used by concurrent threads.
+ *
+ * @author mh
+ * @since 17.10.26
+ * @see org.springframework.data.neo4j.annotation.NodeEntity#cacheFieldReads()
+ */
+public class CachingEntityState<STATE> implements EntityState<STATE> {
+    private static final Object NOT_CACHED = new Object();
+
+    private final EntityState<STATE> delegate;
+    private final TransactionManager transactionManager;
+    private final Map<Field, Object> values = new HashMap<Field, Object>();
+    private Transaction transaction;
+
+    public CachingEntityState(EntityState<STATE> delegate, TransactionManager transactionManager) {
+        this.delegate = delegate;
+        this.transactionManager = transactionManager;
+    }
+
+    @Override
+    public Object getValue(Field field, MappingPolicy mappingPolicy) {
+        if (mappingPolicy != null || !isCurrentTransaction()) return delegate.getValue(field, mappingPolicy);
+        final Object cached = values.get(field);
+        if (cached == NOT_CACHED) return delegate.getValue(field, null);
+        if (cached != null || values.containsKey(field)) return cached;
+        final Neo4jPersistentProperty property = getPersistentEntity().getPersistentProperty(field.getName());
+        final Object value = delegate.getValue(field, null);
+        values.put(field, isCacheable(property) ? value : NOT_CACHED);
+        return value;
+    }
+
+    /**
+     * only plain properties, related entities, query and traversal results can change without writes to this entity
+     */
+    private boolean isCacheable(Neo4jPersistentProperty property) {
+        return property != null && !property.isAssociation() && !property.isRelationship() && !property.hasQuery()
+                && property.getAnnotation(GraphTraversal.class) == null
+                && !DynamicProperties.class.isAssignableFrom(property.getType());
+    }
+
+    private boolean isCurrentTransaction() {
+        final Transaction current = currentTransaction();
+        if (current != transaction) {
+            values.clear();
+            transaction = current;
+        }
+        return current != null;
+    }
+
+    private Transaction currentTransaction() {
+        try {
+            return transactionManager.getTransaction();
+        } catch (SystemException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public Object getValue(Neo4jPersistentProperty property, MappingPolicy mappingPolicy) {
+        return delegate.getValue(property, mappingPolicy);
+    }
+
+    @Override
+    public Object setValue(Field field, Object newVal, MappingPolicy mappingPolicy) {
+        values.remove(field);
+        return delegate.setValue(field, newVal, mappingPolicy);
+    }
+
+    @Override
+    public Object setValue(Neo4jPersistentProperty property, Object newVal, MappingPolicy mappingPolicy) {
+        values.remove(property.getField());
+        return delegate.setValue(property, newVal, mappingPolicy);
+    }
+
+    @Override
+    public void setPersistentState(STATE state) {
+        values.clear();
+        delegate.setPersistentState(state);
+    }
+
+    @SuppressWarnings("deprecation")
+    @Override
+    public void createAndAssignState() {
+        values.clear();
+        delegate.createAndAssignState();
+    }
+
+    @Override
+    public Object persist() {
+        values.clear();
+        return delegate.persist();
+    }
+
+    @Override
+    public Object getEntity() {
+        return delegate.getEntity();
+    }
+
+    @Override
+    public Object getDefaultValue(Neo4jPersistentProperty property) {
+        return delegate.getDefaultValue(property);
+    }
+
+    @Override
+    public boolean isWritable(Neo4jPersistentProperty property) {
+        return delegate.isWritable(property);
+    }
+
+    @Override
+    public boolean hasPersistentState() {
+        return delegate.hasPersistentState();
+    }
+
+    @Override
+    public STATE getPersistentState() {
+        return delegate.getPersistentState();
+    }
+
+    @Override
+    public Neo4jPersistentEntity<?> getPersistentEntity() {
+        return delegate.getPersistentEntity();
+    }
+}
@@ -27,6 +27,7 @@ import org.springframework.data.neo4j.support.Neo4jTemplate;
 import org.springframework.data.util.TypeInformation;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 
 public abstract class DelegatingFieldAccessorFactory implements FieldAccessorFactory {
@@ -98,12 +99,14 @@ public abstract class DelegatingFieldAccessorFactory implements FieldAccessorFac
 
 
 
-    private final Map<TypeInformation<?>, FieldAccessorFactoryProviders> accessorFactoryProviderCache = new HashMap<TypeInformation<?>, FieldAccessorFactoryProviders>();
+    private final Map<TypeInformation<?>, FieldAccessorFactoryProviders> accessorFactoryProviderCache = new ConcurrentHashMap<TypeInformation<?>, FieldAccessorFactoryProviders>();
 
     @SuppressWarnings("unchecked")
     public <T> FieldAccessorFactoryProviders<T> accessorFactoriesFor(final Neo4jPersistentEntity<?> type) {
+        final TypeInformation<?> typeInformation = type.getTypeInformation();
+        final FieldAccessorFactoryProviders<T> cached = accessorFactoryProviderCache.get(typeInformation);
+        if (cached != null) return cached;
         synchronized (this) {
-            final TypeInformation<?> typeInformation = type.getTypeInformation();
             final FieldAccessorFactoryProviders<T> fieldAccessorFactoryProviders = accessorFactoryProviderCache.get(typeInformation);
             if (fieldAccessorFactoryProviders != null) return fieldAccessorFactoryProviders;
             final FieldAccessorFactoryProviders<T> newFieldAccessorFactories = new FieldAccessorFactoryProviders<T>();
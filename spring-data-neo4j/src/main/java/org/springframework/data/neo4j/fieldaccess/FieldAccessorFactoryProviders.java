@@ -19,6 +19,7 @@ package org.springframework.data.neo4j.fieldaccess;
 import org.springframework.data.neo4j.mapping.Neo4jPersistentProperty;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -61,8 +62,59 @@ public class FieldAccessorFactoryProviders<T> {
         }
     }
 
+    /**
+     * Accessors and listeners of all properties, created once and shared by all entity states of the type. Indexed by
+     * {@link Neo4jPersistentProperty#getSlot()}, the maps are used for properties without or with a different slot.
+     */
+    static class AccessorTable {
+        private final Neo4jPersistentProperty[] properties;
+        private final FieldAccessor[] accessors;
+        private final List<?>[] listeners;
+        private final Map<Neo4jPersistentProperty, FieldAccessor> accessorMap;
+        private final Map<Neo4jPersistentProperty, List<FieldAccessListener>> listenerMap;
+
+        AccessorTable(List<? extends FieldAccessorFactoryProvider<?>> providers) {
+            int slots = 0;
+            for (FieldAccessorFactoryProvider<?> provider : providers) {
+                slots = Math.max(slots, provider.getProperty().getSlot() + 1);
+            }
+            properties = new Neo4jPersistentProperty[slots];
+            accessors = new FieldAccessor[slots];
+            listeners = new List<?>[slots];
+            accessorMap = new HashMap<Neo4jPersistentProperty, FieldAccessor>(providers.size(), 1);
+            listenerMap = new HashMap<Neo4jPersistentProperty, List<FieldAccessListener>>(providers.size(), 1);
+            for (FieldAccessorFactoryProvider<?> provider : providers) {
+                final Neo4jPersistentProperty property = provider.getProperty();
+                final FieldAccessor accessor = provider.accessor();
+                final List<FieldAccessListener> propertyListeners = provider.listeners();
+                final List<FieldAccessListener> sharedListeners = propertyListeners == null || propertyListeners.isEmpty() ? null : Collections.unmodifiableList(propertyListeners);
+                accessorMap.put(property, accessor);
+                listenerMap.put(property, sharedListeners);
+                final int slot = property.getSlot();
+                if (slot < 0) continue;
+                properties[slot] = property;
+                accessors[slot] = accessor;
+                listeners[slot] = sharedListeners;
+            }
+        }
+
+        FieldAccessor accessorFor(Neo4jPersistentProperty property) {
+            final int slot = property.getSlot();
+            if (slot >= 0 && slot < properties.length && properties[slot] == property) return accessors[slot];
+            return accessorMap.get(property);
+        }
+
+        @SuppressWarnings("unchecked")
+        List<FieldAccessListener> listenersFor(Neo4jPersistentProperty property) {
+            final int slot = property.getSlot();
+            if (slot >= 0 && slot < properties.length && properties[slot] == property) return (List<FieldAccessListener>) listeners[slot];
+            return listenerMap.get(property);
+        }
+    }
+
     private final List<FieldAccessorFactoryProvider<T>> fieldAccessorFactoryProviders = new ArrayList<FieldAccessorFactoryProvider<T>>();
     private Neo4jPersistentProperty idProperty;
+    private volatile AccessorTable accessorTable;
 
     FieldAccessorFactoryProviders() {}
 
@@ -88,9 +140,22 @@ public class FieldAccessorFactoryProviders<T> {
         return result;
     }
 
+    /**
+     * @return the shared accessor table, created on first use
+     */
+    AccessorTable getAccessorTable() {
+        AccessorTable table = accessorTable;
+        if (table == null) {
+            table = new AccessorTable(fieldAccessorFactoryProviders);
+            accessorTable = table;
+        }
+        return table;
+    }
+
     @SuppressWarnings("unchecked")
     public void add(Neo4jPersistentProperty property, FieldAccessorFactory fieldAccessorFactory, List<FieldAccessorListenerFactory> listenerFactories) {
         fieldAccessorFactoryProviders.add(new FieldAccessorFactoryProvider(property, fieldAccessorFactory, listenerFactories));
+        accessorTable = null;
         if (property.isIdProperty()) this.idProperty = property;
     }
 
@@ -0,0 +1,248 @@
+/**
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.neo4j.fieldaccess;
+
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.Relationship;
+import org.springframework.data.neo4j.mapping.MappingPolicy;
+import org.springframework.data.neo4j.support.Neo4jTemplate;
+
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Set of the entities related to a node via a {@link org.springframework.data.neo4j.annotation.RelatedTo#lazy lazy}
+ * relationship field. The relationships are streamed from the node on each iteration and the end nodes converted to
+ * entities only when they are returned, {@link #size()} and {@link #contains(Object)} don't create any entities.
+ * <p>
+ * Additions and removals are kept as pending changes relative to the relationships in the graph until the
+ * field is written, then only those changes are applied by {@link #flush()}.
+ *
+ * @author mh
+ * @since 17.10.26
+ */
+public class LazyRelatedSet<T> extends AbstractSet<T> {
+    private final Node node;
+    private final RelationshipHelper relationshipHelper;
+    private final Neo4jTemplate template;
+    private final Class<?> relatedType;
+    private final Class<?> targetType;
+    private final MappingPolicy mappingPolicy;
+
+    private final Map<Node, T> added = new LinkedHashMap<Node, T>();
+    private final Set<Node> removed = new HashSet<Node>();
+    private boolean cleared;
+
+    /**
+     * @param targetType if not null only end nodes stored with this type (or a subtype) are part of the set
+     */
+    public LazyRelatedSet(Node node, RelationshipHelper relationshipHelper, Neo4jTemplate template, Class<?> relatedType, Class<?> targetType, MappingPolicy mappingPolicy) {
+        this.node = node;
+        this.relationshipHelper = relationshipHelper;
+        this.template = template;
+        this.relatedType = relatedType;
+        this.targetType = targetType;
+        this.mappingPolicy = mappingPolicy;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        final Iterator<Node> storedNodes = storedNodes();
+        final Iterator<Map.Entry<Node, T>> addedEntries = added.entrySet().iterator();
+        return new Iterator<T>() {
+            private Node next;
+            private Node current;
+            private boolean currentAdded;
+
+            @Override
+            public boolean hasNext() {
+                if (next != null) return true;
+                while (storedNodes.hasNext()) {
+                    final Node candidate = storedNodes.next();
+                    if (!removed.contains(candidate) && !added.containsKey(candidate)) {
+                        next = candidate;
+                        return true;
+                    }
+                }
+                return addedEntries.hasNext();
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public T next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                if (next != null) {
+                    current = next;
+                    currentAdded = false;
+                    next = null;
+                    return (T) template.createEntityFromState(current, targetType != null ? null : relatedType, mappingPolicy);
+                }
+                final Map.Entry<Node, T> entry = addedEntries.next();
+                current = entry.getKey();
+                currentAdded = true;
+                return entry.getValue();
+            }
+
+            @Override
+            public void remove() {
+                if (current == null) throw new IllegalStateException();
+                if (currentAdded) {
+                    addedEntries.remove();
+                } else {
+                    removed.add(current);
+                }
+                current = null;
+            }
+        };
+    }
+
+    /**
+     * @return the number of related entities, determined from the relationships without creating entities
+     */
+    @Override
+    public int size() {
+        int size = added.size();
+        final Iterator<Node> storedNodes = storedNodes();
+        while (storedNodes.hasNext()) {
+            final Node storedNode = storedNodes.next();
+            if (!removed.contains(storedNode) && !added.containsKey(storedNode)) size++;
+        }
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return added.isEmpty() && !iterator().hasNext();
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        final Node other = stateOf(o);
+        if (other == null) return false;
+        if (added.containsKey(other)) return true;
+        return !removed.contains(other) && isStored(other);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean add(T entity) {
+        if (!relatedType.isInstance(entity)) {
+            throw new IllegalArgumentException("New value elements must be " + relatedType);
+        }
+        final Node other = relationshipHelper.getOrCreateState(entity);
+        if (removed.remove(other)) return true;
+        if (added.containsKey(other) || isStored(other)) return false;
+        added.put(other, entity);
+        return true;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        final Node other = stateOf(o);
+        if (other == null) return false;
+        if (added.remove(other) != null) return true;
+        if (removed.contains(other) || !isStored(other)) return false;
+        removed.add(other);
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        added.clear();
+        removed.clear();
+        cleared = true;
+    }
+
+    boolean isBackedBy(Node node) {
+        return this.node.equals(node);
+    }
+
+    /**
+     * Applies the pending additions and removals to the relationships of the node.
+     */
+    void flush() {
+        if (cleared) {
+            relationshipHelper.removeMissingRelationshipsInStoreAndKeepOnlyNewRelationShipsInSet(node, new HashSet<Node>(), targetType);
+        } else if (!removed.isEmpty()) {
+            for (Relationship relationship : relationshipHelper.getRelationships(node)) {
+                if (removed.contains(relationship.getOtherNode(node))) template.delete(relationship);
+            }
+        }
+        relationshipHelper.createAddedRelationships(node, added.keySet());
+        added.clear();
+        removed.clear();
+        cleared = false;
+    }
+
+    private Node stateOf(Object o) {
+        if (o == null || !relatedType.isInstance(o)) return null;
+        return template.getPersistentState(o);
+    }
+
+    private boolean isStored(Node other) {
+        if (cleared) return false;
+        for (Relationship relationship : relationshipHelper.getRelationships(node)) {
+            if (relationship.getOtherNode(node).equals(other)) return isOfTargetType(other);
+        }
+        return false;
+    }
+
+    private boolean isOfTargetType(Node other) {
+        return targetType == null || relationshipHelper.isOfTargetType(other, targetType, new HashMap<Object, Boolean>());
+    }
+
+    // distinct end nodes of the relationships of the target type, only the ids of the already returned nodes are kept
+    private Iterator<Node> storedNodes() {
+        if (cleared) return Collections.<Node>emptySet().iterator();
+        final Iterator<Relationship> relationships = relationshipHelper.getRelationships(node).iterator();
+        final Set<Long> seen = new HashSet<Long>();
+        final Map<Object, Boolean> targetTypeByAlias = new HashMap<Object, Boolean>();
+        return new Iterator<Node>() {
+            private Node next;
+
+            @Override
+            public boolean hasNext() {
+                while (next == null && relationships.hasNext()) {
+                    final Node other = relationships.next().getOtherNode(node);
+                    if (!seen.add(other.getId())) continue;
+                    if (targetType != null && !relationshipHelper.isOfTargetType(other, targetType, targetTypeByAlias)) continue;
+                    next = other;
+                }
+                return next != null;
+            }
+
+            @Override
+            public Node next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                final Node result = next;
+                next = null;
+                return result;
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+}
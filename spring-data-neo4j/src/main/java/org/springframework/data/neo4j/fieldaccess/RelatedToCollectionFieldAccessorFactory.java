@@ -63,9 +63,13 @@ public class RelatedToCollectionFieldAccessorFactory implements FieldAccessorFac
             final Node node = checkAndGetNode(entity);
 // null should not remove existing relationships but leave them alone
             if (newVal == null) return null;
+            final LazyRelatedSet<?> lazySet = lazySetOf(newVal, node);
+            if (lazySet != null) {
+                lazySet.flush();
+                return createManagedSet(entity, lazySet, property.obtainMappingPolicy(mappingPolicy));
+            }
             final Set<Node> targetNodes = createSetOfTargetNodes(newVal);
-            removeMissingRelationships(node, targetNodes, property.getTargetType());
-            createAddedRelationships(node, targetNodes);
+            updateRelationships(node, targetNodes, property.getTargetType());
             return createManagedSet(entity, (Set<?>) newVal, property.obtainMappingPolicy(mappingPolicy));
         }
 
@@ -73,6 +77,9 @@ public class RelatedToCollectionFieldAccessorFactory implements FieldAccessorFac
         public Object getValue(final Object entity, MappingPolicy mappingPolicy) {
             checkAndGetNode(entity);
             final MappingPolicy currentPolicy = property.obtainMappingPolicy(mappingPolicy);
+            if (property.getRelationshipInfo().isLazy()) {
+                return doReturn(createManagedSet(entity, createLazySet(entity, currentPolicy), currentPolicy));
+            }
             final Set<?> result = property.isTargetTypeEnforced() ?
                     createEntitySetFromRelationshipEndNodesUsingTypeProperty(entity, currentPolicy) :
                     createEntitySetFromRelationshipEndNodes(entity, currentPolicy);
@@ -89,6 +96,13 @@ public class RelatedToCollectionFieldAccessorFactory implements FieldAccessorFac
             return doReturn(createManagedSet(entity, values, currentPolicy));
         }
 
+        // only changes to a lazy set of the same node can be applied without loading all elements
+        private LazyRelatedSet<?> lazySetOf(Object value, Node node) {
+            final Object set = value instanceof ManagedFieldAccessorSet ? ((ManagedFieldAccessorSet<?>) value).delegate : value;
+            if (set instanceof LazyRelatedSet && ((LazyRelatedSet<?>) set).isBackedBy(node)) return (LazyRelatedSet<?>) set;
+            return null;
+        }
+
         @Override
         public Object getDefaultValue() {
             // todo delegate to property
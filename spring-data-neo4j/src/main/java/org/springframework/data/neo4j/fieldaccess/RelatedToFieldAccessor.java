@@ -74,6 +74,10 @@ public abstract class RelatedToFieldAccessor implements FieldAccessor {
                 targetType );
     }
 
+    protected void updateRelationships(Node node, Set<Node> targetNodes, Class targetType) {
+        relationshipHelper.updateRelationships(node, targetNodes, targetType);
+    }
+
     protected void createAddedRelationships(Node node, Set<Node> targetNodes) {
         relationshipHelper.createAddedRelationships( node, targetNodes );
     }
@@ -82,6 +86,10 @@ public abstract class RelatedToFieldAccessor implements FieldAccessor {
         return relationshipHelper.createSetOfTargetNodes(newVal, relatedType);
     }
 
+    protected Set<Object> createLazySet(Object entity, MappingPolicy mappingPolicy) {
+        return new LazyRelatedSet<Object>(checkAndGetNode(entity), relationshipHelper, template, relatedType, property.getTargetType(), mappingPolicy);
+    }
+
     protected Set<Object> createEntitySetFromRelationshipEndNodes(Object entity, MappingPolicy mappingPolicy) {
         return relationshipHelper.createEntitySetFromRelationshipEndNodes( entity, mappingPolicy, relatedType );
     }
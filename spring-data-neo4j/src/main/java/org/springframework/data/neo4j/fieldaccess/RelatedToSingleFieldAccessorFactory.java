@@ -64,8 +64,7 @@ public class RelatedToSingleFieldAccessorFactory implements FieldAccessorFactory
                 return null;
             }
             final Set<Node> target = createSetOfTargetNodes(Collections.singleton(newVal));
-            removeMissingRelationships(node, target, property.getTargetType());
-            createAddedRelationships(node, target);
+            updateRelationships(node, target, property.getTargetType());
             return newVal;
         }
 
@@ -21,10 +21,13 @@ import org.neo4j.graphdb.Relationship;
 import org.neo4j.graphdb.RelationshipType;
 import org.springframework.dao.InvalidDataAccessApiUsageException;
 import org.springframework.data.neo4j.mapping.MappingPolicy;
+import org.springframework.data.neo4j.mapping.Neo4jPersistentEntity;
 import org.springframework.data.neo4j.support.Neo4jTemplate;
 import org.springframework.util.Assert;
 
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 
 import static java.lang.String.format;
@@ -72,18 +75,12 @@ public class RelationshipHelper {
     protected void removeMissingRelationshipsInStoreAndKeepOnlyNewRelationShipsInSet( Node node,
                                                                                       Set<Node> targetNodes,
                                                                                       Class<?> targetType ) {
+        final Map<Object, Boolean> targetTypeByAlias = new HashMap<Object, Boolean>();
         for ( Relationship relationship : node.getRelationships( type, direction ) ) {
-            if ( !targetNodes.remove( relationship.getOtherNode( node ) ) ) {
-                if ( targetType != null ) {
-                    Object actualTargetType = relationship.getOtherNode( node ).getProperty( "__type__" );
-
-                    try {
-                        if (! targetType.isAssignableFrom(Class.forName((String) actualTargetType))) {
-                            continue;
-                        }
-                    } catch (ClassNotFoundException e) {
-                        throw new IllegalStateException(format("Could not read type '%s' - type does not exist", actualTargetType), e);
-                    }
+            final Node otherNode = relationship.getOtherNode( node );
+            if ( !targetNodes.remove( otherNode ) ) {
+                if ( targetType != null && !isOfTargetType( otherNode, targetType, targetTypeByAlias ) ) {
+                    continue;
                 }
 
                 template.delete( relationship );
@@ -91,12 +88,43 @@ public class RelationshipHelper {
         }
     }
 
+    boolean isOfTargetType(Node node, Class<?> targetType, Map<Object, Boolean> targetTypeByAlias) {
+        final Object alias = template.getInfrastructure().getTypeRepresentationStrategies().readAliasFrom(node);
+        final Boolean known = targetTypeByAlias.get(alias);
+        if (known != null) return known;
+        final Neo4jPersistentEntity<?> persistentEntity = alias == null ? null : template.getInfrastructure().getMappingContext().getPersistentEntity(alias);
+        if (persistentEntity == null) {
+            throw new IllegalStateException(format("Could not read type '%s' - type does not exist", alias));
+        }
+        final boolean assignable = targetType.isAssignableFrom(persistentEntity.getType());
+        targetTypeByAlias.put(alias, assignable);
+        return assignable;
+    }
+
+    /**
+     * Diffs the relationships of the node against the target nodes with a single pass over the existing relationships.
+     * Relationships to nodes that are no longer targets are removed (only for nodes of the target type, if given), relationships to
+     * the new targets are created without looking them up again.
+     */
+    protected void updateRelationships(Node node, Set<Node> targetNodes, Class<?> targetType) {
+        removeMissingRelationshipsInStoreAndKeepOnlyNewRelationShipsInSet(node, targetNodes, targetType);
+        for (Node targetNode : targetNodes) {
+            createNewRelationship(node, targetNode);
+        }
+    }
+
     protected void createAddedRelationships(Node node, Set<Node> targetNodes) {
         for (Node targetNode : targetNodes) {
             createSingleRelationship(node, targetNode);
         }
     }
 
+    private Relationship createNewRelationship(Node node, Node targetNode) {
+        if (targetNode == null) return null;
+        if (direction == Direction.INCOMING) return targetNode.createRelationshipTo(node, type);
+        return node.createRelationshipTo(targetNode, type);
+    }
+
     // adding cascade
     @SuppressWarnings("unchecked")
     protected Set<Node> createSetOfTargetNodes(Object newVal, final Class<?> relatedType) {
@@ -103,4 +103,10 @@ public interface Neo4jPersistentProperty extends PersistentProperty<Neo4jPersist
     boolean isTargetTypeEnforced();
     
     boolean isIndexedNumerically();
+
+    /**
+     * @return position of the property within its owning entity, assigned when it is added to the entity, -1 if not
+     *         assigned (yet). Used to look up per entity tables instead of hashing the property.
+     */
+    int getSlot();
 }
@@ -37,6 +37,7 @@ public class RelationshipInfo {
     private final TypeInformation<?> targetType;
     private final boolean relatedTo;
     private boolean readonly;
+    private boolean lazy;
     private Neo4jPersistentEntity targetEntity;
 
     public Direction getDirection() {
@@ -80,6 +81,7 @@ public class RelationshipInfo {
                 ctx
         );
         if (relationshipInfo.isRelatedToVia()) throw new MappingException("Relationship field with NodeEntity "+relationshipInfo.getTargetEntity().getType()+" annotated with @RelatedTo");
+        relationshipInfo.lazy = annotation.lazy() && relationshipInfo.isCollection();
         return relationshipInfo;
     }
 
@@ -126,6 +128,10 @@ public class RelationshipInfo {
         return readonly;
     }
 
+    public boolean isLazy() {
+        return lazy;
+    }
+
     public Neo4jPersistentEntity getTargetEntity() {
         return targetEntity;
     }
@@ -19,12 +19,15 @@ package org.springframework.data.neo4j.repository;
 import org.apache.lucene.search.NumericRangeQuery;
 import org.neo4j.cypherdsl.grammar.Execute;
 import org.neo4j.cypherdsl.grammar.Skip;
+import org.neo4j.graphdb.Node;
 import org.neo4j.graphdb.NotFoundException;
 import org.neo4j.graphdb.PropertyContainer;
+import org.neo4j.graphdb.Relationship;
 import org.neo4j.graphdb.index.IndexHits;
 import org.neo4j.graphdb.index.ReadableIndex;
 import org.neo4j.helpers.collection.ClosableIterable;
 import org.neo4j.helpers.collection.IterableWrapper;
+import org.neo4j.helpers.collection.IteratorUtil;
 import org.springframework.dao.DataRetrievalFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -33,13 +36,22 @@ import org.springframework.data.domain.Sort;
 import org.springframework.data.neo4j.annotation.QueryType;
 import org.springframework.data.neo4j.conversion.EndResult;
 import org.springframework.data.neo4j.conversion.Result;
+import org.springframework.data.neo4j.core.TypeRepresentationStrategy;
 import org.springframework.data.neo4j.mapping.Neo4jPersistentProperty;
+import org.springframework.data.neo4j.repository.query.QueryTemplates;
 import org.springframework.data.neo4j.support.Neo4jTemplate;
 import org.springframework.data.neo4j.support.index.NoSuchIndexException;
+import org.springframework.data.neo4j.support.mapping.BulkEntityLoader;
+import org.springframework.data.neo4j.support.mapping.StoredEntityType;
 import org.springframework.data.neo4j.support.index.NullReadableIndex;
+import org.springframework.data.neo4j.support.query.CountQueryExecutor;
 import org.springframework.data.neo4j.support.query.QueryEngine;
+import org.springframework.data.neo4j.support.typerepresentation.AbstractIndexingTypeRepresentationStrategy;
+import org.springframework.data.neo4j.support.typerepresentation.StripedCounters;
+import org.springframework.data.neo4j.support.typerepresentation.SubReferenceNodeTypeRepresentationStrategy;
 
 import java.util.*;
+import java.util.concurrent.Future;
 
 import static java.lang.String.format;
 import static org.neo4j.helpers.collection.MapUtil.map;
@@ -112,6 +124,10 @@ public abstract class AbstractGraphRepository<S extends PropertyContainer, T> im
     @SuppressWarnings("unchecked")
     @Override
     public <U extends T> Iterable<U> save(Iterable<U> entities) {
+        if (template.getSaveBatchSize() > 1) {
+            template.save(entities, template.getSaveBatchSize());
+            return entities;
+        }
         for (U entity : entities) {
             save(entity);
         }
@@ -344,9 +360,17 @@ public abstract class AbstractGraphRepository<S extends PropertyContainer, T> im
         delete(findAll());
     }
 
+    /**
+     * Sorts all instances in the store with a cypher query that starts at the types index or the subreference node of
+     * the type, the sort properties are mapped to the property names in the graph.
+     */
     @Override
     public EndResult<T> findAll(Sort sort) {
-        return findAll(); // todo
+        if (sort == null) return findAll();
+        final Map<String, Object> params = new HashMap<String, Object>();
+        final String start = startAtAllInstances(params);
+        if (start == null) return findAll();
+        return template.query(sortedQuery(start, sort, null, params), params).to(clazz);
     }
 
     @Override
@@ -354,65 +378,115 @@ public abstract class AbstractGraphRepository<S extends PropertyContainer, T> im
         return template.query(query, params).to(clazz);
     }
 
+    /**
+     * Unsorted pages skip the preceding instances without creating entities for them, sorted pages are sorted,
+     * skipped and limited in the store, see {@link #findAll(Sort)}.
+     */
     @Override
     public Page<T> findAll(final Pageable pageable) {
-        int count = pageable.getPageSize();
-        int offset = pageable.getOffset();
-        EndResult<T> foundEntities = findAll(pageable.getSort());
-        final Iterator<T> iterator = foundEntities.iterator();
-        final PageImpl<T> page = extractPage(pageable, count, offset, iterator);
-        foundEntities.finish();
-        return page;
+        if (pageable.getSort() != null) return findAllSorted(pageable);
+        final int offset = pageable.getOffset();
+        final ClosableIterable<S> states = findAllStates();
+        try {
+            final Iterator<S> iterator = states.iterator();
+            int total = 0;
+            while (total < offset && iterator.hasNext()) {
+                iterator.next();
+                total++;
+            }
+            final List<T> result = new ArrayList<T>(pageable.getPageSize());
+            while (result.size() < pageable.getPageSize() && iterator.hasNext()) {
+                result.add(createEntity(iterator.next()));
+                total++;
+            }
+            if (iterator.hasNext()) total++;
+            return new PageImpl<T>(result, pageable, total);
+        } finally {
+            states.close();
+        }
     }
 
-    @Override
-    public Iterable<T> findAll(final Iterable<Long> ids) {
-        return new Iterable<T>() {
-            @Override
-            public Iterator<T> iterator() {
-                final Iterator<Long> idIterator = ids.iterator();
-                return new Iterator<T>() {
-
-                     @Override
-                     public boolean hasNext() {
-                         return idIterator.hasNext();
-                     }
-
-                     @Override
-                     public T next() {
-                          return template.findOne(idIterator.next(), clazz);
-                     }
-
-                     @Override
-                     public void remove() {
-                          throw new UnsupportedOperationException();
-                     }
-                };
-            }
-        };
-    }
-
-    private PageImpl<T> extractPage(Pageable pageable, int count, int offset, Iterator<T> iterator) {
-        final List<T> result = new ArrayList<T>(count);
-        int total=subList(offset, count, iterator, result);
-        if (iterator.hasNext()) total++;
-        return new PageImpl<T>(result, pageable, total);
-    }
-
-    private int subList(int skip, int limit, Iterator<T> source, final List<T> list) {
-        int count=0;
-        while (source.hasNext()) {
-            count++;
-            T t = source.next();
-            if (skip > 0) {
-                skip--;
-            } else {
-                list.add(t);
-                limit--;
+    private Page<T> findAllSorted(Pageable pageable) {
+        final Map<String, Object> params = new HashMap<String, Object>();
+        final String start = startAtAllInstances(params);
+        if (start == null) return new PageImpl<T>(Collections.<T>emptyList(), pageable, 0);
+        final EndResult<T> result = template.query(sortedQuery(start, pageable.getSort(), pageable, params), params).to(clazz);
+        return new PageImpl<T>(IteratorUtil.addToCollection(result, new ArrayList<T>(pageable.getPageSize())), pageable, count());
+    }
+
+    /**
+     * @return the start clause of a query over all instances of the type with its parameters added, or null if there are none
+     */
+    private String startAtAllInstances(Map<String, Object> params) {
+        final boolean isNode = template.isNodeEntity(clazz);
+        final StoredEntityType type = template.getEntityType(clazz);
+        final TypeRepresentationStrategy<?> strategy = isNode ? template.getInfrastructure().getNodeTypeRepresentationStrategy() : template.getInfrastructure().getRelationshipTypeRepresentationStrategy();
+        if (strategy instanceof AbstractIndexingTypeRepresentationStrategy) {
+            final AbstractIndexingTypeRepresentationStrategy<?> indexingStrategy = (AbstractIndexingTypeRepresentationStrategy<?>) strategy;
+            params.put("type", indexingStrategy.getIndexValue(type));
+            return format("start n=%s:`%s`(%s={type})", isNode ? "node" : "relationship", indexingStrategy.getIndexName(), AbstractIndexingTypeRepresentationStrategy.INDEX_KEY);
+        }
+        if (strategy instanceof SubReferenceNodeTypeRepresentationStrategy) {
+            final Node subReference = ((SubReferenceNodeTypeRepresentationStrategy) strategy).findSubreferenceNode(type);
+            if (subReference == null) return null;
+            params.put("subref", subReference.getId());
+            return format("start subref=node({subref}) match subref<-[:%s*0..]-()-[:%s*0..1]->()<-[:%s]-n",
+                    SubReferenceNodeTypeRepresentationStrategy.SUBCLASS_OF_RELATIONSHIP_TYPE.name(), StripedCounters.COUNTER_STRIPE.name(),
+                    SubReferenceNodeTypeRepresentationStrategy.INSTANCE_OF_RELATIONSHIP_TYPE.name());
+        }
+        // other strategies can't be queried, their instances are passed as ids
+        final List<Long> ids = findAllIds();
+        if (ids.isEmpty()) return null;
+        params.put("ids", ids);
+        return isNode ? "start n=node({ids})" : "start n=relationship({ids})";
+    }
+
+    @SuppressWarnings("unchecked")
+    private ClosableIterable<S> findAllStates() {
+        return (ClosableIterable<S>) template.getInfrastructure().getTypeRepresentationStrategies().findAll(template.getEntityType(clazz));
+    }
+
+    private List<Long> findAllIds() {
+        final List<Long> ids = new ArrayList<Long>();
+        final ClosableIterable<S> states = findAllStates();
+        try {
+            for (S state : states) {
+                ids.add(state instanceof Node ? ((Node) state).getId() : ((Relationship) state).getId());
             }
-            if (limit + skip == 0) break;
+        } finally {
+            states.close();
         }
-        return count;
+        return ids;
+    }
+
+    private String sortedQuery(String start, Sort sort, Pageable pageable, Map<String, Object> params) {
+        final StringBuilder query = new StringBuilder(start);
+        query.append(" return n order by ");
+        boolean first = true;
+        for (Sort.Order order : sort) {
+            if (!first) query.append(", ");
+            final Neo4jPersistentProperty property = template.getPersistentProperty(clazz, order.getProperty());
+            // sorts may come from user input, so only mapped properties are rendered into the query
+            if (property == null) throw new IllegalArgumentException("Unknown sort property " + order.getProperty() + " of " + clazz.getName());
+            query.append("n.`").append(property.getNeo4jPropertyName()).append("`?");
+            if (!order.isAscending()) query.append(" desc");
+            first = false;
+        }
+        if (pageable != null) {
+            query.append(QueryTemplates.SKIP_LIMIT);
+            params.put(QueryTemplates.SKIP_PARAMETER, pageable.getOffset());
+            params.put(QueryTemplates.LIMIT_PARAMETER, pageable.getPageSize());
+        }
+        return query.toString();
+    }
+
+    /**
+     * Loads all entities at once, see {@link Neo4jTemplate#findAll(Iterable, Class, BulkEntityLoader.Missing)}. Fails
+     * for ids that don't exist or are not of the repository type.
+     */
+    @Override
+    public Iterable<T> findAll(final Iterable<Long> ids) {
+        return template.findAll(ids, clazz, BulkEntityLoader.Missing.FAIL);
     }
 
     private class IndexHitsWrapper extends IterableWrapper<T, S> implements ClosableIterable<T> {
@@ -437,13 +511,17 @@ public abstract class AbstractGraphRepository<S extends PropertyContainer, T> im
     @SuppressWarnings("unchecked")
     @Override
     public Page<T> query(Execute query, Execute countQuery, Map<String, Object> params, Pageable page) {
-        final Execute limitedQuery = ((Skip)query).skip(page.getOffset()).limit(page.getPageSize());
+        // skip and limit are parameters so that every page reuses the plan, the count query is run without them
+        final Execute limitedQuery = ((Skip)query).skip(QueryTemplates.SKIP_PARAMETER).limit(QueryTemplates.LIMIT_PARAMETER);
+        final Map<String, Object> limitedParams = QueryTemplates.withPaging(params, page);
         QueryEngine<Object> engine = template.queryEngineFor(QueryType.Cypher);
-        Page result = engine.query(limitedQuery.toString(), params).to(clazz).as(Page.class);
+        final CountQueryExecutor countQueryExecutor = template.getCountQueryExecutor();
+        final Future<Long> concurrentCount = countQuery != null && countQueryExecutor != null ? countQueryExecutor.count(engine, countQuery.toString(), params, template.getGraphDatabase()) : null;
+        Page result = engine.query(limitedQuery.toString(), limitedParams).to(clazz).as(Page.class);
         if (countQuery == null) {
             return result; 
         }
-        Long count = engine.query(countQuery.toString(), params).to(Long.class).singleOrNull();
+        Long count = concurrentCount != null ? countQueryExecutor.await(concurrentCount) : engine.query(countQuery.toString(), params).to(Long.class).singleOrNull();
         if (count==null) return result;
         return new PageImpl<T>(result.getContent(),page, count);
     }
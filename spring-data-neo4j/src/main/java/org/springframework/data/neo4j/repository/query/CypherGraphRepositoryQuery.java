@@ -19,9 +19,13 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.neo4j.annotation.QueryType;
 import org.springframework.data.neo4j.support.Neo4jTemplate;
+import org.springframework.data.neo4j.support.query.CypherQueryEngine;
 import org.springframework.data.neo4j.support.query.QueryEngine;
 import org.springframework.data.repository.query.ParameterAccessor;
 import org.springframework.data.repository.query.Parameters;
+import org.springframework.util.StringUtils;
+
+import java.util.Map;
 
 /**
  * @author mh
@@ -42,11 +46,39 @@ class CypherGraphRepositoryQuery extends GraphRepositoryQuery {
         return this.queryEngine;
     }
 
+    /**
+     * Prepares the execution plans of the statement without paging and sorting and of the count query,
+     * so that the first invocation doesn't have to parse them.
+     */
+    void prepareQueryPlans() {
+        final Object queryEngine = getQueryEngine();
+        if (!(queryEngine instanceof CypherQueryEngine)) return;
+        final CypherQueryEngine cypherQueryEngine = (CypherQueryEngine) queryEngine;
+        cypherQueryEngine.prepare(getPlainQueryString());
+        final String countQuery = getQueryMethod().getCountQueryString();
+        if (StringUtils.hasText(countQuery)) cypherQueryEngine.prepare(countQuery);
+    }
+
+    /**
+     * @return the statement executed when neither paging nor sorting is requested
+     */
+    protected String getPlainQueryString() {
+        return getQueryMethod().getQueryString();
+    }
+
     private String addPaging(String baseQuery, Pageable pageable) {
         if (pageable==null) {
             return baseQuery;
         }
-        return baseQuery + " skip "+pageable.getOffset() + " limit " + pageable.getPageSize();
+        return baseQuery + QueryTemplates.SKIP_LIMIT;
+    }
+
+    @Override
+    protected Map<String, Object> addPagingParams(Map<String, Object> params, ParameterAccessor accessor) {
+        if (!getQueryMethod().getParameters().hasPageableParameter()) return params;
+        final Pageable pageable = accessor.getPageable();
+        if (pageable == null) return params;
+        return QueryTemplates.withPaging(params, pageable);
     }
 
     private String addSorting(String baseQuery, Sort sort) {
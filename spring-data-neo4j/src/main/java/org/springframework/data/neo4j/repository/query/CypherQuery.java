@@ -27,6 +27,8 @@ import org.springframework.data.repository.query.parser.Part;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import static org.springframework.util.StringUtils.collectionToCommaDelimitedString;
 import static org.springframework.util.StringUtils.collectionToDelimitedString;
@@ -42,6 +44,12 @@ public class CypherQuery implements CypherQueryDefinition {
     private final Neo4jPersistentEntity<?> entity;
     private final Neo4jTemplate template;
 
+    // the clauses don't change once all parts are added, so the rendered query is reused for each invocation
+    private static final int MAX_SORTED_QUERIES = 64;
+    private volatile String renderedQuery;
+    private final ConcurrentMap<Sort, String> sortedQueries = new ConcurrentHashMap<Sort, String>();
+    private PartInfo[] partInfos = new PartInfo[0];
+
     public CypherQuery(final Neo4jPersistentEntity<?> entity, Neo4jTemplate template) {
         this.entity = entity;
         this.template = template;
@@ -60,6 +68,7 @@ public class CypherQuery implements CypherQueryDefinition {
         String variable = variableContext.getVariableFor(path);
 
         final PartInfo partInfo = new PartInfo(path, variable, part, index);
+        addPartInfo(partInfo);
         // index("a:foo AND b:bar")
         // a=index1(a="foo"), b=index2(b="bar") where a=b - not good b/c of cross product
         // index1(a=foo) where a.foo=bar
@@ -78,6 +87,8 @@ public class CypherQuery implements CypherQueryDefinition {
             throw new IllegalStateException("Error "+part+" points neither to a primitive nor a entity property of "+entity);
         }
         index += 1;
+        renderedQuery = null;
+        sortedQueries.clear();
 
         MatchClause matchClause = new MatchClause(path);
 
@@ -86,6 +97,13 @@ public class CypherQuery implements CypherQueryDefinition {
         }
     }
 
+    private void addPartInfo(PartInfo partInfo) {
+        final PartInfo[] newPartInfos = new PartInfo[partInfo.getParameterIndex() + 1];
+        System.arraycopy(partInfos, 0, newPartInfos, 0, partInfos.length);
+        newPartInfos[partInfo.getParameterIndex()] = partInfo;
+        partInfos = newPartInfos;
+    }
+
     public CypherQueryDefinition withSort(Sort sorts) {
         this.defaultSorts=sorts;
         return this;
@@ -110,13 +128,10 @@ public class CypherQuery implements CypherQueryDefinition {
     }
 
     public PartInfo getPartInfo(int parameterIndex) {
-        for (StartClause startClause : startClauses) {
-            if (startClause.getPartInfo().getParameterIndex() == parameterIndex) return startClause.getPartInfo();
-        }
-        for (WhereClause whereClause : whereClauses) {
-            if (whereClause.getPartInfo().getParameterIndex() == parameterIndex) return whereClause.getPartInfo();
+        if (parameterIndex < 0 || parameterIndex >= partInfos.length || partInfos[parameterIndex] == null) {
+            throw new IllegalArgumentException("Index " + parameterIndex + " not valid");
         }
-        throw new IllegalArgumentException("Index " + parameterIndex + " not valid");
+        return partInfos[parameterIndex];
     }
 
     @Override
@@ -139,6 +154,15 @@ public class CypherQuery implements CypherQueryDefinition {
     }
 
     private String render() {
+        String query = renderedQuery;
+        if (query == null) {
+            query = renderQuery();
+            renderedQuery = query;
+        }
+        return query;
+    }
+
+    private String renderQuery() {
         String startClauses = collectionToDelimitedString(this.startClauses, ", ");
         String matchClauses = toQueryString(this.matchClauses);
         String whereClauses = collectionToDelimitedString(this.whereClauses, " AND ");
@@ -192,9 +216,13 @@ public class CypherQuery implements CypherQueryDefinition {
 
     @Override
     public String toQueryString(Sort sort) {
-        StringBuilder builder = new StringBuilder(render());
-        if (sort != null) builder.append(addSorts(sort));
-        return builder.toString();
+        if (sort == null) return render();
+        String query = sortedQueries.get(sort);
+        if (query != null) return query;
+        query = render() + addSorts(sort);
+        // sorts may come from user input, so only a limited number of them is kept
+        if (sortedQueries.size() < MAX_SORTED_QUERIES) sortedQueries.putIfAbsent(sort, query);
+        return query;
     }
 
     @Override
@@ -202,9 +230,8 @@ public class CypherQuery implements CypherQueryDefinition {
         if (pageable == null) {
             return render();
         }
-        StringBuilder builder = new StringBuilder(toQueryString(pageable.getSort()));
-        builder.append(String.format(QueryTemplates.SKIP_LIMIT, pageable.getOffset(), pageable.getPageSize()));
-        return builder.toString();
+        // skip and limit are passed as parameters, so all pages share the same statement and plan
+        return toQueryString(pageable.getSort()) + QueryTemplates.SKIP_LIMIT;
     }
 
     @Override
@@ -57,7 +57,8 @@ public class DerivedCypherRepositoryQuery extends CypherGraphRepositoryQuery {
         PartTree tree = new PartTree(queryMethod.getName(), info.getJavaType());
 
         this.query = new CypherQueryCreator(tree, mappingContext, info.getJavaType(),template).createQuery();
-        if (log.isDebugEnabled()) log.debug("Derived query: "+query+ "from method "+queryMethod);
+        final String queryString = query.toQueryString(); // renders the clauses once, later invocations reuse them
+        if (log.isDebugEnabled()) log.debug("Derived query: "+queryString+ "from method "+queryMethod);
     }
 
     @Override
@@ -65,6 +66,11 @@ public class DerivedCypherRepositoryQuery extends CypherGraphRepositoryQuery {
         return super.resolveParameters(query.resolveParameters(parameters));
     }
 
+    @Override
+    protected String getPlainQueryString() {
+        return query.toQueryString();
+    }
+
     /**
      * Returns the actual Cypher query applying {@link Pageable} or {@link Sort} instances.
      * 
@@ -16,6 +16,7 @@
 package org.springframework.data.neo4j.repository.query;
 
 import org.springframework.data.neo4j.annotation.Query;
+import org.springframework.data.neo4j.conversion.Handler;
 import org.springframework.data.neo4j.support.GenericTypeExtractor;
 import org.springframework.data.neo4j.support.Neo4jTemplate;
 import org.springframework.data.neo4j.support.mapping.Neo4jMappingContext;
@@ -40,6 +41,7 @@ public class GraphQueryMethod extends QueryMethod {
     private final NamedQueries namedQueries;
     private final Neo4jMappingContext mappingContext;
     private final Query queryAnnotation;
+    private final int handlerIndex;
 
     public GraphQueryMethod(Method method, RepositoryMetadata metadata, NamedQueries namedQueries, Neo4jMappingContext mappingContext) {
         super(method, metadata);
@@ -47,6 +49,15 @@ public class GraphQueryMethod extends QueryMethod {
         this.namedQueries = namedQueries;
         this.mappingContext = mappingContext;
         this.queryAnnotation = method.getAnnotation(Query.class);
+        this.handlerIndex = findHandlerIndex(method);
+    }
+
+    private static int findHandlerIndex(Method method) {
+        final Class<?>[] parameterTypes = method.getParameterTypes();
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (Handler.class.isAssignableFrom(parameterTypes[i])) return i;
+        }
+        return -1;
     }
 
     public String getQueryString() {
@@ -93,6 +104,7 @@ public class GraphQueryMethod extends QueryMethod {
     private Map<Parameter, Object> getParameterValues(ParameterAccessor accessor) {
         Map<Parameter,Object> parameters=new LinkedHashMap<Parameter, Object>();
         for (Parameter parameter : getParameters().getBindableParameters()) {
+            if (parameter.getIndex() == handlerIndex) continue;
             final Object value = accessor.getBindableValue(parameter.getIndex());
             parameters.put(parameter,value);
         }
@@ -120,6 +132,9 @@ public class GraphQueryMethod extends QueryMethod {
         if (elementClass!=null) {
             return elementClass;
         }
+        if (isHandlerQuery()) {
+            return GenericTypeExtractor.resolveConcreteType(Handler.class, method.getGenericParameterTypes()[handlerIndex]);
+        }
         return GenericTypeExtractor.resolveReturnedType(method);
     }
 
@@ -141,14 +156,14 @@ public class GraphQueryMethod extends QueryMethod {
     public RepositoryQuery createQuery(final Neo4jTemplate template) {
         if (queryAnnotation == null) {
             if (namedQueries.hasQuery(getNamedQueryName())) {
-                return new CypherGraphRepositoryQuery(this, template); // cypher is default for named queries
+                return prepared(new CypherGraphRepositoryQuery(this, template)); // cypher is default for named queries
             } else {
-                return new DerivedCypherRepositoryQuery(mappingContext, this, template);
+                return prepared(new DerivedCypherRepositoryQuery(mappingContext, this, template));
             }
         }
         switch (queryAnnotation.type()) {
         case Cypher:
-            return new CypherGraphRepositoryQuery(this, template);
+            return prepared(new CypherGraphRepositoryQuery(this, template));
         case Gremlin:
             return new GremlinGraphRepositoryQuery(this, template);
         default:
@@ -156,6 +171,11 @@ public class GraphQueryMethod extends QueryMethod {
         }
     }
 
+    private RepositoryQuery prepared(CypherGraphRepositoryQuery query) {
+        query.prepareQueryPlans();
+        return query;
+    }
+
     public boolean isSetResult() {
         final Class<Set> superClass = Set.class;
         return hasResultOfType(superClass);
@@ -169,6 +189,26 @@ public class GraphQueryMethod extends QueryMethod {
         return hasResultOfType(Collection.class);
     }
 
+    /**
+     * @return true if the method returns an {@link Iterator} (e.g. a
+     * {@link org.springframework.data.neo4j.conversion.ClosableIterator}) that converts the rows lazily
+     */
+    public boolean isIteratorResult() {
+        return hasResultOfType(Iterator.class);
+    }
+
+    /**
+     * @return true if the method takes a {@link Handler} parameter that is called for each converted row
+     */
+    public boolean isHandlerQuery() {
+        return handlerIndex != -1;
+    }
+
+    @SuppressWarnings("unchecked")
+    Handler<Object> getHandler(Object[] parameters) {
+        return isHandlerQuery() ? (Handler<Object>) parameters[handlerIndex] : null;
+    }
+
     @Override
     public String toString() {
         return "Repository-Graph-Query-Method for "+method;
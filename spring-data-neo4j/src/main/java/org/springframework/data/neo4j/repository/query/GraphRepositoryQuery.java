@@ -21,7 +21,10 @@ import org.neo4j.helpers.collection.IteratorUtil;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.neo4j.conversion.EndResult;
+import org.springframework.data.neo4j.conversion.EndResultIterator;
+import org.springframework.data.neo4j.conversion.Handler;
 import org.springframework.data.neo4j.support.Neo4jTemplate;
+import org.springframework.data.neo4j.support.query.CountQueryExecutor;
 import org.springframework.data.neo4j.support.query.QueryEngine;
 import org.springframework.data.repository.query.Parameter;
 import org.springframework.data.repository.query.ParameterAccessor;
@@ -31,6 +34,7 @@ import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
 
 import java.util.*;
+import java.util.concurrent.Future;
 
 /**
 * @author mh
@@ -78,9 +82,22 @@ abstract class GraphRepositoryQuery implements RepositoryQuery, ParameterResolve
         final ParameterAccessor accessor = new ParametersParameterAccessor(queryMethod.getParameters(), parameters);
         Map<String, Object> params = resolveParams(accessor);
         final String queryString = createQueryWithPagingAndSorting(accessor);
+        if (queryMethod.isHandlerQuery()) {
+            handleQuery(queryString, addPagingParams(params, accessor), queryMethod.getHandler(parameters));
+            return null;
+        }
         return dispatchQuery(queryString, params, accessor);
     }
 
+    /**
+     * Passes each converted row to the handler without collecting the result, the underlying result is closed afterwards.
+     */
+    @SuppressWarnings("unchecked")
+    protected void handleQuery(String queryString, Map<String, Object> params, Handler<Object> handler) {
+        final EndResult<Object> result = (EndResult<Object>) getQueryEngine().query(queryString, params).to(getQueryMethod().getCompoundType());
+        result.handle(handler);
+    }
+
     protected Map<String, Object> resolveParams(ParameterAccessor accessor) {
         return queryMethod.resolveParams(accessor, this);
     }
@@ -89,23 +106,50 @@ abstract class GraphRepositoryQuery implements RepositoryQuery, ParameterResolve
         return queryMethod.getQueryString();
     }
 
+    /**
+     * @return the params of the paged content query, the count query is executed with the params without paging
+     */
+    protected Map<String, Object> addPagingParams(Map<String, Object> params, ParameterAccessor accessor) {
+        return params;
+    }
+
     @SuppressWarnings("unchecked")
     protected Object dispatchQuery(String queryString, Map<String, Object> params, ParameterAccessor accessor) {
         GraphQueryMethod queryMethod = getQueryMethod();
         final QueryEngine<?> queryEngine = getQueryEngine();
         final Class<?> compoundType = queryMethod.getCompoundType();
+        final Map<String, Object> queryParams = addPagingParams(params, accessor);
         if (queryMethod.isPageQuery()) {
-            @SuppressWarnings("unchecked") final Iterable<?> result = queryEngine.query(queryString, params).to(compoundType);
+            final Future<Long> concurrentCount = startCount(params);
+            @SuppressWarnings("unchecked") final Iterable<?> result = queryEngine.query(queryString, queryParams).to(compoundType);
+            if (concurrentCount != null) {
+                final List<?> content = IteratorUtil.addToCollection(result, new ArrayList());
+                return createPage(content, accessor.getPageable(), template.getCountQueryExecutor().await(concurrentCount));
+            }
             Long count = computeCount(params);
             return createPage(result, accessor.getPageable(),count);
         }
+        if (queryMethod.isIteratorResult()) {
+            return new EndResultIterator(queryEngine.query(queryString, queryParams).to(compoundType));
+        }
         if (queryMethod.isIterableResult()) {
-            final EndResult<?> result = queryEngine.query(queryString, params).to(compoundType);
+            final EndResult<?> result = queryEngine.query(queryString, queryParams).to(compoundType);
             if (queryMethod.isSetResult()) return IteratorUtil.addToCollection(result,new LinkedHashSet());
             if (queryMethod.isCollectionResult()) return IteratorUtil.addToCollection(result,new ArrayList());
             return result;
         }
-        return queryEngine.query(queryString, params).to(queryMethod.getReturnType()).singleOrNull();
+        return queryEngine.query(queryString, queryParams).to(queryMethod.getReturnType()).singleOrNull();
+    }
+
+    /**
+     * @return the pending count if a {@link CountQueryExecutor} is configured, null if the count is computed afterwards
+     */
+    private Future<Long> startCount(Map<String, Object> params) {
+        final CountQueryExecutor countQueryExecutor = template.getCountQueryExecutor();
+        if (countQueryExecutor == null) return null;
+        String countQuery = queryMethod.getCountQueryString();
+        if (countQuery == null || !StringUtils.hasText(countQuery)) return null;
+        return countQueryExecutor.count(getQueryEngine(), countQuery, params, template.getGraphDatabase());
     }
 
     private Long computeCount(Map<String, Object> params) {
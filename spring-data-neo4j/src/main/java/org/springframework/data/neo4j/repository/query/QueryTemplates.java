@@ -16,9 +16,12 @@
 package org.springframework.data.neo4j.repository.query;
 
 import org.neo4j.graphdb.Direction;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.neo4j.mapping.RelationshipInfo;
 
+import java.util.HashMap;
 import java.util.Locale;
+import java.util.Map;
 
 /**
  * String templates to build Cypher queries.
@@ -47,7 +50,10 @@ public abstract class QueryTemplates {
 
     static final String DEFAULT_START_CLAUSE = "`%s`=node:__types__(className=\"%s\")";
     public static final String START_NODE_LOOKUP = "`%s`=node({%d})";
-    static final String SKIP_LIMIT = " SKIP %d LIMIT %d";
+    // reserved names, so that they can't collide with the parameters of the query method
+    public static final String SKIP_PARAMETER = "__skip__";
+    public static final String LIMIT_PARAMETER = "__limit__";
+    public static final String SKIP_LIMIT = " SKIP {" + SKIP_PARAMETER + "} LIMIT {" + LIMIT_PARAMETER + "}";
     static final String START_CLAUSE_INDEX_LOOKUP = "`%s`=node:`%s`(`%s`=" + PLACEHOLDER + ")";
     static final String START_CLAUSE_INDEX_QUERY = "`%s`=node:`%s`(" + PLACEHOLDER + ")";
     static final String WHERE_CLAUSE_1 = "`%1$s`.`%2$s`! %3$s {%4$d}";
@@ -59,6 +65,20 @@ public abstract class QueryTemplates {
     public static final String LUCENE_WILDCARD = "*";
 
 
+    /**
+     * @return a copy of the params with the values for the {@link #SKIP_LIMIT} parameters of the page
+     * @throws IllegalArgumentException if the params already use one of the reserved paging parameter names
+     */
+    public static Map<String, Object> withPaging(Map<String, Object> params, Pageable pageable) {
+        if (params.containsKey(SKIP_PARAMETER) || params.containsKey(LIMIT_PARAMETER)) {
+            throw new IllegalArgumentException("The parameter names " + SKIP_PARAMETER + " and " + LIMIT_PARAMETER + " are reserved for paging");
+        }
+        final Map<String, Object> result = new HashMap<String, Object>(params);
+        result.put(SKIP_PARAMETER, pageable.getOffset());
+        result.put(LIMIT_PARAMETER, pageable.getPageSize());
+        return result;
+    }
+
     static String getArrow(RelationshipInfo info) {
         return String.format(getTemplate(info.getDirection()), info.getType());
     }
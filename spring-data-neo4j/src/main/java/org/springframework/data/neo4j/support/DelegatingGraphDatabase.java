@@ -37,6 +37,7 @@ import org.springframework.data.neo4j.support.index.IndexType;
 import org.springframework.data.neo4j.support.index.NoSuchIndexException;
 import org.springframework.data.neo4j.support.query.ConversionServiceQueryResultConverter;
 import org.springframework.data.neo4j.support.query.CypherQueryEngine;
+import org.springframework.data.neo4j.support.query.CypherQueryPlanCache;
 import org.springframework.data.neo4j.support.query.GremlinQueryEngine;
 import org.springframework.data.neo4j.support.query.QueryEngine;
 import org.springframework.util.ClassUtils;
@@ -45,6 +46,7 @@ import org.springframework.util.ObjectUtils;
 import javax.transaction.Status;
 import javax.transaction.SystemException;
 import javax.transaction.TransactionManager;
+import java.util.Collection;
 import java.util.Map;
 
 /**
@@ -60,6 +62,7 @@ public class DelegatingGraphDatabase implements GraphDatabase {
     private ResultConverter resultConverter;
     private volatile QueryEngine<Object> cypherQueryEngine;
     private volatile QueryEngine<Object> gremlinQueryEngine;
+    private int queryPlanCacheCapacity = CypherQueryPlanCache.DEFAULT_CAPACITY;
 
     public DelegatingGraphDatabase(final GraphDatabaseService delegate) {
         this.delegate = delegate;
@@ -73,6 +76,13 @@ public class DelegatingGraphDatabase implements GraphDatabase {
         this.conversionService = conversionService;
     }
 
+    /**
+     * @param queryPlanCacheCapacity number of prepared cypher statements to keep, has to be set before the first query
+     */
+    public void setQueryPlanCacheCapacity(int queryPlanCacheCapacity) {
+        this.queryPlanCacheCapacity = queryPlanCacheCapacity;
+    }
+
     @Override
     public void setResultConverter(ResultConverter resultConverter) {
         this.resultConverter = resultConverter;
@@ -214,7 +224,7 @@ public class DelegatingGraphDatabase implements GraphDatabase {
         if (!ClassUtils.isPresent("org.neo4j.cypher.javacompat.ExecutionEngine", getClass().getClassLoader())) {
             return new FailingQueryEngine<T>("Cypher");
         }
-        return (QueryEngine<T>)new CypherQueryEngine(delegate, resultConverter);
+        return (QueryEngine<T>)new CypherQueryEngine(delegate, resultConverter, queryPlanCacheCapacity);
     }
 
     @Override
@@ -253,6 +263,24 @@ public class DelegatingGraphDatabase implements GraphDatabase {
        relationship.delete();
     }
 
+    @Override
+    public void remove(Node node, Collection<String> indexNames) {
+        final IndexManager indexManager = delegate.index();
+        for (String indexName : indexNames) {
+            if (indexManager.existsForNodes(indexName)) indexManager.forNodes(indexName).remove(node);
+        }
+        node.delete();
+    }
+
+    @Override
+    public void remove(Relationship relationship, Collection<String> indexNames) {
+        final IndexManager indexManager = delegate.index();
+        for (String indexName : indexNames) {
+            if (indexManager.existsForRelationships(indexName)) indexManager.forRelationships(indexName).remove(relationship);
+        }
+        relationship.delete();
+    }
+
     private ResultConverter createResultConverter() {
         if (resultConverter!=null) return resultConverter;
         if (conversionService != null) {
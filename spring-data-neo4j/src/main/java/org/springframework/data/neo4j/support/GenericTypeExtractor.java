@@ -17,11 +17,13 @@
 package org.springframework.data.neo4j.support;
 
 import org.springframework.data.domain.Page;
+import org.springframework.data.neo4j.conversion.Handler;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.Iterator;
 
 /**
  * @author mh
@@ -37,7 +39,7 @@ public class GenericTypeExtractor {
     }
 
     public static Class<?> resolveConcreteType(Class<?> type, final Type genericType) {
-        if (Iterable.class.isAssignableFrom(type)) {
+        if (Iterable.class.isAssignableFrom(type) || Iterator.class.isAssignableFrom(type) || Handler.class.isAssignableFrom(type)) {
             if (genericType instanceof ParameterizedType) {
                 ParameterizedType returnType = (ParameterizedType) genericType;
                 Type componentType = returnType.getActualTypeArguments()[0];
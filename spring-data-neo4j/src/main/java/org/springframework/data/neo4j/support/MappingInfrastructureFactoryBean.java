@@ -18,6 +18,7 @@ package org.springframework.data.neo4j.support;
 import org.neo4j.graphdb.GraphDatabaseService;
 import org.neo4j.graphdb.Node;
 import org.neo4j.graphdb.Relationship;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.FactoryBean;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.core.convert.ConversionService;
@@ -31,9 +32,12 @@ import org.springframework.data.neo4j.fieldaccess.NodeDelegatingFieldAccessorFac
 import org.springframework.data.neo4j.fieldaccess.RelationshipDelegatingFieldAccessorFactory;
 import org.springframework.data.neo4j.mapping.EntityInstantiator;
 import org.springframework.data.neo4j.support.conversion.EntityResultConverter;
+import org.springframework.data.neo4j.support.index.EntityIndexNames;
 import org.springframework.data.neo4j.support.index.IndexProvider;
 import org.springframework.data.neo4j.support.index.IndexProviderImpl;
+import org.springframework.data.neo4j.support.mapping.EntityIdentityCache;
 import org.springframework.data.neo4j.support.mapping.EntityRemover;
+import org.springframework.data.neo4j.support.mapping.EntitySnapshots;
 import org.springframework.data.neo4j.support.mapping.EntityStateHandler;
 import org.springframework.data.neo4j.support.mapping.EntityTools;
 import org.springframework.data.neo4j.support.mapping.Neo4jEntityPersister;
@@ -44,6 +48,8 @@ import org.springframework.data.neo4j.support.node.NodeEntityStateFactory;
 import org.springframework.data.neo4j.support.query.CypherQueryExecutor;
 import org.springframework.data.neo4j.support.relationship.RelationshipEntityInstantiator;
 import org.springframework.data.neo4j.support.relationship.RelationshipEntityStateFactory;
+import org.springframework.data.neo4j.support.typerepresentation.IndexedTypeCounters;
+import org.springframework.data.neo4j.support.typerepresentation.StripedCounters;
 import org.springframework.data.neo4j.support.typerepresentation.TypeRepresentationStrategies;
 import org.springframework.data.neo4j.support.typerepresentation.TypeRepresentationStrategyFactory;
 import org.springframework.data.support.IsNewStrategyFactory;
@@ -56,12 +62,13 @@ import javax.validation.Validator;
  * @author mh
  * @since 17.10.11
  */
-public class MappingInfrastructureFactoryBean implements FactoryBean<Infrastructure>, InitializingBean {
+public class MappingInfrastructureFactoryBean implements FactoryBean<Infrastructure>, InitializingBean, DisposableBean {
     private ConversionService conversionService;
     private Validator validator;
     private TypeRepresentationStrategy<Node> nodeTypeRepresentationStrategy;
     private TypeRepresentationStrategy<Relationship> relationshipTypeRepresentationStrategy;
     private TypeRepresentationStrategyFactory typeRepresentationStrategyFactory;
+    private boolean createdTypeRepresentationStrategyFactory;
 
     private Neo4jMappingContext mappingContext;
     private CypherQueryExecutor cypherQueryExecutor;
@@ -82,6 +89,12 @@ public class MappingInfrastructureFactoryBean implements FactoryBean<Infrastruct
 
     private MappingInfrastructure mappingInfrastructure;
     private TypeRepresentationStrategyFactory.Strategy typeRepresentationStrategy;
+    private boolean dirtyTracking;
+    private boolean targetedIndexRemoval;
+    private boolean entityIdentityCache;
+    private boolean indexedTypeCounters;
+    private int counterStripes = 1;
+    private EntitySnapshots entitySnapshots;
 
     public MappingInfrastructureFactoryBean(GraphDatabase graphDatabase, PlatformTransactionManager transactionManager) {
         this.graphDatabase = graphDatabase;
@@ -125,6 +138,9 @@ public class MappingInfrastructureFactoryBean implements FactoryBean<Infrastruct
         }
         if (this.typeRepresentationStrategyFactory == null) {
             this.typeRepresentationStrategyFactory = typeRepresentationStrategy!=null ? new TypeRepresentationStrategyFactory(graphDatabase,typeRepresentationStrategy) : new TypeRepresentationStrategyFactory(graphDatabase);
+            this.typeRepresentationStrategyFactory.setIndexedTypeCounters(indexedTypeCounters);
+            this.typeRepresentationStrategyFactory.setCounterStripes(counterStripes);
+            this.createdTypeRepresentationStrategyFactory = true;
         }
         if (this.nodeTypeRepresentationStrategy == null) {
             this.nodeTypeRepresentationStrategy = typeRepresentationStrategyFactory.getNodeTypeRepresentationStrategy();
@@ -140,9 +156,13 @@ public class MappingInfrastructureFactoryBean implements FactoryBean<Infrastruct
         }
         this.typeRepresentationStrategies = new TypeRepresentationStrategies(mappingContext, nodeTypeRepresentationStrategy, relationshipTypeRepresentationStrategy);
 
+        if (dirtyTracking && this.entitySnapshots == null) {
+            this.entitySnapshots = new EntitySnapshots(mappingContext, graphDatabase.getTransactionManager());
+        }
+
         final EntityStateHandler entityStateHandler = new EntityStateHandler(mappingContext, graphDatabase);
-        EntityTools<Node> nodeEntityTools = new EntityTools<Node>(nodeTypeRepresentationStrategy, nodeEntityStateFactory, nodeEntityInstantiator, mappingContext);
-        EntityTools<Relationship> relationshipEntityTools = new EntityTools<Relationship>(relationshipTypeRepresentationStrategy, relationshipEntityStateFactory, relationshipEntityInstantiator, mappingContext);
+        EntityTools<Node> nodeEntityTools = new EntityTools<Node>(nodeTypeRepresentationStrategy, nodeEntityStateFactory, nodeEntityInstantiator, mappingContext, entitySnapshots);
+        EntityTools<Relationship> relationshipEntityTools = new EntityTools<Relationship>(relationshipTypeRepresentationStrategy, relationshipEntityStateFactory, relationshipEntityInstantiator, mappingContext, entitySnapshots);
         this.entityPersister = new Neo4jEntityPersister(conversionService, nodeEntityTools, relationshipEntityTools, mappingContext, entityStateHandler);
         this.entityRemover = new EntityRemover(this.entityStateHandler, nodeTypeRepresentationStrategy, relationshipTypeRepresentationStrategy, graphDatabase);
         if (this.resultConverter == null) {
@@ -153,6 +173,14 @@ public class MappingInfrastructureFactoryBean implements FactoryBean<Infrastruct
         if (this.indexProvider == null) {
             this.indexProvider = new IndexProviderImpl(graphDatabase);
         }
+        if (targetedIndexRemoval) {
+            this.entityRemover.setEntityIndexNames(new EntityIndexNames(mappingContext, indexProvider));
+        }
+        if (entityIdentityCache) {
+            final EntityIdentityCache identityCache = new EntityIdentityCache();
+            this.entityPersister.setEntityIdentityCache(identityCache);
+            this.entityRemover.setEntityIdentityCache(identityCache);
+        }
         this.mappingInfrastructure = new MappingInfrastructure(graphDatabase, graphDatabaseService, indexProvider, resultConverter, transactionManager, typeRepresentationStrategies, entityRemover, entityPersister, entityStateHandler, cypherQueryExecutor, mappingContext, relationshipTypeRepresentationStrategy, nodeTypeRepresentationStrategy, validator, conversionService);
         } catch (Exception e) {
             throw new RuntimeException("error initializing "+getClass().getName(),e);
@@ -285,6 +313,45 @@ public class MappingInfrastructureFactoryBean implements FactoryBean<Infrastruct
         this.indexProvider = indexProvider;
     }
 
+    /**
+     * Only write changed properties and relationship sets of detached entities back to the graph, see {@link EntitySnapshots}
+     */
+    public void setDirtyTracking(boolean dirtyTracking) {
+        this.dirtyTracking = dirtyTracking;
+    }
+
+    /**
+     * Remove deleted entities only from the indexes known to their mapping metadata, see {@link EntityIndexNames}
+     */
+    public void setTargetedIndexRemoval(boolean targetedIndexRemoval) {
+        this.targetedIndexRemoval = targetedIndexRemoval;
+    }
+
+    /**
+     * Return the same entity instance for repeated reads of a node or relationship within a transaction, see {@link EntityIdentityCache}
+     */
+    public void setEntityIdentityCache(boolean entityIdentityCache) {
+        this.entityIdentityCache = entityIdentityCache;
+    }
+
+    /**
+     * Keep exact instance counts per type for the indexing type representation strategies, see {@link IndexedTypeCounters}
+     */
+    public void setIndexedTypeCounters(boolean indexedTypeCounters) {
+        this.indexedTypeCounters = indexedTypeCounters;
+    }
+
+    /**
+     * Number of stripes of the instance counters of the type representation strategies, see {@link StripedCounters}
+     */
+    public void setCounterStripes(int counterStripes) {
+        this.counterStripes = counterStripes;
+    }
+
+    public EntitySnapshots getEntitySnapshots() {
+        return entitySnapshots;
+    }
+
     public IsNewStrategyFactory getIsNewStrategyFactory() {
         return isNewStrategyFactory;
     }
@@ -293,6 +360,13 @@ public class MappingInfrastructureFactoryBean implements FactoryBean<Infrastruct
         isNewStrategyFactory = newStrategyFactory;
     }
 
+    @Override
+    public void destroy() {
+        if (createdTypeRepresentationStrategyFactory) {
+            typeRepresentationStrategyFactory.destroy();
+        }
+    }
+
     @Override
     public Infrastructure getObject() {
         return mappingInfrastructure;
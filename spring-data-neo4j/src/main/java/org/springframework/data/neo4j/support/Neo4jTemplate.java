@@ -52,6 +52,7 @@ import org.springframework.data.neo4j.repository.RelationshipGraphRepository;
 import org.springframework.data.neo4j.support.index.IndexProvider;
 import org.springframework.data.neo4j.support.index.IndexType;
 import org.springframework.data.neo4j.support.mapping.*;
+import org.springframework.data.neo4j.support.query.CountQueryExecutor;
 import org.springframework.data.neo4j.support.query.QueryEngine;
 import org.springframework.data.neo4j.template.GraphCallback;
 import org.springframework.data.neo4j.template.Neo4jOperations;
@@ -63,7 +64,10 @@ import org.springframework.transaction.support.TransactionCallback;
 import org.springframework.transaction.support.TransactionTemplate;
 
 import javax.validation.Validator;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static org.springframework.data.neo4j.support.ParameterCheck.notNull;
@@ -85,6 +89,8 @@ public class Neo4jTemplate implements Neo4jOperations, ApplicationContextAware {
 
     private final Infrastructure infrastructure;
     private ApplicationContext applicationContext;
+    private int saveBatchSize = 1;
+    private CountQueryExecutor countQueryExecutor;
 
     /**
      * @param graphDatabase      the neo4j graph database
@@ -164,6 +170,12 @@ public class Neo4jTemplate implements Neo4jOperations, ApplicationContextAware {
         return new QueryResultBuilder<PropertyContainer>(all, getDefaultConverter()).to(entityClass);
     }
 
+    @Override
+    public <T> List<T> findAll(Iterable<Long> ids, Class<T> entityClass, BulkEntityLoader.Missing missing) {
+        notNull(ids, "ids", entityClass, "entity type", missing, "missing policy");
+        return new BulkEntityLoader(this).load(ids, entityClass, missing);
+    }
+
     @Override
     public <T> long count(final Class<T> entityClass) {
         notNull(entityClass, "entity type");
@@ -295,6 +307,94 @@ public class Neo4jTemplate implements Neo4jOperations, ApplicationContextAware {
         return t;
     }
 
+    /**
+     * Stores the given entities in chunks of {@code batchSize} entities per transaction, the mapping policy is resolved
+     * only once per entity type. If a transaction is already running all entities are saved within it.
+     *
+     * @return the saved entities in the order of the input
+     */
+    @Override
+    public <T> List<T> save(Iterable<T> entities, int batchSize) {
+        notNull(entities, "entities");
+        final int chunkSize = Math.max(1, batchSize);
+        final Map<Class<?>, MappingPolicy> mappingPolicies = new HashMap<Class<?>, MappingPolicy>();
+        final List<T> result = new ArrayList<T>();
+        final List<T> chunk = new ArrayList<T>(Math.min(chunkSize, 1000));
+        for (T entity : entities) {
+            chunk.add(entity);
+            if (chunk.size() == chunkSize) {
+                result.addAll(saveChunk(chunk, mappingPolicies));
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            result.addAll(saveChunk(chunk, mappingPolicies));
+        }
+        return result;
+    }
+
+    private <T> List<T> saveChunk(final List<T> chunk, final Map<Class<?>, MappingPolicy> mappingPolicies) {
+        if (transactionIsRunning()) return doSaveChunk(chunk, mappingPolicies);
+        if (infrastructure.getTransactionManager() != null) {
+            return new TransactionTemplate(infrastructure.getTransactionManager()).execute(new TransactionCallback<List<T>>() {
+                @Override
+                public List<T> doInTransaction(TransactionStatus status) {
+                    return doSaveChunk(chunk, mappingPolicies);
+                }
+            });
+        }
+        final Transaction tx = infrastructure.getGraphDatabase().beginTx();
+        try {
+            final List<T> saved = doSaveChunk(chunk, mappingPolicies);
+            tx.success();
+            return saved;
+        } finally {
+            tx.finish();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> List<T> doSaveChunk(List<T> chunk, Map<Class<?>, MappingPolicy> mappingPolicies) {
+        final List<T> saved = new ArrayList<T>(chunk.size());
+        final Neo4jEntityPersister entityPersister = infrastructure.getEntityPersister();
+        for (T entity : chunk) {
+            MappingPolicy mappingPolicy = mappingPolicies.get(entity.getClass());
+            if (mappingPolicy == null) {
+                mappingPolicy = getMappingPolicy(entity);
+                mappingPolicies.put(entity.getClass(), mappingPolicy);
+            }
+            if (applicationContext != null) applicationContext.publishEvent(new BeforeSaveEvent<T>(this, entity));
+            saved.add((T) entityPersister.persist(entity, mappingPolicy, this, null));
+            if (applicationContext != null) applicationContext.publishEvent(new AfterSaveEvent<T>(this, entity));
+        }
+        return saved;
+    }
+
+    /**
+     * @return the number of entities saved per transaction by repositories saving multiple entities
+     */
+    public int getSaveBatchSize() {
+        return saveBatchSize;
+    }
+
+    /**
+     * @param saveBatchSize entities saved per transaction by repositories saving multiple entities, 1 saves each entity on its own
+     */
+    public void setSaveBatchSize(int saveBatchSize) {
+        this.saveBatchSize = saveBatchSize;
+    }
+
+    /**
+     * @return executes the count queries of paged repository queries concurrently and/or cached, null if they run after the content query
+     */
+    public CountQueryExecutor getCountQueryExecutor() {
+        return countQueryExecutor;
+    }
+
+    public void setCountQueryExecutor(CountQueryExecutor countQueryExecutor) {
+        this.countQueryExecutor = countQueryExecutor;
+    }
+
     public boolean isManaged(Object entity) {
         return infrastructure.getEntityStateHandler().isManaged(entity);
     }
@@ -357,6 +457,8 @@ public class Neo4jTemplate implements Neo4jOperations, ApplicationContextAware {
         if (result.type == RelationshipResult.Type.NEW) {
             // TODO
             postEntityCreation(result.relationship, relationshipEntityClass);
+            final EntityIdentityCache identityCache = infrastructure.getEntityPersister().getEntityIdentityCache();
+            if (identityCache != null) identityCache.evict(result.relationship);
         }
         return createEntityFromState(result.relationship, relationshipEntityClass, getMappingPolicy(relationshipEntityClass));
     }
@@ -28,8 +28,6 @@ import org.springframework.data.neo4j.support.Neo4jTemplateAware;
 import org.springframework.data.neo4j.support.path.ConvertingEntityPath;
 
 import javax.inject.Provider;
-import java.lang.reflect.InvocationHandler;
-import java.lang.reflect.Proxy;
 import java.util.Map;
 
 /**
@@ -38,6 +36,7 @@ import java.util.Map;
  */
 public class EntityResultConverter<T, R> extends DefaultConverter<T, R> implements Neo4jTemplateAware<EntityResultConverter<T,R>> {
     private final ConversionService conversionService;
+    private final MapResultTypes mapResultTypes = new MapResultTypes();
     private Neo4jTemplate template;
 
     public EntityResultConverter(ConversionService conversionService) {
@@ -86,9 +85,7 @@ public class EntityResultConverter<T, R> extends DefaultConverter<T, R> implemen
             throw new RuntimeException("MapResult can only be extracted from Map<String,Object>.");
         }
 
-        InvocationHandler handler = new QueryResultProxy((Map<String, Object>) value,mappingPolicy,this);
-
-        return (R) Proxy.newProxyInstance(returnType.getClassLoader(), new Class[]{returnType}, handler);
+        return (R) mapResultTypes.of(returnType).createProxy((Map<String, Object>) value, mappingPolicy, this);
     }
 
     @Override
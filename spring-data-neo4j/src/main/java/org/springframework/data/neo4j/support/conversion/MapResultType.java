@@ -0,0 +1,159 @@
+/**
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.neo4j.support.conversion;
+
+import org.springframework.data.neo4j.annotation.ResultColumn;
+import org.springframework.data.neo4j.conversion.QueryResultBuilder;
+import org.springframework.data.neo4j.conversion.ResultConverter;
+import org.springframework.data.neo4j.mapping.MappingPolicy;
+import org.springframework.data.neo4j.support.mapping.EntityFactories;
+import org.springframework.data.neo4j.support.mapping.EntityFactory;
+import org.springframework.data.util.ClassTypeInformation;
+import org.springframework.data.util.TypeInformation;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Metadata of a {@link org.springframework.data.neo4j.annotation.MapResult} interface, determined once per interface
+ * and result converter by {@link MapResultTypes}: the column and return type of each {@link ResultColumn} method and
+ * the constructor of the proxy class.
+ *
+ * @author mh
+ * @since 17.10.26
+ */
+public class MapResultType<T> {
+    private final Class<T> type;
+    private final Map<Method, Column> columns = new HashMap<Method, Column>();
+    private final EntityFactory<?> proxyFactory;
+
+    MapResultType(Class<T> type) {
+        this.type = type;
+        for (Method method : type.getMethods()) {
+            final Column column = columnOf(method);
+            if (column != null) columns.put(method, column);
+        }
+        try {
+            proxyFactory = EntityFactories.forConstructor(Proxy.getProxyClass(type.getClassLoader(), type).getConstructor(InvocationHandler.class));
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("Could not create proxy class for " + type, e);
+        }
+    }
+
+    public Class<T> getType() {
+        return type;
+    }
+
+    /**
+     * @return the column read by the method or null if it is not annotated with {@link ResultColumn}
+     */
+    public Column getColumn(Method method) {
+        return columns.get(method);
+    }
+
+    /**
+     * @return a new column for the method or null if it is not annotated with {@link ResultColumn}
+     */
+    static Column columnOf(Method method) {
+        final ResultColumn column = method.getAnnotation(ResultColumn.class);
+        return column == null ? null : new Column(column.value(), ClassTypeInformation.fromReturnTypeOf(method));
+    }
+
+    @SuppressWarnings("unchecked")
+    public T createProxy(Map<String, Object> map, MappingPolicy mappingPolicy, ResultConverter converter) {
+        try {
+            return (T) proxyFactory.newInstance(new QueryResultProxy(this, map, mappingPolicy, converter));
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not create map result " + type, e);
+        }
+    }
+
+    public static class Column {
+        private final String name;
+        private final Class<?> type;
+        private final Class<?> elementType;
+        private final ConcurrentMap<Class<?>, ScalaIterableConversion> scalaConversions = new ConcurrentHashMap<Class<?>, ScalaIterableConversion>();
+
+        Column(String name, TypeInformation<?> returnType) {
+            this.name = name;
+            this.type = returnType.getType();
+            this.elementType = returnType.isCollectionLike() ? returnType.getActualType().getType() : null;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        @SuppressWarnings("unchecked")
+        public Object read(Map<String, Object> map, MappingPolicy mappingPolicy, ResultConverter converter) throws Exception {
+            Object columnValue = map.get(name);
+            if (columnValue == null) {
+                if (!map.containsKey(name)) throw new NoSuchColumnFoundException(name);
+                return null;
+            }
+            columnValue = toJavaIterable(columnValue);
+            if (elementType != null) return new QueryResultBuilder((Iterable) columnValue, converter).to(elementType);
+            return converter.convert(columnValue, type, mappingPolicy);
+        }
+
+        /**
+         * If the value is a Scala iterable, transforms it to a Java iterable
+         */
+        private Object toJavaIterable(Object value) throws Exception {
+            final Class<?> valueType = value.getClass();
+            ScalaIterableConversion conversion = scalaConversions.get(valueType);
+            if (conversion == null) {
+                conversion = new ScalaIterableConversion(findInterface("scala.collection.Iterable", valueType));
+                scalaConversions.putIfAbsent(valueType, conversion);
+            }
+            return conversion.asJavaIterable == null ? value : conversion.asJavaIterable.invoke(null, value);
+        }
+    }
+
+    static Class<?> findInterface(String interfaceName, Class<?> type) {
+        if (type.getName().equals(interfaceName)) return type;
+
+        final Class<?> superclass = type.getSuperclass();
+        if (superclass != null) {
+            final Class<?> found = findInterface(interfaceName, superclass);
+            if (found != null) return found;
+        }
+        for (Class<?> iface : type.getInterfaces()) {
+            final Class<?> found = findInterface(interfaceName, iface);
+            if (found != null) return found;
+        }
+        return null;
+    }
+
+    private static class ScalaIterableConversion {
+        // equivalent to JavaConversions.asJavaIterable(((IterableLike) columnValue).toIterable());
+        private final Method asJavaIterable;
+
+        private ScalaIterableConversion(Class<?> iterableInterface) throws Exception {
+            if (iterableInterface == null) {
+                asJavaIterable = null;
+                return;
+            }
+            final Class<?> javaConversions = iterableInterface.getClassLoader().loadClass("scala.collection.JavaConversions");
+            asJavaIterable = javaConversions.getMethod("asJavaIterable", iterableInterface);
+        }
+    }
+}
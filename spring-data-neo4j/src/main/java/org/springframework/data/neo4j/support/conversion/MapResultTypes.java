@@ -0,0 +1,40 @@
+/**
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.neo4j.support.conversion;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Caches the {@link MapResultType} of each {@link org.springframework.data.neo4j.annotation.MapResult} interface.
+ * An instance is held by each result converter, so that the interfaces and the class loaders they reference are
+ * released together with the converter.
+ *
+ * @author mh
+ * @since 17.10.26
+ */
+public class MapResultTypes {
+    private final ConcurrentMap<Class<?>, MapResultType<?>> types = new ConcurrentHashMap<Class<?>, MapResultType<?>>();
+
+    @SuppressWarnings("unchecked")
+    public <T> MapResultType<T> of(Class<T> type) {
+        MapResultType<T> result = (MapResultType<T>) types.get(type);
+        if (result != null) return result;
+        result = new MapResultType<T>(type);
+        final MapResultType<T> existing = (MapResultType<T>) types.putIfAbsent(type, result);
+        return existing != null ? existing : result;
+    }
+}
@@ -15,92 +15,58 @@
  */
 package org.springframework.data.neo4j.support.conversion;
 
-import org.springframework.data.neo4j.annotation.ResultColumn;
-import org.springframework.data.neo4j.conversion.QueryResultBuilder;
 import org.springframework.data.neo4j.conversion.ResultConverter;
 import org.springframework.data.neo4j.mapping.MappingPolicy;
-import org.springframework.data.util.ClassTypeInformation;
-import org.springframework.data.util.TypeInformation;
 
 import java.lang.reflect.InvocationHandler;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
 import java.util.Map;
 
 /**
+* Backs {@link org.springframework.data.neo4j.annotation.MapResult} interfaces, the column metadata of their methods
+* is resolved once per interface by {@link MapResultType} if the proxy was created by it.
+*
 * @author mh
 * @since 10.11.11
 */
 public class QueryResultProxy implements InvocationHandler {
+    private final MapResultType<?> resultType;
     private final Map<String, Object> map;
     private final MappingPolicy mappingPolicy;
     private final ResultConverter converter;
 
     public QueryResultProxy(Map<String, Object> map, MappingPolicy mappingPolicy, ResultConverter converter) {
+        this(null, map, mappingPolicy, converter);
+    }
+
+    QueryResultProxy(MapResultType<?> resultType, Map<String, Object> map, MappingPolicy mappingPolicy, ResultConverter converter) {
+        this.resultType = resultType;
         this.map = map;
         this.mappingPolicy = mappingPolicy;
         this.converter = converter;
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     public Object invoke(Object proxy, Method method, Object[] params) throws Throwable {
-        if (method.getName().equals("equals") && params!=null && params.length == 1) {
-            return equalsInternal(proxy, params[0]);
-        }
-
-        if (method.getName().equals("hashCode") && (params==null || params.length == 0)) {
-          return map.hashCode();
-        }
-
-        ResultColumn column = method.getAnnotation(ResultColumn.class);
-        TypeInformation<?> returnType = ClassTypeInformation.fromReturnTypeOf(method);
-
-        String columnName = column.value();
-        if(!map.containsKey( columnName )) {
-            throw new NoSuchColumnFoundException( columnName );
-        }
-
-        Object columnValue = map.get( columnName );
-        if(columnValue==null) return null;
-
-        // If the returned value is a Scala iterable, transform it to a Java iterable first
-        Class iterableLikeInterface = implementsInterface("scala.collection.Iterable", columnValue.getClass());
-        if (iterableLikeInterface!=null) {
-            columnValue = transformScalaIterableToJavaIterable(columnValue, iterableLikeInterface);
+        MapResultType.Column column = resultType == null ? null : resultType.getColumn(method);
+        if (column == null) {
+            if (method.getName().equals("equals") && params!=null && params.length == 1) {
+                return equalsInternal(proxy, params[0]);
+            }
+
+            if (method.getName().equals("hashCode") && (params==null || params.length == 0)) {
+              return map.hashCode();
+            }
+            column = MapResultType.columnOf(method);
+            if (column == null) {
+                if (method.getName().equals("toString") && (params==null || params.length == 0)) {
+                    return map.toString();
+                }
+                throw new IllegalStateException("Method " + method + " is not annotated with @ResultColumn");
+            }
         }
-
-        if (returnType.isCollectionLike())
-            return new QueryResultBuilder((Iterable)columnValue, converter).to(returnType.getActualType().getType());
-        else
-            return converter.convert(columnValue, returnType.getType(), mappingPolicy);
-    }
-    public Object transformScalaIterableToJavaIterable(Object scalaIterable, Class iterableLikeIface) throws ClassNotFoundException, NoSuchMethodException, InvocationTargetException, IllegalAccessException {
-        // This is equivalent to doing this:
-        // JavaConversions.asJavaIterable(((IterableLike) columnValue).toIterable());
-
-        Class<?> javaConversions = iterableLikeIface.getClassLoader().loadClass("scala.collection.JavaConversions");
-        Method asJavaIterable = javaConversions.getMethod("asJavaIterable", iterableLikeIface);
-        Iterable<?> javaIterable = (Iterable<?>) asJavaIterable.invoke(null, scalaIterable);
-        return javaIterable;
-    }
-    private Class implementsInterface(String interfaceName, Class clazz) {
-        if(clazz.getCanonicalName().equals(interfaceName)) return clazz;
-
-        Class superclass = clazz.getSuperclass();
-        if(superclass != null) {
-            Class iface = implementsInterface(interfaceName, superclass);
-            if (iface!= null)  return iface;
-        }
-
-        for(Class iface : clazz.getInterfaces()) {
-            Class superIface = implementsInterface(interfaceName, iface);
-            if(superIface!=null)
-                return superIface;
-        }
-
-        return null;
+        return column.read(map, mappingPolicy, converter);
     }
 
     private boolean equalsInternal(Object me, Object other) {
@@ -0,0 +1,92 @@
+/**
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.neo4j.support.index;
+
+import org.springframework.data.mapping.PropertyHandler;
+import org.springframework.data.neo4j.annotation.Indexed;
+import org.springframework.data.neo4j.mapping.Neo4jPersistentEntity;
+import org.springframework.data.neo4j.mapping.Neo4jPersistentProperty;
+import org.springframework.data.neo4j.support.mapping.Neo4jMappingContext;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Computes the names of all indexes the mapping layer adds instances of an entity type to, i.e. the indexes of
+ * its {@link Indexed} properties (including unique ones) and the default index of the type. Used to remove deleted
+ * entities only from those indexes instead of from every index in the database.
+ * <p>
+ * Entries added manually to other indexes (e.g. via {@link org.springframework.data.neo4j.support.Neo4jTemplate#index})
+ * are not known to the mapping metadata and therefore not covered.
+ *
+ * @author mh
+ * @since 17.10.26
+ */
+public class EntityIndexNames {
+    private final Neo4jMappingContext mappingContext;
+    private final IndexProvider indexProvider;
+    private final ConcurrentMap<Class<?>, Collection<String>> indexNamesByType = new ConcurrentHashMap<Class<?>, Collection<String>>();
+
+    public EntityIndexNames(Neo4jMappingContext mappingContext, IndexProvider indexProvider) {
+        this.mappingContext = mappingContext;
+        this.indexProvider = indexProvider;
+    }
+
+    /**
+     * @return the index names for the entity type or null if the type is not a mapped entity
+     */
+    public Collection<String> indexNamesFor(Class<?> type) {
+        final Collection<String> indexNames = indexNamesByType.get(type);
+        if (indexNames != null) return indexNames;
+        if (!mappingContext.isNodeEntity(type) && !mappingContext.isRelationshipEntity(type)) return null;
+        indexNamesByType.putIfAbsent(type, resolveIndexNames(mappingContext.getPersistentEntity(type)));
+        return indexNamesByType.get(type);
+    }
+
+    /**
+     * @return the index names for the entity type stored with the given alias or null if the alias is unknown
+     */
+    public Collection<String> indexNamesForAlias(Object alias) {
+        if (alias == null) return null;
+        final Neo4jPersistentEntity<?> persistentEntity = mappingContext.getPersistentEntity(alias);
+        if (persistentEntity == null) return null;
+        return indexNamesFor(persistentEntity.getType());
+    }
+
+    private Collection<String> resolveIndexNames(Neo4jPersistentEntity<?> persistentEntity) {
+        final Set<String> indexNames = new LinkedHashSet<String>();
+        final Class<?> type = persistentEntity.getType();
+        indexNames.add(indexProvider.customizeIndexName(Indexed.Name.get(type), type));
+        persistentEntity.doWithProperties(new PropertyHandler<Neo4jPersistentProperty>() {
+            @Override
+            public void doWithPersistentProperty(Neo4jPersistentProperty property) {
+                if (!property.isIndexed()) return;
+                indexNames.add(indexNameOf(property, type));
+                indexNames.add(property.getIndexInfo().getIndexName());
+            }
+        });
+        return Collections.unmodifiableSet(indexNames);
+    }
+
+    private String indexNameOf(Neo4jPersistentProperty property, Class<?> type) {
+        if (indexProvider instanceof IndexProviderImpl) return ((IndexProviderImpl) indexProvider).getIndexName(property, type);
+        return indexProvider.getIndex(property, type).getName();
+    }
+}
@@ -24,6 +24,9 @@ import org.springframework.data.neo4j.core.GraphDatabase;
 import org.springframework.data.neo4j.mapping.Neo4jPersistentEntity;
 import org.springframework.data.neo4j.mapping.Neo4jPersistentProperty;
 
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
 import static org.springframework.data.neo4j.support.ParameterCheck.notNull;
 
 /**
@@ -32,6 +35,30 @@ import static org.springframework.data.neo4j.support.ParameterCheck.notNull;
  */
 public class IndexProviderImpl implements IndexProvider {
     private final GraphDatabase graphDatabase;
+    private final ConcurrentMap<PropertyIndexKey, RevalidatingIndex<?>> propertyIndexes = new ConcurrentHashMap<PropertyIndexKey, RevalidatingIndex<?>>();
+
+    private static class PropertyIndexKey {
+        private final Neo4jPersistentProperty property;
+        private final Class<?> instanceType;
+
+        PropertyIndexKey(Neo4jPersistentProperty property, Class<?> instanceType) {
+            this.property = property;
+            this.instanceType = instanceType;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            final PropertyIndexKey that = (PropertyIndexKey) o;
+            return property.equals(that.property) && instanceType == that.instanceType;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * property.hashCode() + (instanceType != null ? instanceType.hashCode() : 0);
+        }
+    }
 
     public IndexProviderImpl(GraphDatabase graphDatabase) {
         this.graphDatabase = graphDatabase;
@@ -91,13 +118,31 @@ public class IndexProviderImpl implements IndexProvider {
         return graphDatabase.createIndex(propertyContainerType, indexName, fullText);
     }
 
+    /**
+     * The index is resolved (and created if necessary) only once per property and instance type. If the cached index
+     * was deleted meanwhile it is resolved again on its next use, see {@link RevalidatingIndex}.
+     */
     @Override
-    public <S extends PropertyContainer> Index<S> getIndex(Neo4jPersistentProperty property, final Class<?> instanceType) {
+    @SuppressWarnings("unchecked")
+    public <S extends PropertyContainer> Index<S> getIndex(final Neo4jPersistentProperty property, final Class<?> instanceType) {
+        final PropertyIndexKey key = new PropertyIndexKey(property, instanceType);
+        final RevalidatingIndex<?> cached = propertyIndexes.get(key);
+        if (cached != null) return (Index<S>) cached;
+        final RevalidatingIndex<S> index = new RevalidatingIndex<S>(this.<S>resolveIndex(property, instanceType), new RevalidatingIndex.Resolver<S>() {
+            public Index<S> resolve() {
+                return resolveIndex(property, instanceType);
+            }
+        });
+        final RevalidatingIndex<?> existing = propertyIndexes.putIfAbsent(key, index);
+        return existing != null ? (Index<S>) existing : index;
+    }
+
+    private <S extends PropertyContainer> Index<S> resolveIndex(Neo4jPersistentProperty property, final Class<?> instanceType) {
         final Indexed indexedAnnotation = property.getAnnotation(Indexed.class);
         final Neo4jPersistentEntity<?> declaringType = property.getOwner();
         final String providedIndexName = providedIndexName(indexedAnnotation);
         final Indexed.Level level = indexingLevel(indexedAnnotation);
-        String indexName = customizeIndexName(Indexed.Name.get(level, declaringType.getType(), providedIndexName, instanceType), instanceType);
+        String indexName = getIndexName(property, instanceType);
         if (!property.isIndexed() || property.getIndexInfo().getIndexType() == IndexType.SIMPLE) {
             return getIndex(declaringType, indexName, IndexType.SIMPLE);
         }
@@ -108,6 +153,15 @@ public class IndexProviderImpl implements IndexProvider {
         return getIndex(declaringType, indexName, property.getIndexInfo().getIndexType());
     }
 
+    /**
+     * @return the name of the index used for the property on instances of the given type, see {@link #getIndex(Neo4jPersistentProperty, Class)}
+     */
+    public String getIndexName(Neo4jPersistentProperty property, Class<?> instanceType) {
+        final Indexed indexedAnnotation = property.getAnnotation(Indexed.class);
+        final Class<?> declaringType = property.getOwner().getType();
+        return customizeIndexName(Indexed.Name.get(indexingLevel(indexedAnnotation), declaringType, providedIndexName(indexedAnnotation), instanceType), instanceType);
+    }
+
     private Indexed.Level indexingLevel(Indexed indexedAnnotation) {
         return indexedAnnotation == null ? Indexed.Level.CLASS : indexedAnnotation.level();
     }
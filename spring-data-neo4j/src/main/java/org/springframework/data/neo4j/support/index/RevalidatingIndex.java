@@ -0,0 +1,179 @@
+/**
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.neo4j.support.index;
+
+import org.neo4j.graphdb.GraphDatabaseService;
+import org.neo4j.graphdb.NotFoundException;
+import org.neo4j.graphdb.PropertyContainer;
+import org.neo4j.graphdb.index.Index;
+import org.neo4j.graphdb.index.IndexHits;
+
+/**
+ * Index cached by {@link IndexProviderImpl} for a property. Neo4j has no callback for deleted indexes, using a deleted
+ * one fails with an {@link IllegalStateException} or {@link NotFoundException} instead. Then the index is resolved
+ * again and the operation is retried once, so that indexes deleted by any means (e.g. cleaning the database) don't
+ * have to be announced to the cache.
+ *
+ * @author mh
+ * @since 17.10.26
+ */
+class RevalidatingIndex<S extends PropertyContainer> implements Index<S> {
+
+    interface Resolver<S extends PropertyContainer> {
+        Index<S> resolve();
+    }
+
+    private final Resolver<S> resolver;
+    private volatile Index<S> index;
+
+    RevalidatingIndex(Index<S> index, Resolver<S> resolver) {
+        this.index = index;
+        this.resolver = resolver;
+    }
+
+    private Index<S> revalidate(Index<S> failed) {
+        synchronized (this) {
+            if (index == failed) index = resolver.resolve();
+            return index;
+        }
+    }
+
+    @Override
+    public void add(S entity, String key, Object value) {
+        final Index<S> current = index;
+        try {
+            current.add(entity, key, value);
+        } catch (IllegalStateException e) {
+            revalidate(current).add(entity, key, value);
+        } catch (NotFoundException e) {
+            revalidate(current).add(entity, key, value);
+        }
+    }
+
+    @Override
+    public void remove(S entity, String key, Object value) {
+        final Index<S> current = index;
+        try {
+            current.remove(entity, key, value);
+        } catch (IllegalStateException e) {
+            revalidate(current).remove(entity, key, value);
+        } catch (NotFoundException e) {
+            revalidate(current).remove(entity, key, value);
+        }
+    }
+
+    @Override
+    public void remove(S entity, String key) {
+        final Index<S> current = index;
+        try {
+            current.remove(entity, key);
+        } catch (IllegalStateException e) {
+            revalidate(current).remove(entity, key);
+        } catch (NotFoundException e) {
+            revalidate(current).remove(entity, key);
+        }
+    }
+
+    @Override
+    public void remove(S entity) {
+        final Index<S> current = index;
+        try {
+            current.remove(entity);
+        } catch (IllegalStateException e) {
+            revalidate(current).remove(entity);
+        } catch (NotFoundException e) {
+            revalidate(current).remove(entity);
+        }
+    }
+
+    @Override
+    public S putIfAbsent(S entity, String key, Object value) {
+        final Index<S> current = index;
+        try {
+            return current.putIfAbsent(entity, key, value);
+        } catch (IllegalStateException e) {
+            return revalidate(current).putIfAbsent(entity, key, value);
+        } catch (NotFoundException e) {
+            return revalidate(current).putIfAbsent(entity, key, value);
+        }
+    }
+
+    @Override
+    public IndexHits<S> get(String key, Object value) {
+        final Index<S> current = index;
+        try {
+            return current.get(key, value);
+        } catch (IllegalStateException e) {
+            return revalidate(current).get(key, value);
+        } catch (NotFoundException e) {
+            return revalidate(current).get(key, value);
+        }
+    }
+
+    @Override
+    public IndexHits<S> query(String key, Object queryOrQueryObject) {
+        final Index<S> current = index;
+        try {
+            return current.query(key, queryOrQueryObject);
+        } catch (IllegalStateException e) {
+            return revalidate(current).query(key, queryOrQueryObject);
+        } catch (NotFoundException e) {
+            return revalidate(current).query(key, queryOrQueryObject);
+        }
+    }
+
+    @Override
+    public IndexHits<S> query(Object queryOrQueryObject) {
+        final Index<S> current = index;
+        try {
+            return current.query(queryOrQueryObject);
+        } catch (IllegalStateException e) {
+            return revalidate(current).query(queryOrQueryObject);
+        } catch (NotFoundException e) {
+            return revalidate(current).query(queryOrQueryObject);
+        }
+    }
+
+    @Override
+    public void delete() {
+        index.delete();
+    }
+
+    @Override
+    public String getName() {
+        return index.getName();
+    }
+
+    @Override
+    public Class<S> getEntityType() {
+        return index.getEntityType();
+    }
+
+    @Override
+    public boolean isWriteable() {
+        return index.isWriteable();
+    }
+
+    @Override
+    public GraphDatabaseService getGraphDatabase() {
+        return index.getGraphDatabase();
+    }
+
+    @Override
+    public String toString() {
+        return index.toString();
+    }
+}
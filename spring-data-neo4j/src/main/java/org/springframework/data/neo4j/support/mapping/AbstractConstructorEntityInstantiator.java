@@ -26,11 +26,13 @@ import sun.reflect.ReflectionFactory;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Try for a constructor taking state: failing that, try a no-arg constructor and then setUnderlyingNode().
+ * The creators are built once per entity class, calling the constructors through generated {@link EntityFactory}s.
  * 
  * @author Rod Johnson
  */
@@ -38,23 +40,19 @@ public abstract class AbstractConstructorEntityInstantiator<STATE> implements En
 
 	private final static Logger log = LoggerFactory.getLogger(EntityInstantiator.class);
 
-	private final Map<Class<?>, StateBackedCreator<?, STATE>> cache = new HashMap<Class<?>, StateBackedCreator<?, STATE>>();
+	private final ConcurrentMap<Class<?>, StateBackedCreator<?, STATE>> cache = new ConcurrentHashMap<Class<?>, StateBackedCreator<?, STATE>>();
 
 	@SuppressWarnings("unchecked")
     public <T> T createEntityFromState(STATE n, Class<T> c, final MappingPolicy mappingPolicy) {
 		try {
 			StateBackedCreator<T, STATE> creator = (StateBackedCreator<T, STATE>) cache.get(c);
-			if (creator != null)
-				return creator.create(n, c);
-			synchronized (cache) {
-				creator = (StateBackedCreator<T, STATE>) cache.get(c);
-				if (creator != null)
-					return creator.create(n, c);
+			if (creator == null) {
 				Class<STATE> stateClass = (Class<STATE>) n.getClass();
 				creator = createInstantiator(c, stateClass);
-				cache.put(c, creator);
-				return creator.create(n, c);
+				final StateBackedCreator<T, STATE> existing = (StateBackedCreator<T, STATE>) cache.putIfAbsent(c, creator);
+				if (existing != null) creator = existing;
 			}
+			return creator.create(n, c);
 		} catch (IllegalArgumentException e) {
 			throw e;
 		} catch (InvocationTargetException e) {
@@ -102,11 +100,12 @@ public abstract class AbstractConstructorEntityInstantiator<STATE> implements En
 
         if (log.isDebugEnabled()) log.debug("Using " + type + " no-arg constructor");
 
+		final EntityFactory<T> factory = EntityFactories.forConstructor(constructor);
 		return new StateBackedCreator<T, STATE>() {
 			public T create(STATE state, Class<T> c) throws Exception {
 				try {
 					StateProvider.setUnderlyingState(state);
-					T newInstance = constructor.newInstance();
+					T newInstance = factory.newInstance(null);
 					setState(newInstance, state);
 					return newInstance;
 				} finally {
@@ -144,9 +143,10 @@ public abstract class AbstractConstructorEntityInstantiator<STATE> implements En
 			return null;
 		if (log.isDebugEnabled())
   			log.debug("Using " + type + " constructor taking " + getStateInterface());
+		final EntityFactory<T> factory = EntityFactories.forConstructor(constructor);
 		return new StateBackedCreator<T, STATE>() {
 			public T create(STATE n, Class<T> c) throws Exception {
-				return constructor.newInstance(n);
+				return factory.newInstance(n);
 			}
 		};
 	}
@@ -0,0 +1,169 @@
+/**
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.neo4j.support.mapping;
+
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.NotFoundException;
+import org.neo4j.graphdb.PropertyContainer;
+import org.neo4j.graphdb.Relationship;
+import org.springframework.dao.DataRetrievalFailureException;
+import org.springframework.data.neo4j.core.GraphDatabase;
+import org.springframework.data.neo4j.mapping.Neo4jPersistentEntity;
+import org.springframework.data.neo4j.support.DelegatingGraphDatabase;
+import org.springframework.data.neo4j.support.Neo4jTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.neo4j.helpers.collection.MapUtil.map;
+
+/**
+ * Loads the entities for many node or relationship ids at once. Each distinct id is looked up once (for remote
+ * databases with a single cypher query), the stored type is checked once per distinct type alias and all entities
+ * are created within one conversion. The result is in the order of the passed ids.
+ *
+ * @author mh
+ * @since 17.10.26
+ */
+public class BulkEntityLoader {
+
+    /**
+     * What to do with ids that don't exist or belong to a different type.
+     */
+    public enum Missing {
+        /** leave them out of the result */
+        SKIP,
+        /** return null at their position */
+        NULL,
+        /** throw a {@link DataRetrievalFailureException} */
+        FAIL
+    }
+
+    private final Neo4jTemplate template;
+
+    public BulkEntityLoader(Neo4jTemplate template) {
+        this.template = template;
+    }
+
+    public <T> List<T> load(Iterable<Long> ids, Class<T> type, Missing missing) {
+        final boolean nodes = template.isNodeEntity(type);
+        final List<Long> orderedIds = new ArrayList<Long>();
+        for (Long id : ids) {
+            orderedIds.add(id);
+        }
+        final Set<Long> distinctIds = new LinkedHashSet<Long>(orderedIds);
+        distinctIds.remove(null);
+
+        final Map<Long, PropertyContainer> states = isEmbedded() ? lookupStates(distinctIds, nodes) : queryStates(distinctIds, nodes, missing);
+        final Map<Object, Boolean> matchingAliases = new HashMap<Object, Boolean>();
+        for (Map.Entry<Long, PropertyContainer> entry : new ArrayList<Map.Entry<Long, PropertyContainer>>(states.entrySet())) {
+            if (!isOfType(entry.getValue(), type, matchingAliases)) states.remove(entry.getKey());
+        }
+
+        final List<T> created = template.getInfrastructure().getEntityPersister().createEntitiesFromStates(states.values(), type, template.getMappingPolicy(type), template);
+        final Map<Long, T> entities = new HashMap<Long, T>(states.size());
+        int i = 0;
+        for (Long id : states.keySet()) {
+            entities.put(id, created.get(i++));
+        }
+
+        final List<T> result = new ArrayList<T>(orderedIds.size());
+        for (Long id : orderedIds) {
+            final T entity = entities.get(id);
+            if (entity != null) {
+                result.add(entity);
+                continue;
+            }
+            switch (missing) {
+                case NULL:
+                    result.add(null);
+                    break;
+                case FAIL:
+                    throw new DataRetrievalFailureException("No " + type.getSimpleName() + " found for id " + id);
+                default:
+                    break;
+            }
+        }
+        return result;
+    }
+
+    private boolean isEmbedded() {
+        return template.getGraphDatabase() instanceof DelegatingGraphDatabase;
+    }
+
+    private Map<Long, PropertyContainer> lookupStates(Set<Long> ids, boolean nodes) {
+        final GraphDatabase graphDatabase = template.getGraphDatabase();
+        final Map<Long, PropertyContainer> states = new LinkedHashMap<Long, PropertyContainer>(ids.size());
+        for (Long id : ids) {
+            try {
+                states.put(id, nodes ? graphDatabase.getNodeById(id) : graphDatabase.getRelationshipById(id));
+            } catch (NotFoundException nfe) {
+                // missing
+            }
+        }
+        return states;
+    }
+
+    // one round trip, a single unknown id fails the whole query, then missing ids are determined one by one
+    private Map<Long, PropertyContainer> queryStates(Set<Long> ids, boolean nodes, Missing missing) {
+        if (ids.isEmpty()) return new LinkedHashMap<Long, PropertyContainer>();
+        final String statement = nodes ? "start n=node({ids}) return n" : "start n=relationship({ids}) return n";
+        final Map<Long, PropertyContainer> found = new HashMap<Long, PropertyContainer>(ids.size());
+        try {
+            for (Map<String, Object> row : template.query(statement, map("ids", new ArrayList<Long>(ids)))) {
+                final PropertyContainer state = (PropertyContainer) row.get("n");
+                found.put(idOf(state), state);
+            }
+        } catch (RuntimeException e) {
+            if (missing == Missing.FAIL) throw new DataRetrievalFailureException("Error loading entities for ids " + ids, e);
+            return lookupStates(ids, nodes);
+        }
+        final Map<Long, PropertyContainer> states = new LinkedHashMap<Long, PropertyContainer>(ids.size());
+        for (Long id : ids) {
+            if (found.containsKey(id)) states.put(id, found.get(id));
+        }
+        return states;
+    }
+
+    private boolean isOfType(PropertyContainer state, Class<?> type, Map<Object, Boolean> matchingAliases) {
+        final Object alias;
+        try {
+            alias = template.getInfrastructure().getTypeRepresentationStrategies().readAliasFrom(state);
+        } catch (UnsupportedOperationException uoe) {
+            return true;
+        } catch (IllegalArgumentException iae) {
+            // e.g. nodes not attached to the type hierarchy of the sub reference strategy, they are not of any type
+            return false;
+        }
+        if (alias == null) return true;
+        Boolean matching = matchingAliases.get(alias);
+        if (matching == null) {
+            final Neo4jPersistentEntity<?> persistentEntity = template.getInfrastructure().getMappingContext().getPersistentEntity(alias);
+            matching = persistentEntity == null || type.isAssignableFrom(persistentEntity.getType());
+            matchingAliases.put(alias, matching);
+        }
+        return matching;
+    }
+
+    private long idOf(PropertyContainer state) {
+        return state instanceof Node ? ((Node) state).getId() : ((Relationship) state).getId();
+    }
+}
@@ -0,0 +1,154 @@
+/**
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.neo4j.support.mapping;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.asm.ClassWriter;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+import org.springframework.asm.Type;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates the {@link EntityFactory}s for entity constructors. Like {@link EntityPropertyAccessors} a small factory
+ * class is generated into the class loader of the entity when the constructor is accessible from its package, so
+ * that creating an entity is a plain constructor call, otherwise reflection is used.
+ *
+ * @author mh
+ * @since 17.10.26
+ */
+public class EntityFactories {
+    private final static Logger log = LoggerFactory.getLogger(EntityFactories.class);
+
+    private static final String FACTORY_TYPE = Type.getInternalName(EntityFactory.class);
+    private static final String OBJECT_TYPE = Type.getInternalName(Object.class);
+    private static final String FACTORY_SUFFIX = "$$Neo4jFactory$";
+
+    private static final AtomicInteger factoryCount = new AtomicInteger();
+
+    private EntityFactories() {
+    }
+
+    /**
+     * @param constructor no-arg constructor or constructor taking the node or relationship
+     */
+    public static <T> EntityFactory<T> forConstructor(Constructor<T> constructor) {
+        final EntityFactory<T> generated = generate(constructor);
+        return generated != null ? generated : reflective(constructor);
+    }
+
+    /**
+     * @return reflection based factory for the constructor, e.g. for comparison
+     */
+    public static <T> EntityFactory<T> reflective(Constructor<T> constructor) {
+        return new ReflectiveFactory<T>(constructor);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> EntityFactory<T> generate(Constructor<T> constructor) {
+        final Class<T> owner = constructor.getDeclaringClass();
+        if (!EntityPropertyAccessors.isGenerationEnabled(owner) || !canGenerate(constructor, owner)) return null;
+        final String className = owner.getName() + FACTORY_SUFFIX + factoryCount.incrementAndGet();
+        try {
+            final Class<?> factoryClass = EntityPropertyAccessors.defineClass(owner, className, new FactoryGenerator(className, constructor).generate());
+            return (EntityFactory<T>) factoryClass.newInstance();
+        } catch (Throwable t) {
+            if (log.isDebugEnabled()) log.debug("Could not generate factory for " + constructor + ", using reflection", t);
+            return null;
+        }
+    }
+
+    private static boolean canGenerate(Constructor<?> constructor, Class<?> owner) {
+        if (Modifier.isAbstract(owner.getModifiers()) || (owner.isMemberClass() && !Modifier.isStatic(owner.getModifiers()))) return false;
+        if (Modifier.isPrivate(constructor.getModifiers()) || !EntityPropertyAccessors.isAccessible(owner, owner)) return false;
+        for (Class<?> type : constructor.getParameterTypes()) {
+            if (!EntityPropertyAccessors.isAccessible(type, owner)) return false;
+        }
+        return constructor.getParameterTypes().length <= 1;
+    }
+
+    private static class ReflectiveFactory<T> implements EntityFactory<T> {
+        private final Constructor<T> constructor;
+        private final boolean stateTaking;
+
+        private ReflectiveFactory(Constructor<T> constructor) {
+            this.constructor = constructor;
+            this.stateTaking = constructor.getParameterTypes().length > 0;
+            ReflectionUtils.makeAccessible(constructor);
+        }
+
+        public T newInstance(Object state) throws Exception {
+            try {
+                return stateTaking ? constructor.newInstance(state) : constructor.newInstance();
+            } catch (InvocationTargetException e) {
+                final Throwable target = e.getTargetException();
+                if (target instanceof Exception) throw (Exception) target;
+                throw e;
+            }
+        }
+    }
+
+    private static class FactoryGenerator implements Opcodes {
+        private final String className;
+        private final Constructor<?> constructor;
+
+        private FactoryGenerator(String className, Constructor<?> constructor) {
+            this.className = className.replace('.', '/');
+            this.constructor = constructor;
+        }
+
+        byte[] generate() {
+            final ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+            cw.visit(V1_5, ACC_PUBLIC + ACC_FINAL + ACC_SUPER, className, null, OBJECT_TYPE, new String[]{FACTORY_TYPE});
+            generateConstructor(cw);
+            generateNewInstance(cw);
+            cw.visitEnd();
+            return cw.toByteArray();
+        }
+
+        private void generateConstructor(ClassWriter cw) {
+            final MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "<init>", "()V", null, null);
+            mv.visitCode();
+            mv.visitVarInsn(ALOAD, 0);
+            mv.visitMethodInsn(INVOKESPECIAL, OBJECT_TYPE, "<init>", "()V");
+            mv.visitInsn(RETURN);
+            mv.visitMaxs(0, 0);
+            mv.visitEnd();
+        }
+
+        private void generateNewInstance(ClassWriter cw) {
+            final MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "newInstance", "(Ljava/lang/Object;)Ljava/lang/Object;", null, new String[]{Type.getInternalName(Exception.class)});
+            mv.visitCode();
+            final String owner = Type.getInternalName(constructor.getDeclaringClass());
+            mv.visitTypeInsn(NEW, owner);
+            mv.visitInsn(DUP);
+            for (Class<?> type : constructor.getParameterTypes()) {
+                mv.visitVarInsn(ALOAD, 1);
+                mv.visitTypeInsn(CHECKCAST, Type.getInternalName(type));
+            }
+            mv.visitMethodInsn(INVOKESPECIAL, owner, "<init>", Type.getConstructorDescriptor(constructor));
+            mv.visitInsn(ARETURN);
+            mv.visitMaxs(0, 0);
+            mv.visitEnd();
+        }
+    }
+}
@@ -0,0 +1,159 @@
+/**
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.neo4j.support.mapping;
+
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.NotFoundException;
+import org.neo4j.graphdb.PropertyContainer;
+import org.neo4j.graphdb.Relationship;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * First level cache of the entities created from nodes and relationships within a unit of work, so that repeated
+ * reads of the same state (e.g. {@code findOne} or relationship traversals) return the same instance without
+ * reading the graph again. There is one entry per node or relationship id, it is returned for every requested type
+ * the entity is an instance of. Only fully loaded instances are cached, they also serve shallow reads. Entries are evicted when their state is written or removed through the mapping layer,
+ * creating or removing a relationship also evicts both of its nodes as their relationship fields changed.
+ * <p>
+ * A unit of work is the current spring managed transaction, or, outside of transactions, the scope opened with
+ * {@link #begin()} and closed with {@link #end()} (e.g. per web request). Without either nothing is cached.
+ * Changes to the graph that bypass the mapping layer (like cypher updates) are not seen by cached instances.
+ *
+ * @author mh
+ * @since 17.10.26
+ */
+public class EntityIdentityCache {
+    private final ThreadLocal<Map<Key, Object>> requestScope = new ThreadLocal<Map<Key, Object>>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    private static class Key {
+        private final boolean node;
+        private final long id;
+
+        Key(boolean node, long id) {
+            this.node = node;
+            this.id = id;
+        }
+
+        Key(PropertyContainer state) {
+            this(state instanceof Node, state instanceof Node ? ((Node) state).getId() : ((Relationship) state).getId());
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            final Key key = (Key) o;
+            return node == key.node && id == key.id;
+        }
+
+        @Override
+        public int hashCode() {
+            final int result = (int) (id ^ (id >>> 32));
+            return 31 * result + (node ? 1 : 0);
+        }
+    }
+
+    /**
+     * Opens a unit of work for the current thread outside of transactions, has to be closed with {@link #end()}.
+     */
+    public void begin() {
+        requestScope.set(new HashMap<Key, Object>());
+    }
+
+    public void end() {
+        requestScope.remove();
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(PropertyContainer state, Class<T> type) {
+        if (!isSupported(state)) return null;
+        final Map<Key, Object> entities = entities(false);
+        if (entities == null) return null;
+        final Object entity = entities.get(new Key(state));
+        if (entity == null || !type.isInstance(entity)) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return (T) entity;
+    }
+
+    public void put(PropertyContainer state, Object entity) {
+        if (entity == null || !isSupported(state)) return;
+        final Map<Key, Object> entities = entities(true);
+        if (entities == null) return;
+        entities.put(new Key(state), entity);
+    }
+
+    /**
+     * Removes the instance created from the given node or relationship, for relationships also the instances of its nodes.
+     */
+    public void evict(PropertyContainer state) {
+        if (!isSupported(state)) return;
+        final Map<Key, Object> entities = entities(false);
+        if (entities == null || entities.isEmpty()) return;
+        entities.remove(new Key(state));
+        if (state instanceof Relationship) {
+            final Relationship relationship = (Relationship) state;
+            try {
+                entities.remove(new Key(relationship.getStartNode()));
+                entities.remove(new Key(relationship.getEndNode()));
+            } catch (NotFoundException nfe) {
+                // already deleted, its nodes are unknown
+                entities.clear();
+            }
+        }
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    private boolean isSupported(PropertyContainer state) {
+        return state instanceof Node || state instanceof Relationship;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Key, Object> entities(boolean create) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            Map<Key, Object> entities = (Map<Key, Object>) TransactionSynchronizationManager.getResource(this);
+            if (entities == null && create) {
+                entities = new HashMap<Key, Object>();
+                TransactionSynchronizationManager.bindResource(this, entities);
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        TransactionSynchronizationManager.unbindResourceIfPossible(EntityIdentityCache.this);
+                    }
+                });
+            }
+            return entities;
+        }
+        return requestScope.get();
+    }
+}
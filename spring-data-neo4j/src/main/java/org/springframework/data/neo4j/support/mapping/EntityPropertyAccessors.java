@@ -0,0 +1,375 @@
+/**
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.neo4j.support.mapping;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.asm.ClassWriter;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+import org.springframework.asm.Type;
+import org.springframework.data.mapping.model.MappingException;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.security.ProtectionDomain;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates the {@link EntityPropertyAccessor}s of persistent properties. Where the field, getter and setter are
+ * accessible from the package of the declaring class, a small accessor class is generated into the class loader of
+ * the entity that reads and writes them directly. Everything else (e.g. private or final fields) uses reflection, with
+ * the members made accessible only once.
+ * <p/>
+ * The accessors are cached per instance, which is held by the {@link Neo4jMappingContext}, so that the generated
+ * classes and the entity class loaders they reference are released together with the mapping context.
+ * <p/>
+ * Generation (also of the {@link EntityFactories}) can be switched off with the system property {@value #REFLECTIVE_ACCESSORS_PROPERTY}.
+ *
+ * @author mh
+ * @since 17.10.26
+ */
+public class EntityPropertyAccessors {
+    private final static Logger log = LoggerFactory.getLogger(EntityPropertyAccessors.class);
+
+    public static final String REFLECTIVE_ACCESSORS_PROPERTY = "spring.data.neo4j.reflectiveAccessors";
+
+    private static final String ACCESSOR_TYPE = Type.getInternalName(EntityPropertyAccessor.class);
+    private static final String OBJECT_TYPE = Type.getInternalName(Object.class);
+    private static final String ACCESSOR_SUFFIX = "$$Neo4jAccessor$";
+
+    private static final AtomicInteger accessorCount = new AtomicInteger();
+    private static final Method defineClass = findDefineClass();
+
+    private final ConcurrentMap<AccessorKey, EntityPropertyAccessor> accessors = new ConcurrentHashMap<AccessorKey, EntityPropertyAccessor>();
+
+    /**
+     * @return accessor that reads and writes the field directly
+     */
+    public EntityPropertyAccessor forField(Field field) {
+        return create(new AccessorKey(field, null, null));
+    }
+
+    /**
+     * @return accessor that uses the getter and setter if they exist and the field otherwise, like
+     *         {@link org.springframework.data.mapping.model.BeanWrapper}
+     */
+    public EntityPropertyAccessor forProperty(Field field, Method getter, Method setter) {
+        return create(new AccessorKey(field, getter, setter));
+    }
+
+    /**
+     * @return reflection based accessor for the field, e.g. for comparison
+     */
+    public static EntityPropertyAccessor reflective(Field field) {
+        return new ReflectiveAccessor(field, null, null);
+    }
+
+    private EntityPropertyAccessor create(AccessorKey key) {
+        EntityPropertyAccessor accessor = accessors.get(key);
+        if (accessor != null) return accessor;
+        final ReflectiveAccessor reflective = new ReflectiveAccessor(key.field, key.getter, key.setter);
+        accessor = generate(key, reflective);
+        if (accessor == null) accessor = reflective;
+        final EntityPropertyAccessor existing = accessors.putIfAbsent(key, accessor);
+        return existing != null ? existing : accessor;
+    }
+
+    private static EntityPropertyAccessor generate(AccessorKey key, ReflectiveAccessor reflective) {
+        final Class<?> owner = key.field.getDeclaringClass();
+        if (!isGenerationEnabled(owner) || !canGenerate(key, owner)) return null;
+        final String className = owner.getName() + ACCESSOR_SUFFIX + key.field.getName() + "$" + accessorCount.incrementAndGet();
+        try {
+            final Class<?> accessorClass = defineClass(owner, className, new AccessorGenerator(className, key).generate());
+            final EntityPropertyAccessor generated = (EntityPropertyAccessor) accessorClass.newInstance();
+            return new CheckedAccessor(generated, reflective, key.writeType());
+        } catch (Throwable t) {
+            if (log.isDebugEnabled()) log.debug("Could not generate accessor for " + key.field + ", using reflection", t);
+            return null;
+        }
+    }
+
+    /**
+     * @return true if classes can be generated into the class loader and package of the owner
+     */
+    static boolean isGenerationEnabled(Class<?> owner) {
+        if (defineClass == null || Boolean.getBoolean(REFLECTIVE_ACCESSORS_PROPERTY)) return false;
+        return owner.getClassLoader() != null && !owner.isAnonymousClass() && !owner.isLocalClass();
+    }
+
+    static Class<?> defineClass(Class<?> owner, String className, byte[] bytes) throws Exception {
+        return (Class<?>) defineClass.invoke(owner.getClassLoader(), className, bytes, 0, bytes.length, owner.getProtectionDomain());
+    }
+
+    private static boolean canGenerate(AccessorKey key, Class<?> owner) {
+        final String packageName = ClassUtils.getPackageName(owner);
+        if (key.getter == null || key.setter == null) {
+            final int modifiers = key.field.getModifiers();
+            if (Modifier.isPrivate(modifiers) || Modifier.isStatic(modifiers) || !isAccessible(owner, packageName, owner)) return false;
+            if (key.setter == null && Modifier.isFinal(modifiers)) return false;
+        }
+        return isAccessible(key.field.getType(), packageName, owner)
+                && isAccessible(key.getter, packageName, owner) && isAccessible(key.setter, packageName, owner);
+    }
+
+    private static boolean isAccessible(Method method, String packageName, Class<?> owner) {
+        if (method == null) return true;
+        final int modifiers = method.getModifiers();
+        if (Modifier.isPrivate(modifiers) || Modifier.isStatic(modifiers)) return false;
+        final Class<?> declaringClass = method.getDeclaringClass();
+        if (!Modifier.isPublic(modifiers) && !isSamePackage(declaringClass, packageName, owner)) return false;
+        for (Class<?> type : method.getParameterTypes()) {
+            if (!isAccessible(type, packageName, owner)) return false;
+        }
+        return isAccessible(declaringClass, packageName, owner) && isAccessible(method.getReturnType(), packageName, owner);
+    }
+
+    static boolean isAccessible(Class<?> type, Class<?> owner) {
+        return isAccessible(type, ClassUtils.getPackageName(owner), owner);
+    }
+
+    private static boolean isAccessible(Class<?> type, String packageName, Class<?> owner) {
+        while (type.isArray()) type = type.getComponentType();
+        if (type.isPrimitive()) return true;
+        for (Class<?> current = type; current != null; current = current.getDeclaringClass()) {
+            final int modifiers = current.getModifiers();
+            if (Modifier.isPrivate(modifiers)) return false;
+            if (!Modifier.isPublic(modifiers) && !isSamePackage(current, packageName, owner)) return false;
+        }
+        return true;
+    }
+
+    private static boolean isSamePackage(Class<?> type, String packageName, Class<?> owner) {
+        return type.getClassLoader() == owner.getClassLoader() && ClassUtils.getPackageName(type).equals(packageName);
+    }
+
+    private static Method findDefineClass() {
+        try {
+            final Method method = ClassLoader.class.getDeclaredMethod("defineClass", String.class, byte[].class, int.class, int.class, ProtectionDomain.class);
+            method.setAccessible(true);
+            return method;
+        } catch (Exception e) {
+            log.info("Cannot define generated property accessors and entity factories, falling back to reflection: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static class AccessorKey {
+        private final Field field;
+        private final Method getter;
+        private final Method setter;
+
+        private AccessorKey(Field field, Method getter, Method setter) {
+            this.field = field;
+            this.getter = getter;
+            this.setter = setter;
+        }
+
+        Class<?> writeType() {
+            return setter != null ? setter.getParameterTypes()[0] : field.getType();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof AccessorKey)) return false;
+            final AccessorKey other = (AccessorKey) o;
+            return field.equals(other.field) && equal(getter, other.getter) && equal(setter, other.setter);
+        }
+
+        private static boolean equal(Member first, Member second) {
+            return first == null ? second == null : first.equals(second);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = field.hashCode();
+            result = 31 * result + (getter != null ? getter.hashCode() : 0);
+            result = 31 * result + (setter != null ? setter.hashCode() : 0);
+            return result;
+        }
+    }
+
+    /**
+     * Uses reflection for values that the generated code can't handle (null for primitives or values of other types),
+     * so that they fail the same way as before.
+     */
+    private static class CheckedAccessor implements EntityPropertyAccessor {
+        private final EntityPropertyAccessor generated;
+        private final EntityPropertyAccessor reflective;
+        private final Class<?> writeType;
+
+        private CheckedAccessor(EntityPropertyAccessor generated, EntityPropertyAccessor reflective, Class<?> writeType) {
+            this.generated = generated;
+            this.reflective = reflective;
+            this.writeType = writeType;
+        }
+
+        public Object getValue(Object entity) {
+            return generated.getValue(entity);
+        }
+
+        public void setValue(Object entity, Object value) {
+            if (value == null ? writeType.isPrimitive() : !ClassUtils.isAssignableValue(writeType, value)) {
+                reflective.setValue(entity, value);
+                return;
+            }
+            generated.setValue(entity, value);
+        }
+    }
+
+    private static class ReflectiveAccessor implements EntityPropertyAccessor {
+        private final Field field;
+        private final Method getter;
+        private final Method setter;
+
+        private ReflectiveAccessor(Field field, Method getter, Method setter) {
+            this.field = field;
+            this.getter = getter;
+            this.setter = setter;
+            ReflectionUtils.makeAccessible(field);
+            if (getter != null) ReflectionUtils.makeAccessible(getter);
+            if (setter != null) ReflectionUtils.makeAccessible(setter);
+        }
+
+        public Object getValue(Object entity) {
+            if (getter != null) return ReflectionUtils.invokeMethod(getter, entity);
+            try {
+                return field.get(entity);
+            } catch (IllegalAccessException e) {
+                throw new MappingException("Could not access field " + field);
+            }
+        }
+
+        public void setValue(Object entity, Object value) {
+            if (setter != null) {
+                ReflectionUtils.invokeMethod(setter, entity, value);
+                return;
+            }
+            try {
+                field.set(entity, value);
+            } catch (IllegalAccessException e) {
+                throw new MappingException("Could not access field " + field + " for setting value " + value);
+            }
+        }
+    }
+
+    private static class AccessorGenerator implements Opcodes {
+        private final String className;
+        private final AccessorKey key;
+
+        private AccessorGenerator(String className, AccessorKey key) {
+            this.className = className.replace('.', '/');
+            this.key = key;
+        }
+
+        byte[] generate() {
+            final ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+            cw.visit(V1_5, ACC_PUBLIC + ACC_FINAL + ACC_SUPER, className, null, OBJECT_TYPE, new String[]{ACCESSOR_TYPE});
+            generateConstructor(cw);
+            generateGetValue(cw);
+            generateSetValue(cw);
+            cw.visitEnd();
+            return cw.toByteArray();
+        }
+
+        private void generateConstructor(ClassWriter cw) {
+            final MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "<init>", "()V", null, null);
+            mv.visitCode();
+            mv.visitVarInsn(ALOAD, 0);
+            mv.visitMethodInsn(INVOKESPECIAL, OBJECT_TYPE, "<init>", "()V");
+            mv.visitInsn(RETURN);
+            mv.visitMaxs(0, 0);
+            mv.visitEnd();
+        }
+
+        private void generateGetValue(ClassWriter cw) {
+            final MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "getValue", "(Ljava/lang/Object;)Ljava/lang/Object;", null, null);
+            mv.visitCode();
+            mv.visitVarInsn(ALOAD, 1);
+            final Class<?> type;
+            if (key.getter != null) {
+                type = key.getter.getReturnType();
+                invoke(mv, key.getter);
+            } else {
+                type = key.field.getType();
+                final String owner = Type.getInternalName(key.field.getDeclaringClass());
+                mv.visitTypeInsn(CHECKCAST, owner);
+                mv.visitFieldInsn(GETFIELD, owner, key.field.getName(), Type.getDescriptor(type));
+            }
+            box(mv, type);
+            mv.visitInsn(ARETURN);
+            mv.visitMaxs(0, 0);
+            mv.visitEnd();
+        }
+
+        private void generateSetValue(ClassWriter cw) {
+            final MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "setValue", "(Ljava/lang/Object;Ljava/lang/Object;)V", null, null);
+            mv.visitCode();
+            mv.visitVarInsn(ALOAD, 1);
+            if (key.setter != null) {
+                final String owner = Type.getInternalName(key.setter.getDeclaringClass());
+                mv.visitTypeInsn(CHECKCAST, owner);
+                mv.visitVarInsn(ALOAD, 2);
+                unbox(mv, key.setter.getParameterTypes()[0]);
+                mv.visitMethodInsn(invokeOpcode(key.setter), owner, key.setter.getName(), Type.getMethodDescriptor(key.setter));
+                final Class<?> returnType = key.setter.getReturnType();
+                if (returnType != void.class) mv.visitInsn(returnType == long.class || returnType == double.class ? POP2 : POP);
+            } else {
+                final String owner = Type.getInternalName(key.field.getDeclaringClass());
+                mv.visitTypeInsn(CHECKCAST, owner);
+                mv.visitVarInsn(ALOAD, 2);
+                unbox(mv, key.field.getType());
+                mv.visitFieldInsn(PUTFIELD, owner, key.field.getName(), Type.getDescriptor(key.field.getType()));
+            }
+            mv.visitInsn(RETURN);
+            mv.visitMaxs(0, 0);
+            mv.visitEnd();
+        }
+
+        private void invoke(MethodVisitor mv, Method method) {
+            final String owner = Type.getInternalName(method.getDeclaringClass());
+            mv.visitTypeInsn(CHECKCAST, owner);
+            mv.visitMethodInsn(invokeOpcode(method), owner, method.getName(), Type.getMethodDescriptor(method));
+        }
+
+        private int invokeOpcode(Method method) {
+            return method.getDeclaringClass().isInterface() ? INVOKEINTERFACE : INVOKEVIRTUAL;
+        }
+
+        private void box(MethodVisitor mv, Class<?> type) {
+            if (!type.isPrimitive()) return;
+            final Class<?> wrapper = ClassUtils.resolvePrimitiveIfNecessary(type);
+            mv.visitMethodInsn(INVOKESTATIC, Type.getInternalName(wrapper), "valueOf", "(" + Type.getDescriptor(type) + ")" + Type.getDescriptor(wrapper));
+        }
+
+        private void unbox(MethodVisitor mv, Class<?> type) {
+            if (!type.isPrimitive()) {
+                mv.visitTypeInsn(CHECKCAST, Type.getInternalName(type));
+                return;
+            }
+            final String wrapper = Type.getInternalName(ClassUtils.resolvePrimitiveIfNecessary(type));
+            mv.visitTypeInsn(CHECKCAST, wrapper);
+            mv.visitMethodInsn(INVOKEVIRTUAL, wrapper, type.getName() + "Value", "()" + Type.getDescriptor(type));
+        }
+    }
+}
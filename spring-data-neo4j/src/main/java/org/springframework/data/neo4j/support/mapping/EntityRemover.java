@@ -16,10 +16,15 @@
 package org.springframework.data.neo4j.support.mapping;
 
 import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.NotFoundException;
+import org.neo4j.graphdb.PropertyContainer;
 import org.neo4j.graphdb.Relationship;
 import org.springframework.data.neo4j.core.GraphDatabase;
 import org.springframework.data.neo4j.core.TypeRepresentationStrategy;
 import org.springframework.data.neo4j.mapping.RelationshipResult;
+import org.springframework.data.neo4j.support.index.EntityIndexNames;
+
+import java.util.Collection;
 
 /**
 * @author mh
@@ -31,6 +36,8 @@ public class EntityRemover {
     private TypeRepresentationStrategy<Node> nodeTypeRepresentationStrategy;
     private TypeRepresentationStrategy<Relationship> relationshipTypeRepresentationStrategy;
     private final GraphDatabase graphDatabase;
+    private EntityIndexNames entityIndexNames;
+    private EntityIdentityCache entityIdentityCache;
 
     public EntityRemover(EntityStateHandler entityStateHandler, TypeRepresentationStrategy<Node> nodeTypeRepresentationStrategy, TypeRepresentationStrategy<Relationship> relationshipTypeRepresentationStrategy, GraphDatabase graphDatabase) {
         this.entityStateHandler = entityStateHandler;
@@ -39,6 +46,21 @@ public class EntityRemover {
         this.graphDatabase = graphDatabase;
     }
 
+    /**
+     * If set, deleted nodes and relationships of mapped entities are only removed from the indexes the mapping
+     * uses for their persisted type, all others (and unmapped ones) are removed from every index.
+     */
+    public void setEntityIndexNames(EntityIndexNames entityIndexNames) {
+        this.entityIndexNames = entityIndexNames;
+    }
+
+    /**
+     * If set, the cached entities of removed nodes and relationships are evicted.
+     */
+    public void setEntityIdentityCache(EntityIdentityCache entityIdentityCache) {
+        this.entityIdentityCache = entityIdentityCache;
+    }
+
     public void removeNodeEntity(Object entity) {
         Node node = entityStateHandler.getPersistentState(entity, Node.class);
         if (node == null) return;
@@ -46,11 +68,20 @@ public class EntityRemover {
     }
 
     private void removeNode(Node node) {
+        removeNode(node, indexNamesFor(node, nodeTypeRepresentationStrategy));
+    }
+
+    private void removeNode(Node node, Collection<String> indexNames) {
         nodeTypeRepresentationStrategy.preEntityRemoval(node);
         for (Relationship relationship : node.getRelationships()) {
             removeRelationship(relationship);
         }
-        graphDatabase.remove(node);
+        evict(node);
+        if (indexNames == null) {
+            graphDatabase.remove(node);
+        } else {
+            graphDatabase.remove(node, indexNames);
+        }
     }
 
     public void removeRelationshipEntity(Object entity) {
@@ -60,17 +91,44 @@ public class EntityRemover {
     }
 
     private void removeRelationship(Relationship relationship) {
+        removeRelationship(relationship, indexNamesFor(relationship, relationshipTypeRepresentationStrategy));
+    }
+
+    private void removeRelationship(Relationship relationship, Collection<String> indexNames) {
         relationshipTypeRepresentationStrategy.preEntityRemoval(relationship);
-        graphDatabase.remove(relationship);
+        evict(relationship);
+        if (indexNames == null) {
+            graphDatabase.remove(relationship);
+        } else {
+            graphDatabase.remove(relationship, indexNames);
+        }
+    }
+
+    // resolved from the persisted type, the entity instance may be a projection or a supertype of it,
+    // has to be called before the type representation of the state is removed
+    private <S extends PropertyContainer> Collection<String> indexNamesFor(S state, TypeRepresentationStrategy<S> typeRepresentationStrategy) {
+        if (entityIndexNames == null) return null;
+        try {
+            return entityIndexNames.indexNamesForAlias(typeRepresentationStrategy.readAliasFrom(state));
+        } catch (NotFoundException nfe) {
+            return null;
+        } catch (IllegalArgumentException iae) {
+            return null;
+        }
     }
 
     public void removeRelationshipBetween(Object start, Object target, String type) {
         final RelationshipResult result = entityStateHandler.removeRelationshipTo(start, target, type);
         if (result!=null && result.type == RelationshipResult.Type.DELETED) {
             relationshipTypeRepresentationStrategy.preEntityRemoval(result.relationship);
+            evict(result.relationship);
         }
     }
 
+    private void evict(PropertyContainer state) {
+        if (entityIdentityCache != null) entityIdentityCache.evict(state);
+    }
+
     public void remove(Object entity) {
         if (entity instanceof Node) {
             removeNode((Node)entity);
@@ -0,0 +1,304 @@
+/**
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.neo4j.support.mapping;
+
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.PropertyContainer;
+import org.neo4j.graphdb.Relationship;
+import org.springframework.data.neo4j.core.EntityState;
+import org.springframework.data.neo4j.mapping.Neo4jPersistentProperty;
+import org.springframework.data.neo4j.mapping.RelationshipInfo;
+import org.springframework.data.neo4j.support.DoReturn;
+import org.springframework.util.ObjectUtils;
+
+import javax.transaction.RollbackException;
+import javax.transaction.Status;
+import javax.transaction.Synchronization;
+import javax.transaction.SystemException;
+import javax.transaction.Transaction;
+import javax.transaction.TransactionManager;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Array;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Remembers the property values of detached entities as they were last read from or written to the graph,
+ * so that {@link SourceStateTransmitter#copyPropertiesTo} only has to write properties and relationship
+ * sets that actually changed.
+ * <p>
+ * Only immutable simple values (strings, numbers, booleans, characters, enums and primitive arrays) and the
+ * target ids of non-readonly, non-lazy {@code @RelatedTo} fields are tracked, everything else is always written.
+ * Snapshots are bound to the identity of the entity instance and to the id of its node or relationship, they are
+ * released together with the entity. Snapshots taken within a graph database transaction are discarded again if that
+ * transaction does not commit, regardless of whether it was started natively or by spring.
+ * <p>
+ * Snapshots are only trusted within the transaction that took them. For snapshots of earlier transactions the graph
+ * may have been changed since (by other instances, cypher or the core API), so a property is only skipped if its
+ * current value in the graph still equals the value of the entity, relationship sets are always written.
+ *
+ * @author mh
+ * @since 17.10.26
+ */
+public class EntitySnapshots {
+    private final ConcurrentMap<EntityKey, Snapshot> snapshots = new ConcurrentHashMap<EntityKey, Snapshot>();
+    private final ReferenceQueue<Object> collectedEntities = new ReferenceQueue<Object>();
+    private final ConcurrentMap<Transaction, Map<EntityKey, Snapshot>> storedInTransaction = new ConcurrentHashMap<Transaction, Map<EntityKey, Snapshot>>();
+    private final Neo4jMappingContext mappingContext;
+    private final TransactionManager transactionManager;
+
+    private final AtomicLong skippedWrites = new AtomicLong();
+    private final AtomicLong performedWrites = new AtomicLong();
+
+    /**
+     * @param transactionManager the transaction manager of the graph database, used to discard snapshots of transactions
+     * that roll back, may be null if there are no transactions to roll back
+     */
+    public EntitySnapshots(Neo4jMappingContext mappingContext, TransactionManager transactionManager) {
+        this.mappingContext = mappingContext;
+        this.transactionManager = transactionManager;
+    }
+
+    private static class Snapshot {
+        private final long stateId;
+        private final Map<String, Object> values = new HashMap<String, Object>();
+        // the transaction that took the snapshot while it is running
+        private volatile Transaction transaction;
+
+        Snapshot(long stateId) {
+            this.stateId = stateId;
+        }
+    }
+
+    /**
+     * compares entities by identity, entities with equals and hashCode based on their id must not share snapshots
+     */
+    private static class EntityKey extends WeakReference<Object> {
+        private final int hash;
+
+        EntityKey(Object entity, ReferenceQueue<Object> queue) {
+            super(entity, queue);
+            this.hash = System.identityHashCode(entity);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this) return true;
+            if (!(obj instanceof EntityKey)) return false;
+            final Object entity = get();
+            return entity != null && entity == ((EntityKey) obj).get();
+        }
+    }
+
+    /**
+     * @return a new, empty snapshot for the given state, filled with {@link #record} and activated with {@link #store}
+     */
+    public Object start(PropertyContainer state) {
+        return new Snapshot(idOf(state));
+    }
+
+    public void record(Object snapshot, Neo4jPersistentProperty property, Object value) {
+        if (!isTracked(property)) return;
+        final Object comparable = comparableValue(property, value);
+        if (comparable == UNTRACKED) return;
+        ((Snapshot) snapshot).values.put(property.getName(), comparable);
+    }
+
+    public void store(Object entity, Object snapshot) {
+        expungeCollectedEntities();
+        final EntityKey key = new EntityKey(entity, collectedEntities);
+        snapshots.put(key, (Snapshot) snapshot);
+        discardOnRollback(key, (Snapshot) snapshot);
+    }
+
+    public void remove(Object entity) {
+        snapshots.remove(new EntityKey(entity, null));
+    }
+
+    private void expungeCollectedEntities() {
+        Reference<?> collected;
+        while ((collected = collectedEntities.poll()) != null) {
+            snapshots.remove(collected);
+        }
+    }
+
+    /**
+     * @return true if the value of the property on the entity is known to be equal to the value stored in the graph
+     */
+    public boolean isUnchanged(Object entity, EntityState<? extends PropertyContainer> entityState, Neo4jPersistentProperty property, Object value) {
+        final boolean unchanged = matchesSnapshot(entity, entityState, property, value);
+        if (unchanged) {
+            skippedWrites.incrementAndGet();
+        } else {
+            performedWrites.incrementAndGet();
+        }
+        return unchanged;
+    }
+
+    private boolean matchesSnapshot(Object entity, EntityState<? extends PropertyContainer> entityState, Neo4jPersistentProperty property, Object value) {
+        if (!isTracked(property)) return false;
+        final Snapshot snapshot = snapshots.get(new EntityKey(entity, null));
+        if (snapshot == null || snapshot.stateId != idOf(entityState.getPersistentState())) return false;
+        if (!snapshot.values.containsKey(property.getName())) return false;
+        final Object comparable = comparableValue(property, value);
+        if (comparable == UNTRACKED) return false;
+        if (!ObjectUtils.nullSafeEquals(snapshot.values.get(property.getName()), comparable)) return false;
+        final Transaction transaction = snapshot.transaction;
+        if (transaction != null && transaction.equals(currentTransaction())) return true;
+        // taken in an earlier transaction, skip only if the graph still holds the same value
+        if (property.isRelationship()) return false;
+        final Object current = DoReturn.unwrap(entityState.getValue(property, property.getMappingPolicy()));
+        return ObjectUtils.nullSafeEquals(comparableValue(property, current), comparable);
+    }
+
+    private void discardOnRollback(EntityKey key, Snapshot snapshot) {
+        final Transaction tx = currentTransaction();
+        if (tx == null) return;
+        Map<EntityKey, Snapshot> stored = storedInTransaction.get(tx);
+        if (stored == null) {
+            if (!registerDiscardOnRollback(tx)) {
+                snapshots.remove(key, snapshot);
+                return;
+            }
+            // only used by the thread the transaction is bound to
+            stored = new HashMap<EntityKey, Snapshot>();
+            storedInTransaction.put(tx, stored);
+        }
+        stored.put(key, snapshot);
+        snapshot.transaction = tx;
+    }
+
+    private boolean registerDiscardOnRollback(final Transaction tx) {
+        try {
+            tx.registerSynchronization(new Synchronization() {
+                @Override
+                public void beforeCompletion() {
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    final Map<EntityKey, Snapshot> stored = storedInTransaction.remove(tx);
+                    if (stored == null) return;
+                    for (Map.Entry<EntityKey, Snapshot> entry : stored.entrySet()) {
+                        if (status == Status.STATUS_COMMITTED) {
+                            entry.getValue().transaction = null;
+                        } else {
+                            snapshots.remove(entry.getKey(), entry.getValue());
+                        }
+                    }
+                }
+            });
+            return true;
+        } catch (RollbackException e) {
+            return false;
+        } catch (IllegalStateException e) {
+            return false;
+        } catch (SystemException e) {
+            return false;
+        }
+    }
+
+    private Transaction currentTransaction() {
+        if (transactionManager == null) return null;
+        try {
+            return transactionManager.getTransaction();
+        } catch (SystemException e) {
+            return null;
+        }
+    }
+
+    public long getSkippedWrites() {
+        return skippedWrites.get();
+    }
+
+    public long getPerformedWrites() {
+        return performedWrites.get();
+    }
+
+    public void resetStatistics() {
+        skippedWrites.set(0);
+        performedWrites.set(0);
+    }
+
+    private boolean isTracked(Neo4jPersistentProperty property) {
+        if (property.isIdProperty() || property.isStartNode() || property.isEndNode() || property.isRelationshipType()) return false;
+        if (!property.isRelationship()) return true;
+        final RelationshipInfo info = property.getRelationshipInfo();
+        return info.isRelatedTo() && !info.isReadonly() && !info.isLazy();
+    }
+
+    private static final Object UNTRACKED = new Object();
+
+    private Object comparableValue(Neo4jPersistentProperty property, Object value) {
+        if (value == null) return null;
+        if (property.isRelationship()) return targetIds(value);
+        if (isImmutable(value)) return value;
+        if (value.getClass().isArray() && value.getClass().getComponentType().isPrimitive()) {
+            final int length = Array.getLength(value);
+            final Object copy = Array.newInstance(value.getClass().getComponentType(), length);
+            System.arraycopy(value, 0, copy, 0, length);
+            return copy;
+        }
+        return UNTRACKED;
+    }
+
+    private Object targetIds(Object value) {
+        if (value instanceof Collection) {
+            final Set<Object> ids = new HashSet<Object>();
+            for (Object element : (Collection<?>) value) {
+                final Object id = targetId(element);
+                if (id == null) return UNTRACKED;
+                ids.add(id);
+            }
+            return ids;
+        }
+        final Object id = targetId(value);
+        return id == null ? UNTRACKED : id;
+    }
+
+    private Object targetId(Object target) {
+        if (target instanceof PropertyContainer) return idOf((PropertyContainer) target);
+        if (target == null || !mappingContext.isNodeEntity(target.getClass())) return null;
+        return mappingContext.getPersistentEntity(target.getClass()).getPersistentId(target);
+    }
+
+    private static boolean isImmutable(Object value) {
+        return value instanceof String || value instanceof Boolean || value instanceof Character || value instanceof Enum
+                || value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte
+                || value instanceof Double || value instanceof Float || value instanceof BigDecimal || value instanceof BigInteger;
+    }
+
+    private static long idOf(PropertyContainer state) {
+        if (state instanceof Node) return ((Node) state).getId();
+        if (state instanceof Relationship) return ((Relationship) state).getId();
+        return -1;
+    }
+}
@@ -34,12 +34,18 @@ public class EntityTools<S extends PropertyContainer> {
     private EntityInstantiator<S> entityInstantiator;
     private SourceStateTransmitter<S> sourceStateTransmitter;
     private TypeMapper<S> typeMapper;
+    private EntitySnapshots entitySnapshots;
 
     public EntityTools(TypeRepresentationStrategy<S> typeRepresentationStrategy, EntityStateFactory<S> entityStateFactory, EntityInstantiator<S> entityInstantiator, Neo4jMappingContext ctx) {
+        this(typeRepresentationStrategy, entityStateFactory, entityInstantiator, ctx, null);
+    }
+
+    public EntityTools(TypeRepresentationStrategy<S> typeRepresentationStrategy, EntityStateFactory<S> entityStateFactory, EntityInstantiator<S> entityInstantiator, Neo4jMappingContext ctx, EntitySnapshots entitySnapshots) {
         this.typeRepresentationStrategy = typeRepresentationStrategy;
         this.entityStateFactory = entityStateFactory;
         this.entityInstantiator = entityInstantiator;
-        this.sourceStateTransmitter = new SourceStateTransmitter<S>(entityStateFactory);
+        this.entitySnapshots = entitySnapshots;
+        this.sourceStateTransmitter = new SourceStateTransmitter<S>(entityStateFactory, entitySnapshots);
         this.typeMapper = new DefaultTypeMapper<S>(new TRSTypeAliasAccessor<S>(typeRepresentationStrategy), asList(new HierarchicalTypeInformationMapper(ctx))); // new ClassValueTypeInformationMapper()
     }
 
@@ -62,4 +68,8 @@ public class EntityTools<S extends PropertyContainer> {
     public TypeMapper<S> getTypeMapper() {
         return typeMapper;
     }
+
+    public EntitySnapshots getEntitySnapshots() {
+        return entitySnapshots;
+    }
 }
@@ -0,0 +1,83 @@
+/**
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.neo4j.support.mapping;
+
+import org.springframework.data.neo4j.mapping.Neo4jPersistentEntity;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock free cache of the persistent entities resolved for stored type aliases (alias strings, class names, classes or
+ * {@link StoredEntityType}s). Only successful resolutions are cached, as entities are added to the mapping context lazily.
+ *
+ * @author mh
+ * @since 17.10.26
+ */
+public class EntityTypeCache {
+    private final ConcurrentMap<Object, Neo4jPersistentEntity<?>> entities = new ConcurrentHashMap<Object, Neo4jPersistentEntity<?>>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public Neo4jPersistentEntity<?> get(Object alias) {
+        if (alias == null) return null;
+        final Neo4jPersistentEntity<?> entity = entities.get(alias);
+        if (entity == null) {
+            misses.incrementAndGet();
+        } else {
+            hits.incrementAndGet();
+        }
+        return entity;
+    }
+
+    public void put(Object alias, Neo4jPersistentEntity<?> entity) {
+        if (alias == null || entity == null) return;
+        entities.putIfAbsent(alias, entity);
+    }
+
+    public StoredEntityType getStoredEntityType(Object alias) {
+        final Neo4jPersistentEntity<?> entity = get(alias);
+        return entity == null ? null : entity.getEntityType();
+    }
+
+    public int size() {
+        return entities.size();
+    }
+
+    public void clear() {
+        entities.clear();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public void resetStatistics() {
+        hits.set(0);
+        misses.set(0);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("EntityTypeCache{size=%d, hits=%d, misses=%d}", size(), getHits(), getMisses());
+    }
+}
@@ -32,7 +32,6 @@ import org.springframework.data.annotation.Transient;
 import org.springframework.data.mapping.Association;
 import org.springframework.data.mapping.PersistentEntity;
 import org.springframework.data.mapping.model.AnnotationBasedPersistentProperty;
-import org.springframework.data.mapping.model.MappingException;
 import org.springframework.data.mapping.model.SimpleTypeHolder;
 import org.springframework.data.neo4j.annotation.EndNode;
 import org.springframework.data.neo4j.annotation.Fetch;
@@ -54,6 +53,7 @@ import org.springframework.data.neo4j.mapping.Neo4jPersistentProperty;
 import org.springframework.data.neo4j.mapping.RelationshipInfo;
 import org.springframework.data.neo4j.support.DoReturn;
 import org.springframework.data.util.TypeInformation;
+import org.springframework.util.ClassUtils;
 
 /**
  * Implementation of {@link org.springframework.data.neo4j.mapping.Neo4jPersistentProperty}.
@@ -77,6 +77,9 @@ class Neo4jPersistentPropertyImpl extends AnnotationBasedPersistentProperty<Neo4
     private final Boolean isAssociation;
     private final String neo4jPropertyName;
     private final int hash;
+    private final EntityPropertyAccessor fieldAccessor;
+    private final EntityPropertyAccessor beanAccessor;
+    private int slot = -1;
 
     public Neo4jPersistentPropertyImpl(Field field, PropertyDescriptor propertyDescriptor,
                                        PersistentEntity<?, Neo4jPersistentProperty> owner, SimpleTypeHolder simpleTypeHolder, Neo4jMappingContext ctx) {
@@ -93,6 +96,9 @@ class Neo4jPersistentPropertyImpl extends AnnotationBasedPersistentProperty<Neo4
         this.defaultValue = extractDefaultValue();
         this.myAssociation = isAssociation() ? super.getAssociation() == null ? createAssociation() : super.getAssociation() : null;
         this.query = extractQuery();
+        final EntityPropertyAccessors accessors = ctx.getPropertyAccessors();
+        this.fieldAccessor = accessors.forField(field);
+        this.beanAccessor = getGetter() == null && getSetter() == null ? fieldAccessor : accessors.forProperty(field, getGetter(), getSetter());
     }
 
     private String extractQuery() {
@@ -155,12 +161,25 @@ class Neo4jPersistentPropertyImpl extends AnnotationBasedPersistentProperty<Neo4
 
     @Override
     public void setValue(Object entity, Object newValue) {
-        try {
-            if (!field.isAccessible()) field.setAccessible(true);
-            field.set(entity, newValue);
-        } catch (IllegalAccessException e) {
-            throw new MappingException("Could not access field "+field+" for setting value "+newValue+" on "+this);
-        }
+        fieldAccessor.setValue(entity, newValue);
+    }
+
+    /**
+     * Reads the value like {@link org.springframework.data.mapping.model.BeanWrapper}, using the getter if there is one.
+     */
+    Object getBeanValue(Object entity) {
+        return beanAccessor.getValue(entity);
+    }
+
+    /**
+     * Writes the value like {@link org.springframework.data.mapping.model.BeanWrapper}, using the setter if there is one.
+     * @return false if the value has to be converted first
+     */
+    boolean setBeanValue(Object entity, Object newValue) {
+        final Class<?> writeType = getSetter() != null ? getSetter().getParameterTypes()[0] : getField().getType();
+        if (newValue != null && !ClassUtils.isAssignableValue(writeType, newValue)) return false;
+        beanAccessor.setValue(entity, newValue);
+        return true;
     }
 
     private static boolean hasAnnotation(TypeInformation<?> typeInformation, final Class<NodeEntity> annotationClass) {
@@ -232,6 +251,15 @@ class Neo4jPersistentPropertyImpl extends AnnotationBasedPersistentProperty<Neo4
             || (fieldType.getName().startsWith("java.lang") && Number.class.isAssignableFrom(fieldType));
     }
 
+    @Override
+    public int getSlot() {
+        return slot;
+    }
+
+    void assignSlot(int slot) {
+        if (this.slot == -1) this.slot = slot;
+    }
+
     public boolean isIndexedNumerically() {
         if (!isIndexed() || !getIndexInfo().isNumeric()) return false;
         return isNumeric(getType()) || isNumeric(getPropertyType()) || 
@@ -278,13 +306,7 @@ class Neo4jPersistentPropertyImpl extends AnnotationBasedPersistentProperty<Neo4
 
     @Override
     public Object getValueFromEntity(Object entity, final MappingPolicy mappingPolicy) {
-        try {
-            final Field field = getField();
-            if (!field.isAccessible()) field.setAccessible(true);
-            return field.get(entity);
-        } catch (IllegalAccessException e) {
-            throw new MappingException("Could not access field "+field);
-        }
+        return fieldAccessor.getValue(entity);
     }
 
     @SuppressWarnings("unchecked")
@@ -40,6 +40,7 @@ public class Neo4jEntityConverterImpl<T,S extends PropertyContainer> implements
     private final Neo4jMappingContext mappingContext;
     private final ConversionService conversionService;
     private final EntityInstantiator<S> entityInstantiator;
+    private final EntityInstantiator<S> cycleTrackingInstantiator;
     private final EntityStateHandler entityStateHandler;
     private final TypeMapper<S> typeMapper;
     private final SourceStateTransmitter<S> sourceStateTransmitter;
@@ -52,7 +53,8 @@ public class Neo4jEntityConverterImpl<T,S extends PropertyContainer> implements
         this.conversionService = conversionService;
         this.entityStateHandler = entityStateHandler;
         this.entityFetchHandler = entityFetchHandler;
-        this.entityInstantiator = new Neo4jEntityPersister.CachedInstantiator<S>(entityTools.getEntityInstantiator());
+        this.entityInstantiator = entityTools.getEntityInstantiator();
+        this.cycleTrackingInstantiator = new Neo4jEntityPersister.CachedInstantiator<S>(entityInstantiator);
         this.typeMapper = entityTools.getTypeMapper();
         this.sourceStateTransmitter = entityTools.getSourceStateTransmitter();
     }
@@ -82,8 +84,9 @@ public class Neo4jEntityConverterImpl<T,S extends PropertyContainer> implements
             mappingPolicy = persistentEntity.getMappingPolicy();
         }
 
-        // 4) create object instance
-        final R createdEntity = entityInstantiator.createEntityFromState(source, targetType.getType(), mappingPolicy);
+        // 4) create object instance, only entities that load other entities can be part of a cycle
+        final boolean cyclesPossible = !persistentEntity.isManaged() && mappingPolicy.shouldLoad() && persistentEntity.hasEntityReferences();
+        final R createdEntity = (cyclesPossible ? cycleTrackingInstantiator : entityInstantiator).createEntityFromState(source, targetType.getType(), mappingPolicy);
 
         // 5) connect state
         entityStateHandler.setPersistentState(createdEntity,source);
@@ -124,11 +127,7 @@ public class Neo4jEntityConverterImpl<T,S extends PropertyContainer> implements
     }
 
     private <R> Object getProperty(BeanWrapper<Neo4jPersistentEntity<R>, R> wrapper, Neo4jPersistentProperty property) {
-        try {
-            return wrapper.getProperty(property);
-        } catch (Exception e) {
-            throw new MappingException("Error retrieving property " + property.getName() + " from " + wrapper.getBean(), e);
-        }
+        return sourceStateTransmitter.getProperty(wrapper, property);
     }
 
     @Override
@@ -24,7 +24,9 @@ import org.springframework.data.mapping.context.MappingContext;
 import org.springframework.data.neo4j.mapping.*;
 import org.springframework.data.neo4j.support.Neo4jTemplate;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -36,10 +38,13 @@ public class Neo4jEntityPersister implements EntityPersister, Neo4jEntityConvert
     Neo4jEntityConverter<Object,Relationship> relationshipConverter;
     private EntityStateHandler entityStateHandler;
     private final Neo4jMappingContext mappingContext;
+    private final EntitySnapshots entitySnapshots;
+    private EntityIdentityCache entityIdentityCache;
 
     public Neo4jEntityPersister(ConversionService conversionService, EntityTools<Node> nodeEntityTools, EntityTools<Relationship> relationshipEntityTools, Neo4jMappingContext mappingContext, EntityStateHandler entityStateHandler) {
         this.mappingContext = mappingContext;
         this.entityStateHandler = entityStateHandler;
+        this.entitySnapshots = nodeEntityTools.getEntitySnapshots();
 
         Neo4jEntityFetchHandler fetchHandler=new Neo4jEntityFetchHandler(entityStateHandler, conversionService, nodeEntityTools.getSourceStateTransmitter(), relationshipEntityTools.getSourceStateTransmitter());
 
@@ -185,13 +190,42 @@ public class Neo4jEntityPersister implements EntityPersister, Neo4jEntityConvert
         if (state == null) {
             throw new IllegalArgumentException("state has to be either a Node or Relationship, but is null");
         }
+        if (entityIdentityCache != null) {
+            final T cached = entityIdentityCache.get(state, type);
+            if (cached != null) return cached;
+        }
+        final T entity;
         if (isNode(state)) {
-            return nodeConverter.read(type, (Node) state,mappingPolicy, template);
+            entity = nodeConverter.read(type, (Node) state,mappingPolicy, template);
+        } else if (isRelationship(state)) {
+            entity = relationshipConverter.read(type, (Relationship) state,mappingPolicy, template);
+        } else {
+            throw new IllegalArgumentException("state has to be either a Node or Relationship");
         }
-        if (isRelationship(state)) {
-            return relationshipConverter.read(type, (Relationship) state,mappingPolicy, template);
+        // shallow reads (e.g. of non @Fetch relationships) don't copy the properties, so only loaded instances are shared
+        if (entityIdentityCache != null && mappingPolicy != null && mappingPolicy.shouldLoad()) entityIdentityCache.put(state, entity);
+        return entity;
+    }
+
+    /**
+     * Creates the entities for all states within one conversion, so that entities reachable from several of the
+     * states (e.g. via {@link org.springframework.data.neo4j.annotation.Fetch}) are only created once.
+     */
+    public <S extends PropertyContainer, T> List<T> createEntitiesFromStates(Iterable<S> states, Class<T> type, MappingPolicy mappingPolicy, final Neo4jTemplate template) {
+        final List<T> entities = new ArrayList<T>();
+        try {
+            StackedEntityCache.push();
+            for (S state : states) {
+                entities.add(this.<S, T>createEntityFromState(state, type, mappingPolicy, template));
+            }
+        } finally {
+            StackedEntityCache.pop();
         }
-        throw new IllegalArgumentException("state has to be either a Node or Relationship");
+        return entities;
+    }
+
+    private void evict(PropertyContainer state) {
+        if (entityIdentityCache != null && state != null) entityIdentityCache.evict(state);
     }
 
     private boolean isRelationship(PropertyContainer state) {
@@ -241,12 +275,14 @@ public class Neo4jEntityPersister implements EntityPersister, Neo4jEntityConvert
         if (isNodeEntity(type)) {
             final Node node = this.<Node>getPersistentState(entity);
             this.nodeConverter.write(entity, node,mappingPolicy, template, null );
+            evict(getPersistentState(entity));
             return createEntityFromState(getPersistentState(entity),type, getMappingPolicy(type), template);
             //return entity; // TODO ?
         }
         if (isRelationshipEntity(type)) {
             final Relationship relationship = this.<Relationship>getPersistentState(entity);
             this.relationshipConverter.write(entity, relationship,mappingPolicy, template, annotationProvidedRelationshipType );
+            evict(getPersistentState(entity));
             return createEntityFromState(getPersistentState(entity),type, getMappingPolicy(type), template);
 //            return entity; // TODO ?
         }
@@ -257,6 +293,27 @@ public class Neo4jEntityPersister implements EntityPersister, Neo4jEntityConvert
         return mappingContext.isNodeEntity(targetType);
     }
 
+    /**
+     * @return the snapshots used for dirty tracking of detached entities or null if dirty tracking is disabled
+     */
+    public EntitySnapshots getEntitySnapshots() {
+        return entitySnapshots;
+    }
+
+    /**
+     * @param entityIdentityCache if set, entities read within a unit of work are reused for the same state
+     */
+    public void setEntityIdentityCache(EntityIdentityCache entityIdentityCache) {
+        this.entityIdentityCache = entityIdentityCache;
+    }
+
+    /**
+     * @return the cache of entities read within the current unit of work or null if not enabled
+     */
+    public EntityIdentityCache getEntityIdentityCache() {
+        return entityIdentityCache;
+    }
+
     @Override
     public MappingPolicy getMappingPolicy(Class<?> targetType) {
         return getPersistentEntity(targetType).getMappingPolicy();
@@ -302,6 +359,7 @@ public class Neo4jEntityPersister implements EntityPersister, Neo4jEntityConvert
     public void write( Object source, Node sink, MappingPolicy mappingPolicy, final Neo4jTemplate template,
                        RelationshipType annotationProvidedRelationshipType ) {
         nodeConverter.write(source,sink,mappingPolicy, template, annotationProvidedRelationshipType );
+        evict(sink);
     }
 }
 
@@ -43,6 +43,8 @@ import java.util.*;
 public class Neo4jMappingContext extends AbstractMappingContext<Neo4jPersistentEntityImpl<?>, Neo4jPersistentProperty> {
 
     private final Map<Annotation, Boolean> referenceAnnotations = new IdentityHashMap<Annotation, java.lang.Boolean>();
+    private final EntityTypeCache entityTypeCache = new EntityTypeCache();
+    private final EntityPropertyAccessors propertyAccessors = new EntityPropertyAccessors();
     
     protected <T> Neo4jPersistentEntityImpl<?> createPersistentEntity(TypeInformation<T> typeInformation) {
         final Class<T> type = typeInformation.getType();
@@ -88,14 +90,35 @@ public class Neo4jMappingContext extends AbstractMappingContext<Neo4jPersistentE
         return type.isAnnotationPresent(NodeEntity.class);
     }
 
-    // todo performance, change to direct lookups if too slow
     public Neo4jPersistentEntity<?> getPersistentEntity(Object alias) {
+        final Neo4jPersistentEntity<?> cached = entityTypeCache.get(alias);
+        if (cached != null) return cached;
+        final Neo4jPersistentEntity<?> entity = resolvePersistentEntity(alias);
+        entityTypeCache.put(alias, entity);
+        return entity;
+    }
+
+    private Neo4jPersistentEntity<?> resolvePersistentEntity(Object alias) {
         for (Neo4jPersistentEntityImpl<?> entity : getPersistentEntities()) {
             if (entity.matchesAlias(alias)) return entity;
         }
         return tryToResolveAliasAsEntityClassName(alias);
     }
 
+    /**
+     * @return the cache of persistent entities resolved for stored type aliases, shared by all readers of type information
+     */
+    public EntityTypeCache getEntityTypeCache() {
+        return entityTypeCache;
+    }
+
+    /**
+     * @return the accessors of the persistent properties, shared per field within this mapping context
+     */
+    public EntityPropertyAccessors getPropertyAccessors() {
+        return propertyAccessors;
+    }
+
     private Neo4jPersistentEntity<?> tryToResolveAliasAsEntityClassName(Object alias) {
         if (alias instanceof Class) {
             try {
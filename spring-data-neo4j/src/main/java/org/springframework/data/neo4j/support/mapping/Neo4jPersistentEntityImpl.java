@@ -24,9 +24,11 @@ import org.neo4j.graphdb.Node;
 import org.neo4j.graphdb.PropertyContainer;
 import org.neo4j.graphdb.Relationship;
 import org.springframework.data.mapping.Association;
+import org.springframework.data.mapping.AssociationHandler;
 import org.springframework.data.mapping.PropertyHandler;
 import org.springframework.data.mapping.model.BasicPersistentEntity;
 import org.springframework.data.mapping.model.MappingException;
+import org.springframework.data.neo4j.annotation.GraphTraversal;
 import org.springframework.data.neo4j.annotation.NodeEntity;
 import org.springframework.data.neo4j.annotation.RelationshipEntity;
 import org.springframework.data.neo4j.mapping.ManagedEntity;
@@ -51,6 +53,8 @@ public class Neo4jPersistentEntityImpl<T> extends BasicPersistentEntity<T, Neo4j
     private StoredEntityType storedType;
     private Neo4jPersistentProperty uniqueProperty;
     private final boolean shouldUseShortNames;
+    private volatile Boolean entityReferences;
+    private int slotCount;
 
     /**
      * Creates a new {@link Neo4jPersistentEntityImpl} instance.
@@ -168,6 +172,7 @@ public class Neo4jPersistentEntityImpl<T> extends BasicPersistentEntity<T, Neo4j
     @Override
     public void addPersistentProperty(Neo4jPersistentProperty property) {
         super.addPersistentProperty(property);
+        assignSlot(property);
         if (property.isRelationshipType()) {
             this.relationshipType = property;
         }
@@ -182,6 +187,7 @@ public class Neo4jPersistentEntityImpl<T> extends BasicPersistentEntity<T, Neo4j
     public void addAssociation(Association<Neo4jPersistentProperty> neo4jPersistentPropertyAssociation) {
         super.addAssociation(neo4jPersistentPropertyAssociation);
         final Neo4jPersistentProperty property = neo4jPersistentPropertyAssociation.getInverse();
+        assignSlot(property);
         if (property.isStartNode()) {
             this.startNodeProperty = property;
         }
@@ -190,6 +196,19 @@ public class Neo4jPersistentEntityImpl<T> extends BasicPersistentEntity<T, Neo4j
         }
     }
 
+    private void assignSlot(Neo4jPersistentProperty property) {
+        if (property.getSlot() != -1 || !(property instanceof Neo4jPersistentPropertyImpl) || property.getOwner() != this) return;
+        ((Neo4jPersistentPropertyImpl) property).assignSlot(slotCount++);
+    }
+
+    /**
+     * @return number of slots assigned to the properties of this entity
+     * @see Neo4jPersistentProperty#getSlot()
+     */
+    public int getSlotCount() {
+        return slotCount;
+    }
+
     @Override
     public Neo4jPersistentProperty getStartNodeProperty() {
         return startNodeProperty;
@@ -234,4 +253,28 @@ public class Neo4jPersistentEntityImpl<T> extends BasicPersistentEntity<T, Neo4j
     public Neo4jPersistentProperty getUniqueProperty() {
         return uniqueProperty;
     }
+
+    /**
+     * @return false if loading an instance can't load other entities (no associations, relationship, query or
+     *         traversal properties), so that no cycles have to be tracked while reading it
+     */
+    public boolean hasEntityReferences() {
+        if (entityReferences == null) {
+            final boolean[] found = new boolean[1];
+            doWithAssociations(new AssociationHandler<Neo4jPersistentProperty>() {
+                public void doWithAssociation(Association<Neo4jPersistentProperty> association) {
+                    found[0] = true;
+                }
+            });
+            doWithProperties(new PropertyHandler<Neo4jPersistentProperty>() {
+                public void doWithPersistentProperty(Neo4jPersistentProperty property) {
+                    if (property.isRelationship() || property.hasQuery() || property.getAnnotation(GraphTraversal.class) != null) {
+                        found[0] = true;
+                    }
+                }
+            });
+            entityReferences = found[0];
+        }
+        return entityReferences;
+    }
 }
@@ -30,6 +30,7 @@ import org.springframework.data.neo4j.mapping.Neo4jPersistentProperty;
 import org.springframework.data.neo4j.support.DoReturn;
 import org.springframework.data.neo4j.support.Neo4jTemplate;
 import org.springframework.data.neo4j.support.node.EntityStateFactory;
+import org.springframework.util.ClassUtils;
 
 import java.lang.reflect.InvocationTargetException;
 
@@ -39,47 +40,77 @@ import java.lang.reflect.InvocationTargetException;
  */
 public class SourceStateTransmitter<S extends PropertyContainer> {
     private final EntityStateFactory<S> entityStateFactory;
+    private final EntitySnapshots entitySnapshots;
 
     public SourceStateTransmitter(EntityStateFactory<S> entityStateFactory) {
+        this(entityStateFactory, null);
+    }
+
+    /**
+     * @param entitySnapshots if not null, loaded values are remembered and unchanged properties are not written back
+     */
+    public SourceStateTransmitter(EntityStateFactory<S> entityStateFactory, EntitySnapshots entitySnapshots) {
         this.entityStateFactory = entityStateFactory;
+        this.entitySnapshots = entitySnapshots;
     }
 
     public <R> R copyPropertiesFrom(final BeanWrapper<Neo4jPersistentEntity<R>, R> wrapper, S source, Neo4jPersistentEntity<R> persistentEntity, final MappingPolicy mappingPolicy, final Neo4jTemplate template) {
         final R entity = wrapper.getBean();
             final EntityState<S> entityState = entityStateFactory.getEntityState(entity, false, template);
             entityState.setPersistentState(source);
+            final Object snapshot = entitySnapshots != null ? entitySnapshots.start(source) : null;
             persistentEntity.doWithProperties(new PropertyHandler<Neo4jPersistentProperty>() {
                 @Override
                 public void doWithPersistentProperty(Neo4jPersistentProperty property) {
-                    copyEntityStatePropertyValue(property, entityState, wrapper, property.getMappingPolicy());  // TODO intelligent mappingPolicy.combineWith(property.getMappingPolicy())
+                    final Object value = copyEntityStatePropertyValue(property, entityState, wrapper, property.getMappingPolicy());  // TODO intelligent mappingPolicy.combineWith(property.getMappingPolicy())
+                    if (snapshot != null) entitySnapshots.record(snapshot, property, value);
                 }
             });
             persistentEntity.doWithAssociations(new AssociationHandler<Neo4jPersistentProperty>() {
                 @Override
                 public void doWithAssociation(Association<Neo4jPersistentProperty> association) {
                     final Neo4jPersistentProperty property = association.getInverse();
-                    copyEntityStatePropertyValue(property, entityState, wrapper, property.getMappingPolicy());  // TODO intelligent mappingPolicy.combineWith(property.getMappingPolicy())
+                    final Object value = copyEntityStatePropertyValue(property, entityState, wrapper, property.getMappingPolicy());  // TODO intelligent mappingPolicy.combineWith(property.getMappingPolicy())
+                    if (snapshot != null) entitySnapshots.record(snapshot, property, value);
                 }
             });
+            if (snapshot != null) entitySnapshots.store(entity, snapshot);
             return entity;
     }
 
-    private <R> void setEntityStateValue(Neo4jPersistentProperty property, EntityState<S> entityState, BeanWrapper<Neo4jPersistentEntity<R>, R> wrapper, final MappingPolicy mappingPolicy) {
+    private <R> void setEntityStateValue(Neo4jPersistentProperty property, EntityState<S> entityState, BeanWrapper<Neo4jPersistentEntity<R>, R> wrapper, final MappingPolicy mappingPolicy, Object snapshot) {
         if (!entityState.isWritable(property)) return;
         final Object value = getProperty(wrapper, property);
+        if (snapshot != null) {
+            entitySnapshots.record(snapshot, property, value);
+            if (entitySnapshots.isUnchanged(wrapper.getBean(), entityState, property, value)) return;
+        }
         entityState.setValue(property, value, mappingPolicy);
     }
 
-    private <R> Object getProperty(BeanWrapper<Neo4jPersistentEntity<R>, R> wrapper, Neo4jPersistentProperty property) {
+    /**
+     * Reads the property with its generated accessor, the wrapper is only used for values that need conversion.
+     */
+    public <R> Object getProperty(BeanWrapper<Neo4jPersistentEntity<R>, R> wrapper, Neo4jPersistentProperty property) {
         try {
+            if (property instanceof Neo4jPersistentPropertyImpl) {
+                final Object value = ((Neo4jPersistentPropertyImpl) property).getBeanValue(wrapper.getBean());
+                if (value == null || ClassUtils.isAssignableValue(property.getType(), value)) return value;
+            }
             return wrapper.getProperty(property);
         } catch (Exception e) {
             throw new MappingException("Error retrieving property " + property.getName() + " from " + wrapper.getBean(), e);
         }
     }
 
+    /**
+     * Writes the property with its generated accessor, the wrapper is only used for values that need conversion.
+     */
     public <R> void setProperty(BeanWrapper<Neo4jPersistentEntity<R>, ?> wrapper, Neo4jPersistentProperty property, Object value) {
         try {
+            if (property instanceof Neo4jPersistentPropertyImpl && ((Neo4jPersistentPropertyImpl) property).setBeanValue(wrapper.getBean(), value)) {
+                return;
+            }
             wrapper.setProperty(property,value);
         } catch (Exception e) {
             throw new MappingException("Setting property " + property.getName() + " to " + value + " on " + wrapper.getBean(), e);
@@ -93,16 +124,18 @@ public class SourceStateTransmitter<S extends PropertyContainer> {
     }
 
     public <R> void copyPropertiesTo(final BeanWrapper<Neo4jPersistentEntity<R>, R> wrapper, S target, Neo4jPersistentEntity<R> persistentEntity, MappingPolicy mappingPolicy, final Neo4jTemplate template) {
-        final Transaction tx = template.getGraphDatabase().beginTx();
+        // within a running transaction (e.g. batch saves) no nested transaction is needed per entity
+        final Transaction tx = template.getGraphDatabase().transactionIsRunning() ? null : template.getGraphDatabase().beginTx();
         try {
             final EntityState<S> entityState = entityStateFactory.getEntityState(wrapper.getBean(), false, template);
             entityState.setPersistentState(target);
             entityState.persist();
+            final Object snapshot = entitySnapshots != null ? entitySnapshots.start(target) : null;
             // todo take mapping policies for attributes into account
             persistentEntity.doWithProperties(new PropertyHandler<Neo4jPersistentProperty>() {
                 @Override
                 public void doWithPersistentProperty(Neo4jPersistentProperty property) {
-                    setEntityStateValue(property, entityState, wrapper, property.getMappingPolicy());
+                    setEntityStateValue(property, entityState, wrapper, property.getMappingPolicy(), snapshot);
                 }
             });
             // todo take mapping policies for relationships into account
@@ -110,18 +143,31 @@ public class SourceStateTransmitter<S extends PropertyContainer> {
                 @Override
                 public void doWithAssociation(Association<Neo4jPersistentProperty> association) {
                     final Neo4jPersistentProperty property = association.getInverse();
-                    setEntityStateValue(property, entityState, wrapper, property.getMappingPolicy());
+                    setEntityStateValue(property, entityState, wrapper, property.getMappingPolicy(), snapshot);
                 }
             });
-            tx.success();
+            if (snapshot != null) entitySnapshots.store(wrapper.getBean(), snapshot);
+            if (tx != null) tx.success();
         } catch(Throwable t) {
-			tx.failure();
+			markFailed(tx, template);
+			if (entitySnapshots != null) entitySnapshots.remove(wrapper.getBean());
 			if (t instanceof Error) throw (Error)t;
 			if (t instanceof RuntimeException) throw (RuntimeException)t;
 			throw new org.springframework.data.neo4j.core.UncategorizedGraphStoreException("Error copying properties from "+persistentEntity+" to "+target,t);
         } finally {
-            tx.finish();
+            if (tx != null) tx.finish();
+        }
+    }
+
+    // marks the own or the surrounding transaction as rollback only
+    private void markFailed(Transaction tx, Neo4jTemplate template) {
+        if (tx != null) {
+            tx.failure();
+            return;
         }
+        final Transaction nested = template.getGraphDatabase().beginTx();
+        nested.failure();
+        nested.finish();
     }
 
 }
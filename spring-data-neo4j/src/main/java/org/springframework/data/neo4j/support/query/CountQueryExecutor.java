@@ -0,0 +1,230 @@
+/**
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.neo4j.support.query;
+
+import org.springframework.dao.DataRetrievalFailureException;
+import org.springframework.data.neo4j.core.GraphDatabase;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs the count queries of paged queries on an executor, so that they execute concurrently with the query for the
+ * page content, and optionally caches the counts for a short time keyed by query and parameters.
+ * <p/>
+ * Neo4j transactions are bound to their thread, so a count query only runs concurrently if the calling thread has no
+ * transaction or a read-only one; otherwise it runs in the calling thread to see the uncommitted changes and bypasses
+ * the cache, as the count may include writes of the transaction. Counts that were rejected by the executor or that
+ * don't finish within the await timeout are computed in the calling thread as well.
+ *
+ * @author mh
+ * @since 17.10.26
+ */
+public class CountQueryExecutor {
+    public static final int MAX_CACHED_COUNTS = 1000;
+    public static final long DEFAULT_AWAIT_TIMEOUT_MILLIS = 10000;
+
+    private final Executor executor;
+    private final long cacheTtlMillis;
+    private final long awaitTimeoutMillis;
+    private final ConcurrentMap<CountKey, CachedCount> counts = new ConcurrentHashMap<CountKey, CachedCount>();
+
+    /**
+     * @param executor       runs the count queries, if null they are run in the calling thread
+     * @param cacheTtlMillis time counts are reused for the same query and parameters, 0 disables caching
+     */
+    public CountQueryExecutor(Executor executor, long cacheTtlMillis) {
+        this(executor, cacheTtlMillis, DEFAULT_AWAIT_TIMEOUT_MILLIS);
+    }
+
+    /**
+     * @param awaitTimeoutMillis time to wait for a concurrently running count before it is computed in the calling thread
+     */
+    public CountQueryExecutor(Executor executor, long cacheTtlMillis, long awaitTimeoutMillis) {
+        if (cacheTtlMillis < 0) throw new IllegalArgumentException("Count cache ttl must not be negative, was " + cacheTtlMillis);
+        if (awaitTimeoutMillis <= 0) throw new IllegalArgumentException("Count await timeout must be positive, was " + awaitTimeoutMillis);
+        this.executor = executor;
+        this.cacheTtlMillis = cacheTtlMillis;
+        this.awaitTimeoutMillis = awaitTimeoutMillis;
+    }
+
+    /**
+     * Starts the count query, the result is obtained with {@link #await(java.util.concurrent.Future)} after the page
+     * content was retrieved.
+     */
+    public Future<Long> count(final QueryEngine<?> engine, final String countQuery, final Map<String, Object> params, GraphDatabase graphDatabase) {
+        final boolean withoutWrites = canRunConcurrently(graphDatabase);
+        final CountKey key = withoutWrites ? new CountKey(countQuery, params) : null;
+        final Long cached = withoutWrites ? cachedCount(key) : null;
+        final CountTask task = new CountTask(new Callable<Long>() {
+            public Long call() throws Exception {
+                if (cached != null) return cached;
+                final Long count = engine.query(countQuery, params).to(Long.class).singleOrNull();
+                if (key != null) cacheCount(key, count);
+                return count;
+            }
+        });
+        if (cached == null && executor != null && withoutWrites) {
+            try {
+                executor.execute(task);
+                return task;
+            } catch (RejectedExecutionException ree) {
+                // saturated executor, count in the calling thread
+            }
+        }
+        task.run();
+        return task;
+    }
+
+    public Long await(Future<Long> count) {
+        try {
+            return count.get(awaitTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            if (count instanceof CountTask) return ((CountTask) count).runInline();
+            throw new DataRetrievalFailureException("Count query did not finish within " + awaitTimeoutMillis + " ms", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DataRetrievalFailureException("Interrupted while waiting for count query", e);
+        } catch (ExecutionException e) {
+            throw rethrow(e);
+        }
+    }
+
+    private static RuntimeException rethrow(ExecutionException e) {
+        final Throwable cause = e.getCause();
+        if (cause instanceof RuntimeException) return (RuntimeException) cause;
+        if (cause instanceof Error) throw (Error) cause;
+        return new DataRetrievalFailureException("Error executing count query", cause);
+    }
+
+    private boolean canRunConcurrently(GraphDatabase graphDatabase) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        }
+        return !graphDatabase.transactionIsRunning();
+    }
+
+    private Long cachedCount(CountKey key) {
+        if (cacheTtlMillis == 0) return null;
+        final CachedCount cachedCount = counts.get(key);
+        if (cachedCount == null) return null;
+        if (cachedCount.isExpired(System.currentTimeMillis())) {
+            counts.remove(key, cachedCount);
+            return null;
+        }
+        return cachedCount.count;
+    }
+
+    private void cacheCount(CountKey key, Long count) {
+        if (cacheTtlMillis == 0 || count == null) return;
+        final long now = System.currentTimeMillis();
+        if (counts.size() >= MAX_CACHED_COUNTS) removeExpired(now);
+        if (counts.size() >= MAX_CACHED_COUNTS) counts.clear();
+        counts.put(key, new CachedCount(count, now + cacheTtlMillis));
+    }
+
+    private void removeExpired(long now) {
+        for (Iterator<CachedCount> it = counts.values().iterator(); it.hasNext(); ) {
+            if (it.next().isExpired(now)) it.remove();
+        }
+    }
+
+    public void clearCache() {
+        counts.clear();
+    }
+
+    public long getCacheTtlMillis() {
+        return cacheTtlMillis;
+    }
+
+    public long getAwaitTimeoutMillis() {
+        return awaitTimeoutMillis;
+    }
+
+    /**
+     * a count that can still be computed in the calling thread if the executor didn't finish it in time
+     */
+    private static class CountTask extends FutureTask<Long> {
+        private final Callable<Long> callable;
+
+        private CountTask(Callable<Long> callable) {
+            super(callable);
+            this.callable = callable;
+        }
+
+        Long runInline() {
+            // no interrupt, an interrupt during store IO closes the store's file channels, a late count is just discarded
+            cancel(false);
+            try {
+                return callable.call();
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new DataRetrievalFailureException("Error executing count query", e);
+            }
+        }
+    }
+
+    private static class CountKey {
+        private final String query;
+        private final Map<String, Object> params;
+
+        private CountKey(String query, Map<String, Object> params) {
+            this.query = query;
+            this.params = params == null ? Collections.<String, Object>emptyMap() : new HashMap<String, Object>(params);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof CountKey)) return false;
+            final CountKey other = (CountKey) o;
+            return query.equals(other.query) && params.equals(other.params);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * query.hashCode() + params.hashCode();
+        }
+    }
+
+    private static class CachedCount {
+        private final Long count;
+        private final long expiresAt;
+
+        private CachedCount(Long count, long expiresAt) {
+            this.count = count;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+}
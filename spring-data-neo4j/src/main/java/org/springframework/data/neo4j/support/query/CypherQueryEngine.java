@@ -36,10 +36,57 @@ public class CypherQueryEngine implements QueryEngine<Map<String,Object>> {
     private final ExecutionEngine executionEngine;
     private final ResultConverter resultConverter;
     private final QueryParameterConverter queryParameterConverter = new QueryParameterConverter();
+    private volatile CypherQueryPlanCache queryPlanCache;
 
     public CypherQueryEngine(GraphDatabaseService graphDatabaseService, ResultConverter resultConverter) {
+        this(graphDatabaseService, resultConverter, CypherQueryPlanCache.DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param queryPlanCacheCapacity number of prepared statements to keep, 0 leaves caching to the cypher execution engine
+     */
+    public CypherQueryEngine(GraphDatabaseService graphDatabaseService, ResultConverter resultConverter, int queryPlanCacheCapacity) {
         this.resultConverter = resultConverter != null ? resultConverter : new DefaultConverter();
         this.executionEngine = new ExecutionEngine(graphDatabaseService);
+        this.queryPlanCache = createQueryPlanCache(graphDatabaseService, queryPlanCacheCapacity);
+    }
+
+    private CypherQueryPlanCache createQueryPlanCache(GraphDatabaseService graphDatabaseService, int capacity) {
+        if (capacity <= 0) return null;
+        try {
+            return new CypherQueryPlanCache(graphDatabaseService, capacity);
+        } catch (LinkageError e) {
+            log.warn("Cypher query plans can't be cached with this Neo4j version, caching disabled: " + e.getMessage());
+            return null;
+        }
+    }
+
+    public CypherQueryPlanCache getQueryPlanCache() {
+        return queryPlanCache;
+    }
+
+    /**
+     * Prepares the execution plan of the statement up front, e.g. for repository queries at startup.
+     * @return true if the plan was prepared and cached
+     */
+    public boolean prepare(String statement) {
+        final CypherQueryPlanCache cache = queryPlanCache;
+        if (cache == null) return false;
+        try {
+            cache.prepare(statement);
+            return true;
+        } catch (LinkageError e) {
+            disableQueryPlanCache(e);
+            return false;
+        } catch (Exception e) {
+            log.warn("Could not prepare cypher statement " + statement + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    private void disableQueryPlanCache(LinkageError e) {
+        log.warn("Cypher query plans can't be cached with this Neo4j version, caching disabled: " + e.getMessage());
+        queryPlanCache = null;
     }
 
     @SuppressWarnings("unchecked")
@@ -58,6 +105,14 @@ public class CypherQueryEngine implements QueryEngine<Map<String,Object>> {
             final Map<String, Object> queryParams = queryParams(params);
             if (log.isDebugEnabled()) log.debug(String.format("Executing cypher query: %s params %s",statement,queryParams));
 
+            final CypherQueryPlanCache cache = queryPlanCache;
+            if (cache != null) {
+                try {
+                    return cache.execute(statement, queryParams);
+                } catch (LinkageError e) {
+                    disableQueryPlanCache(e);
+                }
+            }
             return executionEngine.execute(statement, queryParams);
         } catch(Exception e) {
             throw new InvalidDataAccessResourceUsageException("Error executing statement " + statement, e);
@@ -0,0 +1,137 @@
+/**
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.neo4j.support.query;
+
+import org.neo4j.cypher.ExecutionEngine;
+import org.neo4j.cypher.internal.executionplan.ExecutionPlan;
+import org.neo4j.cypher.javacompat.ExecutionResult;
+import org.neo4j.graphdb.GraphDatabaseService;
+import org.neo4j.kernel.impl.util.StringLogger;
+import scala.Tuple2;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded LRU cache of prepared cypher execution plans keyed by the statement text, so that frequently executed
+ * statements are parsed and planned only once. Exposes hit, miss and eviction counts for monitoring.
+ *
+ * @author mh
+ * @since 17.10.26
+ */
+public class CypherQueryPlanCache {
+    public static final int DEFAULT_CAPACITY = 1000;
+
+    private final ExecutionEngine executionEngine;
+    private final int capacity;
+    private final Map<String, ExecutionPlan> plans;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public CypherQueryPlanCache(GraphDatabaseService graphDatabaseService, final int capacity) {
+        if (capacity < 1) throw new IllegalArgumentException("Capacity of the query plan cache must be positive, was " + capacity);
+        this.executionEngine = new ExecutionEngine(graphDatabaseService, StringLogger.DEV_NULL);
+        this.capacity = capacity;
+        this.plans = new LinkedHashMap<String, ExecutionPlan>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ExecutionPlan> eldest) {
+                if (size() <= capacity) return false;
+                evictions.incrementAndGet();
+                return true;
+            }
+        };
+    }
+
+    public ExecutionResult execute(String statement, Map<String, Object> params) {
+        return new ExecutionResult(prepare(statement).execute(toScalaMap(params)));
+    }
+
+    /**
+     * @return the cached plan for the statement, parsing and planning it on first use
+     */
+    public ExecutionPlan prepare(String statement) {
+        synchronized (plans) {
+            final ExecutionPlan plan = plans.get(statement);
+            if (plan != null) {
+                hits.incrementAndGet();
+                return plan;
+            }
+        }
+        misses.incrementAndGet();
+        final ExecutionPlan plan = executionEngine.prepare(statement);
+        synchronized (plans) {
+            plans.put(statement, plan);
+        }
+        return plan;
+    }
+
+    public boolean contains(String statement) {
+        synchronized (plans) {
+            return plans.containsKey(statement);
+        }
+    }
+
+    public int size() {
+        synchronized (plans) {
+            return plans.size();
+        }
+    }
+
+    public void clear() {
+        synchronized (plans) {
+            plans.clear();
+        }
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    public void resetStatistics() {
+        hits.set(0);
+        misses.set(0);
+        evictions.set(0);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static scala.collection.immutable.Map<String, Object> toScalaMap(Map<String, Object> params) {
+        scala.collection.immutable.Map<String, Object> result = scala.collection.immutable.Map$.MODULE$.empty();
+        for (Map.Entry<String, Object> entry : params.entrySet()) {
+            result = result.$plus(new Tuple2<String, Object>(entry.getKey(), entry.getValue()));
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CypherQueryPlanCache{size=%d, capacity=%d, hits=%d, misses=%d, evictions=%d}", size(), capacity, getHits(), getMisses(), getEvictions());
+    }
+}
@@ -38,6 +38,7 @@ public abstract class AbstractIndexingTypeRepresentationStrategy<S extends Prope
     protected final IndexProvider indexProvider;
     private final Class<? extends PropertyContainer> clazz;
     private Index<S> typesIndex;
+    private IndexedTypeCounters typeCounters;
 
     public AbstractIndexingTypeRepresentationStrategy(GraphDatabase graphDb, IndexProvider indexProvider,
                                                       final String indexName, final Class<? extends PropertyContainer> clazz) {
@@ -58,12 +59,20 @@ public abstract class AbstractIndexingTypeRepresentationStrategy<S extends Prope
         if (type.getAlias().equals(state.getProperty(TYPE_PROPERTY_NAME, null))) return; // already there
         addToTypesIndex(state, type);
         state.setProperty(TYPE_PROPERTY_NAME, type.getAlias());
+        if (typeCounters != null) typeCounters.added(type, indexCount());
     }
 
     @Override
     public long count(StoredEntityType type) {
+        if (typeCounters != null) {
+            final Long count = typeCounters.count(type.getAlias());
+            if (count != null) return count;
+        }
+        return countIndexEntries(type.getAlias());
+    }
+
+    private long countIndexEntries(Object value) {
         long count = 0;
-        Object value = type.getAlias();
         final IndexHits<S> hits = get(value);
         while (hits.hasNext()) {
             hits.next();
@@ -83,9 +92,44 @@ public abstract class AbstractIndexingTypeRepresentationStrategy<S extends Prope
 
     @Override
     public void preEntityRemoval(S state) {
+        if (typeCounters != null) typeCounters.removed(state.getProperty(TYPE_PROPERTY_NAME, null));
         remove(state);
     }
 
+    /**
+     * Keeps exact instance counts per type alias, so that {@link #count(StoredEntityType)} doesn't iterate the types index.
+     */
+    public void setTypeCounters(IndexedTypeCounters typeCounters) {
+        this.typeCounters = typeCounters;
+    }
+
+    public IndexedTypeCounters getTypeCounters() {
+        return typeCounters;
+    }
+
+    /**
+     * Recomputes all instance counters from the types index, has to be called within a transaction.
+     */
+    public void rebuildTypeCounters() {
+        if (typeCounters != null) typeCounters.rebuild(indexCount());
+    }
+
+    /**
+     * Recomputes or creates the instance counters of the type and its supertypes from the types index, has to be
+     * called within a transaction.
+     */
+    public void rebuildTypeCounter(StoredEntityType type) {
+        if (typeCounters != null) typeCounters.rebuild(type, indexCount());
+    }
+
+    private IndexedTypeCounters.IndexCount indexCount() {
+        return new IndexedTypeCounters.IndexCount() {
+            public long count(String alias) {
+                return countIndexEntries(indexProvider != null ? indexProvider.createIndexValueForType(alias) : alias);
+            }
+        };
+    }
+
     private void remove(S state) {
         try {
             typesIndex.remove(state);
@@ -107,13 +151,24 @@ public abstract class AbstractIndexingTypeRepresentationStrategy<S extends Prope
         return propertyContainer.getProperty(TYPE_PROPERTY_NAME);
     }
 
+    /**
+     * @return the name of the index that contains all instances under {@link #INDEX_KEY}, e.g. to start queries at them
+     */
+    public String getIndexName() {
+        return INDEX_NAME;
+    }
+
+    /**
+     * @return the value under which the instances of the type and its subtypes are indexed
+     */
+    public Object getIndexValue(StoredEntityType type) {
+        if (indexProvider == null) return type.getAlias();
+        return indexProvider.createIndexValueForType(type.getAlias());
+    }
+
     protected void addToTypesIndex(S element, StoredEntityType type) {
         if (type == null) return;
-        Object value = type.getAlias();
-        if (indexProvider != null) {
-            value = indexProvider.createIndexValueForType(type.getAlias());
-        }
-        add(element, value);
+        add(element, getIndexValue(type));
         for (StoredEntityType superType : type.getSuperTypes()) {
             addToTypesIndex(element,superType);
         }
@@ -130,11 +185,7 @@ public abstract class AbstractIndexingTypeRepresentationStrategy<S extends Prope
 
     @SuppressWarnings("hiding")
     private ClosableIterable<S> findAllRelBacked(StoredEntityType type) {
-        Object value = type.getAlias();
-        if (indexProvider != null)
-            value = indexProvider.createIndexValueForType(type.getAlias());
-
-        final IndexHits<S> allEntitiesOfType = get(value);
+        final IndexHits<S> allEntitiesOfType = get(getIndexValue(type));
         return new ClosableIndexHits<S>(allEntitiesOfType);
     }
 
@@ -0,0 +1,306 @@
+/**
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.neo4j.support.typerepresentation;
+
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.NotFoundException;
+import org.neo4j.graphdb.index.Index;
+import org.neo4j.graphdb.index.IndexHits;
+import org.springframework.data.neo4j.core.GraphDatabase;
+import org.springframework.data.neo4j.support.index.IndexType;
+import org.springframework.data.neo4j.support.index.NoSuchIndexException;
+import org.springframework.data.neo4j.support.mapping.StoredEntityType;
+
+import javax.transaction.RollbackException;
+import javax.transaction.Status;
+import javax.transaction.Synchronization;
+import javax.transaction.SystemException;
+import javax.transaction.Transaction;
+import javax.transaction.TransactionManager;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Exact instance counts per type alias for the {@link AbstractIndexingTypeRepresentationStrategy}, so that counting
+ * doesn't have to iterate over all index entries of a type.
+ * <p>
+ * Each alias has a counter node, found via its own index, that also stores the aliases of all supertypes, which are
+ * counted as well. The counts are maintained with {@link StripedCounters}, by default deferred so that the counter
+ * nodes are only locked when the transaction commits. A counter node is created and initialized from the types index
+ * the first time an instance of its alias is stored.
+ * <p>
+ * The ids of counter nodes are cached once the transaction that found or created them has committed, a cached node
+ * is only used as long as it still carries its alias.
+ *
+ * @author mh
+ * @since 17.10.26
+ */
+public class IndexedTypeCounters {
+    public static final String COUNTER_KEY = "count";
+    public static final String ALIAS_KEY = "alias";
+    public static final String SUPER_TYPES_KEY = "superTypes";
+
+    private final GraphDatabase graphDatabase;
+    private final String indexName;
+    private final StripedCounters counters;
+    private final TransactionManager transactionManager;
+    private final ConcurrentMap<String, Long> counterNodeIds = new ConcurrentHashMap<String, Long>();
+    private final ConcurrentMap<Transaction, Map<String, Long>> uncommittedNodeIds = new ConcurrentHashMap<Transaction, Map<String, Long>>();
+
+    public IndexedTypeCounters(GraphDatabase graphDatabase, String typesIndexName) {
+        this(graphDatabase, typesIndexName, new StripedCounters(graphDatabase, COUNTER_KEY, 1, true));
+    }
+
+    public IndexedTypeCounters(GraphDatabase graphDatabase, String typesIndexName, StripedCounters counters) {
+        this.graphDatabase = graphDatabase;
+        this.indexName = typesIndexName + "counters__";
+        this.counters = counters;
+        this.transactionManager = graphDatabase.getTransactionManager();
+        createCounterIndex();
+    }
+
+    private Index<Node> createCounterIndex() {
+        return graphDatabase.createIndex(Node.class, indexName, IndexType.SIMPLE);
+    }
+
+    /**
+     * Counts an instance for the type and its supertypes. Counters that don't exist yet are created with the current
+     * number of index entries, which already contains the instance.
+     */
+    public void added(StoredEntityType type, IndexCount indexCount) {
+        for (StoredEntityType countedType : withSuperTypes(type)) {
+            final String alias = aliasOf(countedType);
+            final Node counterNode = counterNode(alias);
+            if (counterNode != null) {
+                counters.increment(counterNode);
+            } else {
+                createCounterNode(countedType, indexCount.count(aliasOf(countedType)));
+            }
+        }
+    }
+
+    /**
+     * Uncounts an instance for the alias and the supertypes stored on its counter node.
+     */
+    public void removed(Object alias) {
+        if (alias == null) return;
+        final Node counterNode = counterNode(alias.toString());
+        if (counterNode == null) return;
+        counters.decrement(counterNode);
+        for (String superType : superTypesOf(counterNode)) {
+            final Node superTypeCounter = counterNode(superType);
+            if (superTypeCounter != null) counters.decrement(superTypeCounter);
+        }
+    }
+
+    /**
+     * @return the instance count of the alias, or null if the alias has no counter
+     */
+    public Long count(Object alias) {
+        final Node counterNode = counterNode(alias.toString());
+        return counterNode == null ? null : counters.get(counterNode);
+    }
+
+    /**
+     * Recomputes all existing counters from the types index, has to be called within a transaction.
+     */
+    public void rebuild(IndexCount indexCount) {
+        final IndexHits<Node> counterNodes = getCounterIndex().query(new MatchAllDocsQuery());
+        try {
+            for (Node counterNode : counterNodes) {
+                reset(counterNode, indexCount.count((String) counterNode.getProperty(ALIAS_KEY)));
+            }
+        } finally {
+            counterNodes.close();
+        }
+    }
+
+    /**
+     * Recomputes or creates the counters of the type and its supertypes from the types index, has to be called within a transaction.
+     */
+    public void rebuild(StoredEntityType type, IndexCount indexCount) {
+        for (StoredEntityType countedType : withSuperTypes(type)) {
+            final Node counterNode = counterNode(aliasOf(countedType));
+            if (counterNode == null) {
+                createCounterNode(countedType, indexCount.count(aliasOf(countedType)));
+            } else {
+                reset(counterNode, indexCount.count(aliasOf(countedType)));
+            }
+        }
+    }
+
+    // the index count already contains the instances saved or removed in this transaction
+    private void reset(Node counterNode, long count) {
+        counters.compact(counterNode);
+        counters.discardPending(counterNode);
+        counterNode.setProperty(COUNTER_KEY, count);
+    }
+
+    private void createCounterNode(StoredEntityType type, long count) {
+        final String alias = aliasOf(type);
+        final Node counterNode = graphDatabase.createNode(Collections.<String, Object>singletonMap(ALIAS_KEY, alias));
+        counterNode.setProperty(SUPER_TYPES_KEY, superTypeAliases(type));
+        counterNode.setProperty(COUNTER_KEY, count);
+        final Node existing = getCounterIndex().putIfAbsent(counterNode, ALIAS_KEY, alias);
+        if (existing == null) {
+            cacheAfterCommit(alias, counterNode.getId());
+            return;
+        }
+        // created concurrently by another transaction which didn't see our instances
+        counterNode.delete();
+        counters.increment(existing);
+    }
+
+    private Node counterNode(String alias) {
+        final Long id = counterNodeIds.get(alias);
+        if (id != null) {
+            final Node counterNode = counterNode(id, alias);
+            if (counterNode != null) return counterNode;
+            counterNodeIds.remove(alias, id);
+        }
+        final Map<String, Long> uncommitted = uncommittedNodeIds(currentTransaction());
+        final Long uncommittedId = uncommitted == null ? null : uncommitted.get(alias);
+        if (uncommittedId != null) {
+            final Node counterNode = counterNode(uncommittedId, alias);
+            if (counterNode != null) return counterNode;
+            uncommitted.remove(alias);
+        }
+        final Node counterNode = getCounterIndex().get(ALIAS_KEY, alias).getSingle();
+        if (counterNode != null) cacheAfterCommit(alias, counterNode.getId());
+        return counterNode;
+    }
+
+    // node ids are reused, so the node has to still be the counter node of the alias
+    private Node counterNode(long id, String alias) {
+        try {
+            final Node node = graphDatabase.getNodeById(id);
+            return alias.equals(node.getProperty(ALIAS_KEY, null)) ? node : null;
+        } catch (NotFoundException nfe) {
+            return null;
+        }
+    }
+
+    private void cacheAfterCommit(String alias, long id) {
+        final Transaction tx = currentTransaction();
+        if (tx == null) {
+            counterNodeIds.put(alias, id);
+            return;
+        }
+        Map<String, Long> uncommitted = uncommittedNodeIds(tx);
+        if (uncommitted == null) {
+            if (!registerCacheOnCommit(tx)) return;
+            // only used by the thread the transaction is bound to
+            uncommitted = new HashMap<String, Long>();
+            uncommittedNodeIds.put(tx, uncommitted);
+        }
+        uncommitted.put(alias, id);
+    }
+
+    private Map<String, Long> uncommittedNodeIds(Transaction tx) {
+        return tx == null ? null : uncommittedNodeIds.get(tx);
+    }
+
+    private boolean registerCacheOnCommit(final Transaction tx) {
+        try {
+            tx.registerSynchronization(new Synchronization() {
+                @Override
+                public void beforeCompletion() {
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    final Map<String, Long> uncommitted = uncommittedNodeIds.remove(tx);
+                    if (uncommitted != null && status == Status.STATUS_COMMITTED) counterNodeIds.putAll(uncommitted);
+                }
+            });
+            return true;
+        } catch (RollbackException e) {
+            return false;
+        } catch (IllegalStateException e) {
+            return false;
+        } catch (SystemException e) {
+            return false;
+        }
+    }
+
+    private Transaction currentTransaction() {
+        if (transactionManager == null) return null;
+        try {
+            return transactionManager.getTransaction();
+        } catch (SystemException e) {
+            return null;
+        }
+    }
+
+    private Index<Node> getCounterIndex() {
+        try {
+            return graphDatabase.getIndex(indexName);
+        } catch (NoSuchIndexException nsie) {
+            // the index was deleted, e.g. when cleaning the database
+            counterNodeIds.clear();
+            return createCounterIndex();
+        }
+    }
+
+    private String[] superTypesOf(Node counterNode) {
+        return (String[]) counterNode.getProperty(SUPER_TYPES_KEY, new String[0]);
+    }
+
+    private String[] superTypeAliases(StoredEntityType type) {
+        final List<String> aliases = new ArrayList<String>();
+        for (StoredEntityType superType : withSuperTypes(type)) {
+            if (superType != type) aliases.add(aliasOf(superType));
+        }
+        return aliases.toArray(new String[aliases.size()]);
+    }
+
+    private Collection<StoredEntityType> withSuperTypes(StoredEntityType type) {
+        final Set<StoredEntityType> types = new LinkedHashSet<StoredEntityType>();
+        addWithSuperTypes(type, types);
+        return types;
+    }
+
+    private void addWithSuperTypes(StoredEntityType type, Set<StoredEntityType> types) {
+        if (type == null || !types.add(type)) return;
+        for (StoredEntityType superType : type.getSuperTypes()) {
+            addWithSuperTypes(superType, types);
+        }
+    }
+
+    private String aliasOf(StoredEntityType type) {
+        return type.getAlias().toString();
+    }
+
+    public StripedCounters getCounters() {
+        return counters;
+    }
+
+    /**
+     * Counts the entries of a type in the types index, used to initialize and rebuild counters.
+     */
+    public interface IndexCount {
+        long count(String alias);
+    }
+}
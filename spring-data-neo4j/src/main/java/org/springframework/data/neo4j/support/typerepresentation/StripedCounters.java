@@ -0,0 +1,286 @@
+/**
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.neo4j.support.typerepresentation;
+
+import org.neo4j.graphdb.Direction;
+import org.neo4j.graphdb.DynamicRelationshipType;
+import org.neo4j.graphdb.GraphDatabaseService;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.Relationship;
+import org.neo4j.graphdb.RelationshipType;
+import org.neo4j.graphdb.event.TransactionData;
+import org.neo4j.graphdb.event.TransactionEventHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.neo4j.core.GraphDatabase;
+import org.springframework.data.neo4j.support.DelegatingGraphDatabase;
+
+import javax.transaction.SystemException;
+import javax.transaction.Transaction;
+import javax.transaction.TransactionManager;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Instance counters kept as properties on counter nodes (e.g. the subreference nodes of the
+ * {@link SubReferenceNodeTypeRepresentationStrategy}).
+ * <p>
+ * With more than one stripe each counter is spread over up to {@code stripes} nodes linked from the counter node via
+ * {@link #COUNTER_STRIPE} relationships, concurrent updates from different threads then lock different nodes.
+ * The value of a counter is the sum of the counter node and all its stripes. The stripe node of the current thread is
+ * also available via {@link #stripeFor(Node)}, e.g. to link instances to it instead of to the counter node.
+ * <p>
+ * In deferred mode the deltas are collected per transaction and only applied when the transaction commits, so the
+ * counter nodes are not locked for the whole duration of the transaction. That needs transaction events and is only
+ * available for embedded databases. The transaction event handler is unregistered again by {@link #destroy()}.
+ *
+ * @author mh
+ * @since 17.10.26
+ */
+public class StripedCounters implements TransactionEventHandler<Void>, DisposableBean {
+    private final static Logger log = LoggerFactory.getLogger(StripedCounters.class);
+
+    public final static RelationshipType COUNTER_STRIPE = DynamicRelationshipType.withName("COUNTER_STRIPE");
+    public static final String STRIPE_KEY = "stripe";
+
+    private final GraphDatabase graphDatabase;
+    private final String counterKey;
+    private final int stripes;
+    private final GraphDatabaseService eventSource;
+    private final TransactionManager transactionManager;
+    private volatile boolean destroyed;
+    private final ThreadLocal<PendingDeltas> pendingDeltas = new ThreadLocal<PendingDeltas>();
+
+    private static class PendingDeltas {
+        private final Transaction transaction;
+        private final Map<Long, Integer> deltas = new HashMap<Long, Integer>();
+
+        private PendingDeltas(Transaction transaction) {
+            this.transaction = transaction;
+        }
+    }
+
+    /**
+     * immediately updated counters stored on the counter nodes themselves
+     */
+    public StripedCounters(GraphDatabase graphDatabase, String counterKey) {
+        this(graphDatabase, counterKey, 1, false);
+    }
+
+    public StripedCounters(GraphDatabase graphDatabase, String counterKey, int stripes, boolean deferred) {
+        if (stripes < 1) throw new IllegalArgumentException("Number of counter stripes must be positive, was " + stripes);
+        this.graphDatabase = graphDatabase;
+        this.counterKey = counterKey;
+        this.stripes = stripes;
+        this.eventSource = deferred ? registerForCommit(graphDatabase) : null;
+        this.transactionManager = eventSource != null ? graphDatabase.getTransactionManager() : null;
+    }
+
+    private GraphDatabaseService registerForCommit(GraphDatabase graphDatabase) {
+        if (!(graphDatabase instanceof DelegatingGraphDatabase)) {
+            log.warn("Deferred counters need transaction events which are not supported by " + graphDatabase + ", updating counters immediately");
+            return null;
+        }
+        final GraphDatabaseService graphDatabaseService = ((DelegatingGraphDatabase) graphDatabase).getGraphDatabaseService();
+        graphDatabaseService.registerTransactionEventHandler(this);
+        return graphDatabaseService;
+    }
+
+    /**
+     * unregisters the transaction event handler of deferred counters, afterwards counters are updated immediately
+     */
+    @Override
+    public void destroy() {
+        if (eventSource == null) return;
+        destroyed = true;
+        try {
+            eventSource.unregisterTransactionEventHandler(this);
+        } catch (IllegalStateException ise) {
+            // already unregistered or the database was shut down
+        }
+    }
+
+    public boolean isDeferred() {
+        return transactionManager != null && !destroyed;
+    }
+
+    public int getStripes() {
+        return stripes;
+    }
+
+    public void increment(Node counterNode) {
+        add(counterNode, 1);
+    }
+
+    public void decrement(Node counterNode) {
+        add(counterNode, -1);
+    }
+
+    public void add(Node counterNode, int delta) {
+        if (delta == 0) return;
+        if (!isDeferred()) {
+            apply(counterNode, delta);
+            return;
+        }
+        final Map<Long, Integer> deltas = currentDeltas();
+        final Integer pending = deltas.get(counterNode.getId());
+        deltas.put(counterNode.getId(), pending == null ? delta : pending + delta);
+    }
+
+    /**
+     * @return the sum of the counter node, all of its stripes and the deltas not yet applied in the current transaction
+     */
+    public long get(Node counterNode) {
+        long count = ((Number) counterNode.getProperty(counterKey, 0)).longValue();
+        for (Relationship stripe : counterNode.getRelationships(COUNTER_STRIPE, Direction.OUTGOING)) {
+            count += ((Number) stripe.getEndNode().getProperty(counterKey, 0)).longValue();
+        }
+        count += pendingDelta(counterNode);
+        return count < 0 ? 0 : count;
+    }
+
+    /**
+     * folds all stripes back into the counter node, has to be called within a transaction. Stripe nodes that other
+     * nodes are linked to are kept with a count of zero.
+     */
+    public void compact(Node counterNode) {
+        SubReferenceNodeTypeRepresentationStrategy.acquireWriteLock(counterNode);
+        long sum = 0;
+        for (Relationship stripe : counterNode.getRelationships(COUNTER_STRIPE, Direction.OUTGOING)) {
+            final Node stripeNode = stripe.getEndNode();
+            SubReferenceNodeTypeRepresentationStrategy.acquireWriteLock(stripeNode);
+            sum += ((Number) stripeNode.getProperty(counterKey, 0)).longValue();
+            if (isLinkedToOtherNodes(stripeNode)) {
+                stripeNode.removeProperty(counterKey);
+            } else {
+                stripe.delete();
+                stripeNode.delete();
+            }
+        }
+        apply(counterNode, counterNode, sum);
+    }
+
+    /**
+     * discards the deltas of the counter that were not yet applied in the current transaction, e.g. before the counter
+     * is set to a recomputed value that already includes them
+     */
+    public void discardPending(Node counterNode) {
+        if (!isDeferred()) return;
+        final PendingDeltas pending = pendingDeltas.get();
+        if (pending == null || pending.transaction != currentTransaction()) return;
+        pending.deltas.remove(counterNode.getId());
+    }
+
+    private boolean isLinkedToOtherNodes(Node stripeNode) {
+        final Iterator<Relationship> relationships = stripeNode.getRelationships().iterator();
+        relationships.next();
+        return relationships.hasNext();
+    }
+
+    /**
+     * @return the node the given node counts for, the counter node for its stripes, otherwise the node itself
+     */
+    public Node counterNodeOf(Node node) {
+        final Relationship stripe = node.getSingleRelationship(COUNTER_STRIPE, Direction.INCOMING);
+        return stripe == null ? node : stripe.getStartNode();
+    }
+
+    private void apply(Node counterNode, long delta) {
+        apply(counterNode, stripeFor(counterNode), delta);
+    }
+
+    private void apply(Node counterNode, Node target, long delta) {
+        SubReferenceNodeTypeRepresentationStrategy.acquireWriteLock(target);
+        final Object current = target.getProperty(counterKey, null);
+        long value = (current == null ? 0 : ((Number) current).longValue()) + delta;
+        // only the sum of the stripes has to be positive
+        if (target.equals(counterNode) && value < 0) value = 0;
+        // int counters, e.g. of the subreference nodes, stay ints until they outgrow them
+        if (current instanceof Long || value != (int) value) {
+            target.setProperty(counterKey, value);
+        } else {
+            target.setProperty(counterKey, (int) value);
+        }
+    }
+
+    /**
+     * @return the stripe of the counter that is updated by the current thread, the counter node itself without stripes
+     */
+    public Node stripeFor(Node counterNode) {
+        if (stripes == 1) return counterNode;
+        final int stripe = (int) (Thread.currentThread().getId() % stripes);
+        for (Relationship relationship : counterNode.getRelationships(COUNTER_STRIPE, Direction.OUTGOING)) {
+            final Node stripeNode = relationship.getEndNode();
+            if (stripeNode.getProperty(STRIPE_KEY, -1).equals(stripe)) return stripeNode;
+        }
+        // concurrently created duplicate stripes are harmless as all stripes are summed up
+        final Node stripeNode = graphDatabase.createNode(Collections.<String, Object>singletonMap(STRIPE_KEY, stripe));
+        counterNode.createRelationshipTo(stripeNode, COUNTER_STRIPE);
+        return stripeNode;
+    }
+
+    private int pendingDelta(Node counterNode) {
+        if (!isDeferred()) return 0;
+        final PendingDeltas pending = pendingDeltas.get();
+        if (pending == null || pending.transaction != currentTransaction()) return 0;
+        final Integer delta = pending.deltas.get(counterNode.getId());
+        return delta == null ? 0 : delta;
+    }
+
+    private Map<Long, Integer> currentDeltas() {
+        final Transaction transaction = currentTransaction();
+        PendingDeltas pending = pendingDeltas.get();
+        // deltas of transactions that were rolled back without ever reaching commit are discarded here
+        if (pending == null || pending.transaction != transaction) {
+            pending = new PendingDeltas(transaction);
+            pendingDeltas.set(pending);
+        }
+        return pending.deltas;
+    }
+
+    private Transaction currentTransaction() {
+        try {
+            return transactionManager.getTransaction();
+        } catch (SystemException e) {
+            throw new IllegalStateException("Error accessing current transaction", e);
+        }
+    }
+
+    @Override
+    public Void beforeCommit(TransactionData data) throws Exception {
+        final PendingDeltas pending = pendingDeltas.get();
+        if (pending == null) return null;
+        pendingDeltas.remove();
+        if (pending.transaction != currentTransaction()) return null;
+        for (Map.Entry<Long, Integer> entry : pending.deltas.entrySet()) {
+            if (entry.getValue() == 0) continue;
+            apply(graphDatabase.getNodeById(entry.getKey()), entry.getValue());
+        }
+        return null;
+    }
+
+    @Override
+    public void afterCommit(TransactionData data, Void state) {
+    }
+
+    @Override
+    public void afterRollback(TransactionData data, Void state) {
+        pendingDeltas.remove();
+    }
+}
@@ -40,7 +40,8 @@ import java.util.List;
  * A {@link org.springframework.data.neo4j.core.TypeRepresentationStrategy} that uses a hierarchy of reference nodes to represent the java type of the entity in the
  * graph database. Entity nodes are related to their concrete type via an INSTANCE_OF relationship, the type hierarchy is
  * related to supertypes via SUBCLASS_OF relationships. Each concrete subreference node keeps a count property with the number of
- * instances of this class in the graph.
+ * instances of this class in the graph. With striped {@link StripedCounters} entity nodes are related to the counter stripe
+ * of the creating thread instead, which in turn is related to the subreference node via a COUNTER_STRIPE relationship.
  *
  * @author Michael Hunger
  * @since 13.09.2010
@@ -56,11 +57,19 @@ public class SubReferenceNodeTypeRepresentationStrategy implements NodeTypeRepre
 	public static final String SUBREF_CLASS_KEY = "class";
 
 	private GraphDatabase graphDatabase;
-    private final EntityTypeCache typeCache;
+    private final StripedCounters counters;
 
     public SubReferenceNodeTypeRepresentationStrategy(GraphDatabase graphDatabase) {
+        this(graphDatabase, new StripedCounters(graphDatabase, SUBREFERENCE_NODE_COUNTER_KEY));
+    }
+
+    /**
+     * @param counters maintains the instance counts of the subreference nodes, use more than one stripe or deferred
+     *                 updates to reduce lock contention on the subreference nodes when creating entities concurrently
+     */
+    public SubReferenceNodeTypeRepresentationStrategy(GraphDatabase graphDatabase, StripedCounters counters) {
 		this.graphDatabase = graphDatabase;
-        typeCache = new EntityTypeCache();
+        this.counters = counters;
     }
 
     public static Node getSingleOtherNode(Node node, RelationshipType type,
@@ -97,13 +106,14 @@ public class SubReferenceNodeTypeRepresentationStrategy implements NodeTypeRepre
 	    final Node subReference = obtainSubreferenceNode(type);
         for ( Relationship relationship : state.getRelationships( INSTANCE_OF_RELATIONSHIP_TYPE, Direction.OUTGOING ) )
         {
-            if (relationship.getEndNode().equals( subReference )) return;  // already there
+            if (counters.counterNodeOf(relationship.getEndNode()).equals( subReference )) return;  // already there
         }
-        state.createRelationshipTo(subReference, INSTANCE_OF_RELATIONSHIP_TYPE);
-	    subReference.setProperty(SUBREF_CLASS_KEY, type.getAlias());
+        // linking to the counter stripe of the thread avoids locking the subreference node itself
+        state.createRelationshipTo(counters.stripeFor(subReference), INSTANCE_OF_RELATIONSHIP_TYPE);
+	    updateAlias(subReference, type);
 	    if (log.isDebugEnabled()) log.debug("Created link to subref node: " + subReference + " with type: " + type.getType().getSimpleName()+" alias "+type.getAlias());
 
-        incrementAndGetCounter(subReference, SUBREFERENCE_NODE_COUNTER_KEY);
+        counters.increment(subReference);
 
         for (StoredEntityType superType : type.getSuperTypes()) {
             updateSuperClassSubrefs(superType,subReference);
@@ -117,19 +127,25 @@ public class SubReferenceNodeTypeRepresentationStrategy implements NodeTypeRepre
         if (getSingleOtherNode(subReference, SUBCLASS_OF_RELATIONSHIP_TYPE, Direction.OUTGOING) == null) {
             subReference.createRelationshipTo(superClassSubref, SUBCLASS_OF_RELATIONSHIP_TYPE);
         }
-        superClassSubref.setProperty(SUBREF_CLASS_KEY, type.getAlias());
-        Integer count = incrementAndGetCounter(superClassSubref, SUBREFERENCE_NODE_COUNTER_KEY);
-        if (log.isDebugEnabled()) log.debug("count on ref " + superClassSubref + " for class " + type.getType().getSimpleName()+" alias: "+ type.getAlias() + " = " + count);
+        updateAlias(superClassSubref, type);
+        counters.increment(superClassSubref);
+        if (log.isDebugEnabled()) log.debug("incremented count on ref " + superClassSubref + " for class " + type.getType().getSimpleName()+" alias: "+ type.getAlias());
         for (StoredEntityType superType : type.getSuperTypes()) {
             updateSuperClassSubrefs(superType,subReference);
         }
     }
 
+    // avoids taking a write lock on the subreference node for each new instance
+    private void updateAlias(Node subReference, StoredEntityType type) {
+        if (type.getAlias().equals(subReference.getProperty(SUBREF_CLASS_KEY, null))) return;
+        subReference.setProperty(SUBREF_CLASS_KEY, type.getAlias());
+    }
+
 	@Override
     public long count(final StoredEntityType type) {
         final Node subrefNode = findSubreferenceNode(type);
         if (subrefNode == null) return 0;
-        return (Integer) subrefNode.getProperty(SUBREFERENCE_NODE_COUNTER_KEY, 0);
+        return counters.get(subrefNode);
     }
 
 	@Override
@@ -138,7 +154,7 @@ public class SubReferenceNodeTypeRepresentationStrategy implements NodeTypeRepre
         Relationship instanceOfRelationship = node.getSingleRelationship(INSTANCE_OF_RELATIONSHIP_TYPE, Direction.OUTGOING);
         if (instanceOfRelationship == null)
             throw new IllegalArgumentException("The node " + node + " is not attached to a type hierarchy.");
-        Node subrefNode = instanceOfRelationship.getEndNode();
+        Node subrefNode = counters.counterNodeOf(instanceOfRelationship.getEndNode());
         final Object typeAlias = subrefNode.getProperty(SUBREF_CLASS_KEY);
         if (log.isDebugEnabled()) log.debug("Found alias " + typeAlias + " for node: " + node);
         return typeAlias;
@@ -155,12 +171,15 @@ public class SubReferenceNodeTypeRepresentationStrategy implements NodeTypeRepre
             log.debug("Removed link to subref node: " + subReference + " with alias: " + alias);
         TraversalDescription traversal = Traversal.description().depthFirst().relationships(SUBCLASS_OF_RELATIONSHIP_TYPE, Direction.OUTGOING);
         for (Node node : traversal.traverse(subReference).nodes()) {
-            Integer count = (Integer) node.getProperty(SUBREFERENCE_NODE_COUNTER_KEY);
-            Integer newCount = decrementAndGetCounter(node, SUBREFERENCE_NODE_COUNTER_KEY, 0);
-            if (log.isDebugEnabled()) log.debug("count on ref " + node + " was " + count + " new " + newCount);
+            counters.decrement(node);
+            if (log.isDebugEnabled()) log.debug("decremented count on ref " + node);
         }
     }
 
+    public StripedCounters getCounters() {
+        return counters;
+    }
+
     @Override
     public <T> ClosableIterable<Node> findAll(final StoredEntityType type) {
         final Node subrefNode = findSubreferenceNode(type);
@@ -176,14 +195,20 @@ public class SubReferenceNodeTypeRepresentationStrategy implements NodeTypeRepre
             final List<Iterable<Node>> entityIterables = this.findEntityIterables(relationship.getStartNode());
             result.addAll(entityIterables);
 		}
-		Iterable<Node> t = new IterableWrapper<Node, Relationship>(subrefNode.getRelationships(INSTANCE_OF_RELATIONSHIP_TYPE, Direction.INCOMING)) {
+		result.add(instancesOf(subrefNode));
+		for (Relationship stripe : subrefNode.getRelationships(StripedCounters.COUNTER_STRIPE, Direction.OUTGOING)) {
+			result.add(instancesOf(stripe.getEndNode()));
+		}
+		return result;
+	}
+
+	private Iterable<Node> instancesOf(Node subrefOrStripeNode) {
+		return new IterableWrapper<Node, Relationship>(subrefOrStripeNode.getRelationships(INSTANCE_OF_RELATIONSHIP_TYPE, Direction.INCOMING)) {
             @Override
             protected Node underlyingObjectToObject(final Relationship rel) {
                 return rel.getStartNode();
             }
         };
-		result.add(t);
-		return result;
 	}
 
 
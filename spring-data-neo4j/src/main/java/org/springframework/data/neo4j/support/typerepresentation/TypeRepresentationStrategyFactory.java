@@ -21,16 +21,23 @@ import org.neo4j.graphdb.NotFoundException;
 import org.neo4j.graphdb.PropertyContainer;
 import org.neo4j.graphdb.Relationship;
 import org.neo4j.graphdb.index.Index;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.data.neo4j.core.GraphDatabase;
 import org.springframework.data.neo4j.core.NodeTypeRepresentationStrategy;
 import org.springframework.data.neo4j.core.RelationshipTypeRepresentationStrategy;
 import org.springframework.data.neo4j.support.index.IndexProvider;
 import org.springframework.data.neo4j.support.index.NoSuchIndexException;
 
-public class TypeRepresentationStrategyFactory {
+import java.util.ArrayList;
+import java.util.List;
+
+public class TypeRepresentationStrategyFactory implements DisposableBean {
     private final GraphDatabase graphDatabaseService;
     private final Strategy strategy;
     private IndexProvider indexProvider;
+    private boolean indexedTypeCounters;
+    private int counterStripes = 1;
+    private final List<IndexedTypeCounters> createdTypeCounters = new ArrayList<IndexedTypeCounters>();
 
     public TypeRepresentationStrategyFactory(GraphDatabase graphDatabaseService) {
         this(graphDatabaseService,chooseStrategy(graphDatabaseService), null);
@@ -80,13 +87,59 @@ public class TypeRepresentationStrategyFactory {
     }
 
     public NodeTypeRepresentationStrategy getNodeTypeRepresentationStrategy() {
-        return strategy.getNodeTypeRepresentationStrategy(graphDatabaseService, indexProvider);
+        if (strategy == Strategy.SubRef && counterStripes > 1) {
+            return new SubReferenceNodeTypeRepresentationStrategy(graphDatabaseService,
+                    new StripedCounters(graphDatabaseService, SubReferenceNodeTypeRepresentationStrategy.SUBREFERENCE_NODE_COUNTER_KEY, counterStripes, false));
+        }
+        return withTypeCounters(strategy.getNodeTypeRepresentationStrategy(graphDatabaseService, indexProvider));
     }
 
     public RelationshipTypeRepresentationStrategy getRelationshipTypeRepresentationStrategy() {
-        return strategy.getRelationshipTypeRepresentationStrategy(graphDatabaseService, indexProvider);
+        return withTypeCounters(strategy.getRelationshipTypeRepresentationStrategy(graphDatabaseService, indexProvider));
+    }
+
+    private <T> T withTypeCounters(T typeRepresentationStrategy) {
+        if (indexedTypeCounters && typeRepresentationStrategy instanceof AbstractIndexingTypeRepresentationStrategy) {
+            final AbstractIndexingTypeRepresentationStrategy<?> indexingStrategy = (AbstractIndexingTypeRepresentationStrategy<?>) typeRepresentationStrategy;
+            final IndexedTypeCounters typeCounters = new IndexedTypeCounters(graphDatabaseService, indexingStrategy.INDEX_NAME,
+                    new StripedCounters(graphDatabaseService, IndexedTypeCounters.COUNTER_KEY, counterStripes, true));
+            synchronized (createdTypeCounters) {
+                createdTypeCounters.add(typeCounters);
+            }
+            indexingStrategy.setTypeCounters(typeCounters);
+        }
+        return typeRepresentationStrategy;
+    }
+
+    /**
+     * unregisters the transaction event handlers of the deferred counters created by this factory
+     */
+    @Override
+    public void destroy() {
+        synchronized (createdTypeCounters) {
+            for (IndexedTypeCounters typeCounters : createdTypeCounters) {
+                typeCounters.getCounters().destroy();
+            }
+            createdTypeCounters.clear();
+        }
+    }
+
+    /**
+     * Maintain exact instance counts per type for the indexing strategies, see {@link IndexedTypeCounters}
+     */
+    public void setIndexedTypeCounters(boolean indexedTypeCounters) {
+        this.indexedTypeCounters = indexedTypeCounters;
     }
     
+    /**
+     * Number of stripes of the subreference node and indexed type counters, more than one reduces lock contention
+     * when entities of the same type are created concurrently, see {@link StripedCounters}
+     */
+    public void setCounterStripes(int counterStripes) {
+        if (counterStripes < 1) throw new IllegalArgumentException("Number of counter stripes must be positive, was " + counterStripes);
+        this.counterStripes = counterStripes;
+    }
+
     public void setIndexProvider(IndexProvider indexProvider) {
         this.indexProvider = indexProvider;
     }
@@ -30,8 +30,10 @@ import org.springframework.data.neo4j.conversion.ResultConverter;
 import org.springframework.data.neo4j.core.GraphDatabase;
 import org.springframework.data.neo4j.mapping.MappingPolicy;
 import org.springframework.data.neo4j.repository.GraphRepository;
+import org.springframework.data.neo4j.support.mapping.BulkEntityLoader;
 import org.springframework.data.neo4j.support.query.QueryEngine;
 
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -241,6 +243,12 @@ public interface Neo4jOperations {
      */
     <T> EndResult<T> findAll(Class<T> entityClass);
 
+    /**
+     * Retrieves the nodes or relationships for all given ids at once and returns them mapped to the given type in the
+     * order of the ids. Ids that don't exist or are not of the given type are handled according to the missing policy.
+     */
+    <T> List<T> findAll(Iterable<Long> ids, Class<T> entityClass, BulkEntityLoader.Missing missing);
+
     /**
      * Provies the instance count a given entity type using the typerepresentation strategy configured for this template.
      * This method is also provided by the appropriate repository.
@@ -260,6 +268,12 @@ public interface Neo4jOperations {
      */
     <T> T save(T entity);
 
+    /**
+     * Stores the given entities like {@link #save(Object)} but groups them into transactions of {@code batchSize}
+     * entities each, when no transaction is running. Used by repositories for saving multiple entities.
+     */
+    <T> List<T> save(Iterable<T> entities, int batchSize);
+
     /**
      * Removes the given node or relationship entity or node or relationship from the graph, the entity is first removed
      * from all indexes and then deleted.
@@ -18,6 +18,7 @@ package org.springframework.data.neo4j.annotation.relatedto;
 import org.hamcrest.Matchers;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.neo4j.graphdb.Relationship;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.convert.ConverterNotFoundException;
 import org.springframework.dao.InvalidDataAccessApiUsageException;
@@ -207,6 +208,48 @@ public class RelatedToTests {
         assertThat(newcastle.getNeighbours(), is(equalTo(asSet(gateshead, sunderland))));
     }
 
+    @Test
+    public void shouldOnlyReplaceChangedRelationshipsOfCollection() throws Exception {
+        Town gateshead = towns.save(new Town("Gateshead"));
+        Town sunderland = towns.save(new Town("Sunderland"));
+        Town durham = towns.save(new Town("Durham"));
+        Town newcastle = new Town("Newcastle");
+        newcastle.hasNeighbours(gateshead, sunderland);
+        newcastle = towns.save(newcastle);
+        final Relationship toGateshead = single(template.getNode(gateshead.getId()).getRelationships());
+
+        newcastle.getNeighbours().remove(sunderland);
+        newcastle.hasNeighbours(durham);
+        towns.save(newcastle);
+
+        assertThat(getNumberOfRelationships(template, newcastle), is(2));
+        assertThat(single(template.getNode(gateshead.getId()).getRelationships()), is(equalTo(toGateshead)));
+        assertThat(getNumberOfRelationships(template, sunderland), is(0));
+        assertThat(towns.findOne(newcastle.getId()).getNeighbours(), is(equalTo(asSet(gateshead, durham))));
+    }
+
+    @Test
+    public void shouldLoadLazyCollectionOnDemand() throws Exception {
+        Town gateshead = towns.save(new Town("Gateshead"));
+        Town sunderland = towns.save(new Town("Sunderland"));
+        Town durham = towns.save(new Town("Durham"));
+        Town newcastle = new Town("Newcastle");
+        newcastle.tradesWith(gateshead, sunderland);
+        towns.save(newcastle);
+
+        Town loaded = towns.findOne(newcastle.getId());
+        assertThat(loaded.getTradingPartners().size(), is(2));
+        assertThat(loaded.getTradingPartners().contains(gateshead), is(true));
+        assertThat(loaded.getTradingPartners().contains(durham), is(false));
+
+        loaded.getTradingPartners().remove(sunderland);
+        loaded.getTradingPartners().add(durham);
+        towns.save(loaded);
+
+        assertThat(getNumberOfRelationships(template, sunderland), is(0));
+        assertThat(towns.findOne(newcastle.getId()).getTradingPartners(), is(equalTo(asSet(gateshead, durham))));
+    }
+
     @Test
     public void shouldRelateNodesUsingAnnotationProvidedRelationshipType() throws Exception {
         Warchief orgrim = warchiefs.save(new Warchief("Orgrim Doomhammer"));
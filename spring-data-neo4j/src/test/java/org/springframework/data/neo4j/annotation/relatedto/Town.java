@@ -34,6 +34,9 @@ public class Town extends IdentifiableEntity {
     @RelatedTo
     private Set<Town> neighbours = new HashSet<Town>();
 
+    @RelatedTo(type = "trades_with", lazy = true)
+    private Set<Town> tradingPartners = new HashSet<Town>();
+
     public Town() {
 
     }
@@ -57,4 +60,12 @@ public class Town extends IdentifiableEntity {
     public Set<Town> getNeighbours() {
         return neighbours;
     }
+
+    public void tradesWith(Town... towns) {
+        this.tradingPartners.addAll(asList(towns));
+    }
+
+    public Set<Town> getTradingPartners() {
+        return tradingPartners;
+    }
 }
@@ -21,6 +21,7 @@ import org.springframework.data.neo4j.annotation.ResultColumn;
 import org.springframework.data.neo4j.mapping.Neo4jPersistentTestBase;
 import org.springframework.data.neo4j.model.Friendship;
 import org.springframework.data.neo4j.model.Person;
+import org.springframework.data.neo4j.support.conversion.MapResultTypes;
 import org.springframework.data.neo4j.support.conversion.NoSuchColumnFoundException;
 
 import java.util.HashMap;
@@ -32,6 +33,8 @@ import java.util.Set;
 import static java.util.Arrays.asList;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThat;
 import static org.junit.matchers.JUnitMatchers.hasItems;
 import static org.neo4j.helpers.collection.IteratorUtil.asCollection;
@@ -63,6 +66,11 @@ public class QueryMapResultConverterTests extends Neo4jPersistentTestBase {
         Iterable<String> getFriendNames();
     }
 
+    public interface ExtendedQuery extends SimplestQuery {
+        @ResultColumn( "age" )
+        Long getAgeAsLong();
+    }
+
     @Before
     public void init() throws Exception {
         storeInGraph( michael );
@@ -148,6 +156,22 @@ public class QueryMapResultConverterTests extends Neo4jPersistentTestBase {
 
     }
 
+    @Test
+    public void shouldReadColumnsOfInheritedMethods() throws Exception {
+        final ExtendedQuery query = new QueryMapResultConverter<ExtendedQuery>(template).convert(simpleMap, ExtendedQuery.class);
+
+        assertThat( query.getName(), equalTo( "Andres" ) );
+        assertThat( query.getAgeAsLong(), equalTo( 36L ) );
+        assertEquals( simpleMap.toString(), query.toString() );
+    }
+
+    @Test
+    public void testMapResultTypesAreCachedPerInstance() throws Exception {
+        final MapResultTypes types = new MapResultTypes();
+        assertSame( types.of( SimplestQuery.class ), types.of( SimplestQuery.class ) );
+        assertNotSame( types.of( SimplestQuery.class ), new MapResultTypes().of( SimplestQuery.class ) );
+    }
+
     private QueryMapResultConverter<SimplestQuery> getConverter() {
         return new QueryMapResultConverter<SimplestQuery>( template );
     }
@@ -0,0 +1,80 @@
+/**
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.neo4j.mapping;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.neo4j.graphdb.Node;
+import org.springframework.dao.DataRetrievalFailureException;
+import org.springframework.data.neo4j.model.Person;
+import org.springframework.data.neo4j.support.DelegatingGraphDatabase;
+import org.springframework.data.neo4j.support.Infrastructure;
+import org.springframework.data.neo4j.support.Neo4jTemplate;
+import org.springframework.data.neo4j.support.mapping.BulkEntityLoader;
+import org.springframework.data.neo4j.support.mapping.Neo4jEntityPersister;
+import org.springframework.data.neo4j.support.typerepresentation.TypeRepresentationStrategies;
+
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author mh
+ * @since 17.10.26
+ */
+public class BulkEntityLoaderTests {
+    private static final long UNTYPED_ID = 42L;
+
+    private BulkEntityLoader loader;
+
+    @Before
+    public void setUp() throws Exception {
+        final Neo4jTemplate template = mock(Neo4jTemplate.class);
+        final DelegatingGraphDatabase graphDatabase = mock(DelegatingGraphDatabase.class);
+        final Infrastructure infrastructure = mock(Infrastructure.class);
+        final TypeRepresentationStrategies typeRepresentationStrategies = mock(TypeRepresentationStrategies.class);
+        final Node untyped = mock(Node.class);
+        when(template.isNodeEntity(Person.class)).thenReturn(true);
+        when(template.getGraphDatabase()).thenReturn(graphDatabase);
+        when(template.getInfrastructure()).thenReturn(infrastructure);
+        when(graphDatabase.getNodeById(UNTYPED_ID)).thenReturn(untyped);
+        when(infrastructure.getTypeRepresentationStrategies()).thenReturn(typeRepresentationStrategies);
+        when(infrastructure.getEntityPersister()).thenReturn(mock(Neo4jEntityPersister.class));
+        when(typeRepresentationStrategies.readAliasFrom(untyped)).thenThrow(new IllegalArgumentException("The node " + untyped + " is not attached to a type hierarchy."));
+        loader = new BulkEntityLoader(template);
+    }
+
+    @Test
+    public void testSkipsUntypedNode() throws Exception {
+        assertEquals(0, loader.load(asList(UNTYPED_ID), Person.class, BulkEntityLoader.Missing.SKIP).size());
+    }
+
+    @Test
+    public void testReturnsNullForUntypedNode() throws Exception {
+        final List<Person> result = loader.load(asList(UNTYPED_ID), Person.class, BulkEntityLoader.Missing.NULL);
+        assertEquals(1, result.size());
+        assertNull(result.get(0));
+    }
+
+    @Test(expected = DataRetrievalFailureException.class)
+    public void testFailsForUntypedNode() throws Exception {
+        loader.load(asList(UNTYPED_ID), Person.class, BulkEntityLoader.Missing.FAIL);
+    }
+}
@@ -0,0 +1,98 @@
+/**
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.neo4j.mapping;
+
+import org.junit.Test;
+import org.neo4j.graphdb.Node;
+import org.springframework.data.neo4j.support.mapping.EntityFactories;
+import org.springframework.data.neo4j.support.mapping.EntityFactory;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * @author mh
+ * @since 17.10.26
+ */
+public class EntityFactoriesTests {
+
+    public static class Plain {
+        final Node node;
+
+        Plain() {
+            this.node = null;
+        }
+
+        public Plain(Node node) {
+            this.node = node;
+        }
+    }
+
+    public static class Hidden {
+        private Hidden() {
+        }
+    }
+
+    public static class Failing {
+        public Failing() {
+            throw new IllegalStateException("failed");
+        }
+    }
+
+    @Test
+    public void testGeneratesFactoryForNoArgConstructor() throws Exception {
+        final EntityFactory<Plain> factory = EntityFactories.forConstructor(Plain.class.getDeclaredConstructor());
+        assertTrue(isGenerated(factory));
+        final Plain plain = factory.newInstance(mock(Node.class));
+        assertNull(plain.node);
+    }
+
+    @Test
+    public void testGeneratesFactoryForStateTakingConstructor() throws Exception {
+        final EntityFactory<Plain> factory = EntityFactories.forConstructor(Plain.class.getConstructor(Node.class));
+        assertTrue(isGenerated(factory));
+        final Node node = mock(Node.class);
+        assertSame(node, factory.newInstance(node).node);
+    }
+
+    @Test
+    public void testUsesReflectionForPrivateConstructor() throws Exception {
+        final EntityFactory<Hidden> factory = EntityFactories.forConstructor(Hidden.class.getDeclaredConstructor());
+        assertEquals("ReflectiveFactory", factory.getClass().getSimpleName());
+        assertEquals(Hidden.class, factory.newInstance(null).getClass());
+    }
+
+    @Test
+    public void testConstructorExceptionsAreNotWrapped() throws Exception {
+        for (EntityFactory<Failing> factory : asList(EntityFactories.forConstructor(Failing.class.getConstructor()), EntityFactories.reflective(Failing.class.getConstructor()))) {
+            try {
+                factory.newInstance(null);
+            } catch (IllegalStateException expected) {
+                assertEquals("failed", expected.getMessage());
+                continue;
+            }
+            throw new AssertionError("constructor exception expected");
+        }
+    }
+
+    private boolean isGenerated(EntityFactory<?> factory) {
+        return !factory.getClass().getSimpleName().equals("ReflectiveFactory");
+    }
+}
@@ -0,0 +1,113 @@
+/**
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.neo4j.mapping;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.neo4j.graphdb.Relationship;
+import org.springframework.data.neo4j.model.Person;
+import org.springframework.data.neo4j.support.mapping.EntityIdentityCache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * @author mh
+ * @since 17.10.26
+ */
+public class EntityIdentityCacheTests extends Neo4jPersistentTestBase {
+
+    private EntityIdentityCache identityCache;
+
+    @Before
+    public void setUpCache() throws Exception {
+        identityCache = new EntityIdentityCache();
+        entityPersister.setEntityIdentityCache(identityCache);
+        identityCache.begin();
+    }
+
+    @After
+    public void tearDownCache() throws Exception {
+        identityCache.end();
+        entityPersister.setEntityIdentityCache(null);
+    }
+
+    @Test
+    public void testRepeatedReadsReturnSameInstance() throws Exception {
+        storeInGraph(michael);
+        final Person first = readPerson(michaelNode());
+        final Person second = readPerson(michaelNode());
+        assertSame(first, second);
+        assertEquals(1, identityCache.getHits());
+    }
+
+    @Test
+    public void testWriteEvictsCachedInstance() throws Exception {
+        storeInGraph(michael);
+        final Person first = readPerson(michaelNode());
+        michaelNode().setProperty("name", "Mike");
+        assertEquals("Michael", readPerson(michaelNode()).getName());
+
+        first.setAge(38);
+        write(first, michaelNode());
+        final Person reread = readPerson(michaelNode());
+        assertNotSame(first, reread);
+        assertEquals(38, reread.getAge());
+    }
+
+    @Test
+    public void testNothingIsCachedOutsideOfUnitOfWork() throws Exception {
+        storeInGraph(michael);
+        identityCache.end();
+        assertNotSame(readPerson(michaelNode()), readPerson(michaelNode()));
+    }
+
+    @Test
+    public void testShallowRelationReadIsNotServedToLoadingRead() throws Exception {
+        storeInGraph(emil);
+        // non @Fetch relationships are read with the default policy, see RelationshipHelper
+        final Person shallowBoss = entityPersister.read(Person.class, emilNode(), MappingPolicy.DEFAULT_POLICY, template);
+        assertNull(shallowBoss.getName());
+        final Person boss = entityPersister.read(Person.class, emilNode(), MappingPolicy.LOAD_POLICY, template);
+        assertNotSame(shallowBoss, boss);
+        assertEquals("Emil", boss.getName());
+        assertSame(boss, readPerson(emilNode()));
+    }
+
+    @Test
+    public void testShallowReadIsServedFromLoadedInstance() throws Exception {
+        storeInGraph(michael);
+        final Person loaded = readPerson(michaelNode());
+        assertSame(loaded, entityPersister.read(Person.class, michaelNode(), MappingPolicy.DEFAULT_POLICY, template));
+    }
+
+    @Test
+    public void testRelationshipEvictionEvictsBothNodes() throws Exception {
+        storeInGraph(michael);
+        storeInGraph(emil);
+        final Person cachedMichael = readPerson(michaelNode());
+        final Person cachedEmil = readPerson(emilNode());
+        final Relationship friendship = makeFriends(michaelNode(), emilNode(), 2);
+
+        identityCache.evict(friendship);
+
+        assertNotSame(cachedMichael, readPerson(michaelNode()));
+        assertNotSame(cachedEmil, readPerson(emilNode()));
+    }
+}
@@ -0,0 +1,141 @@
+/**
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.neo4j.mapping;
+
+import org.junit.Test;
+import org.springframework.data.neo4j.support.mapping.EntityPropertyAccessor;
+import org.springframework.data.neo4j.support.mapping.EntityPropertyAccessors;
+
+import java.lang.reflect.Field;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author mh
+ * @since 17.10.26
+ */
+public class EntityPropertyAccessorsTests {
+
+    private final EntityPropertyAccessors accessors = new EntityPropertyAccessors();
+
+    public static class Sample {
+        String name;
+        int age;
+        private String secret;
+        private long counter;
+        final String constant = "constant";
+        String described;
+
+        public String getDescribed() {
+            return described;
+        }
+
+        public void setDescribed(String described) {
+            this.described = "set:" + described;
+        }
+    }
+
+    @Test
+    public void testGeneratesAccessorForPackageVisibleField() throws Exception {
+        final EntityPropertyAccessor accessor = accessors.forField(Sample.class.getDeclaredField("name"));
+        assertTrue(isGenerated(accessor));
+        final Sample sample = new Sample();
+        accessor.setValue(sample, "Michael");
+        assertEquals("Michael", sample.name);
+        assertEquals("Michael", accessor.getValue(sample));
+        accessor.setValue(sample, null);
+        assertNull(sample.name);
+    }
+
+    @Test
+    public void testBoxesPrimitiveField() throws Exception {
+        final EntityPropertyAccessor accessor = accessors.forField(Sample.class.getDeclaredField("age"));
+        final Sample sample = new Sample();
+        accessor.setValue(sample, 36);
+        assertEquals(36, sample.age);
+        assertEquals(36, accessor.getValue(sample));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullForPrimitiveFailsLikeReflection() throws Exception {
+        accessors.forField(Sample.class.getDeclaredField("age")).setValue(new Sample(), null);
+    }
+
+    @Test
+    public void testUsesReflectionForPrivateFields() throws Exception {
+        final EntityPropertyAccessor secret = accessors.forField(Sample.class.getDeclaredField("secret"));
+        assertTrue(usesReflection(secret));
+        final Sample sample = new Sample();
+        secret.setValue(sample, "hidden");
+        assertEquals("hidden", sample.secret);
+        assertEquals("hidden", secret.getValue(sample));
+        secret.setValue(sample, null);
+        assertNull(secret.getValue(sample));
+    }
+
+    @Test
+    public void testUsesReflectionForPrivatePrimitiveFields() throws Exception {
+        final EntityPropertyAccessor counter = accessors.forField(Sample.class.getDeclaredField("counter"));
+        assertTrue(usesReflection(counter));
+        final Sample sample = new Sample();
+        counter.setValue(sample, 42L);
+        assertEquals(42L, sample.counter);
+        assertEquals(42L, counter.getValue(sample));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPrivateFieldAccessRejectsOtherTypes() throws Exception {
+        accessors.forField(Sample.class.getDeclaredField("secret")).getValue("not a sample");
+    }
+
+    @Test
+    public void testUsesReflectionForFinalFields() throws Exception {
+        assertTrue(usesReflection(accessors.forField(Sample.class.getDeclaredField("constant"))));
+    }
+
+    @Test
+    public void testPropertyAccessorUsesGetterAndSetter() throws Exception {
+        final EntityPropertyAccessor accessor = accessors.forProperty(Sample.class.getDeclaredField("described"),
+                Sample.class.getMethod("getDescribed"), Sample.class.getMethod("setDescribed", String.class));
+        assertTrue(isGenerated(accessor));
+        final Sample sample = new Sample();
+        accessor.setValue(sample, "value");
+        assertEquals("set:value", accessor.getValue(sample));
+    }
+
+    @Test
+    public void testAccessorsAreShared() throws Exception {
+        assertTrue(accessors.forField(Sample.class.getDeclaredField("name")) == accessors.forField(Sample.class.getDeclaredField("name")));
+    }
+
+    @Test
+    public void testAccessorsAreNotSharedBetweenInstances() throws Exception {
+        assertTrue(accessors.forField(Sample.class.getDeclaredField("name")) != new EntityPropertyAccessors().forField(Sample.class.getDeclaredField("name")));
+    }
+
+    private boolean usesReflection(EntityPropertyAccessor accessor) {
+        return accessor.getClass().getSimpleName().equals("ReflectiveAccessor");
+    }
+
+    private boolean isGenerated(EntityPropertyAccessor accessor) throws Exception {
+        if (usesReflection(accessor)) return false;
+        final Field generated = accessor.getClass().getDeclaredField("generated");
+        generated.setAccessible(true);
+        return generated.get(accessor).getClass().getName().contains("$$Neo4jAccessor$");
+    }
+}
@@ -0,0 +1,117 @@
+/**
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.neo4j.mapping;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.Relationship;
+import org.springframework.data.neo4j.core.GraphDatabase;
+import org.springframework.data.neo4j.core.TypeRepresentationStrategy;
+import org.springframework.data.neo4j.support.index.EntityIndexNames;
+import org.springframework.data.neo4j.support.mapping.EntityRemover;
+import org.springframework.data.neo4j.support.mapping.EntityStateHandler;
+
+import java.util.Collection;
+import java.util.Collections;
+
+import static java.util.Arrays.asList;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author mh
+ * @since 17.10.26
+ */
+public class EntityRemoverTests {
+
+    public static class Movie {
+    }
+
+    private EntityStateHandler entityStateHandler;
+    private TypeRepresentationStrategy<Node> nodeTypeRepresentationStrategy;
+    private TypeRepresentationStrategy<Relationship> relationshipTypeRepresentationStrategy;
+    private GraphDatabase graphDatabase;
+    private EntityIndexNames entityIndexNames;
+    private EntityRemover entityRemover;
+    private Node node;
+    private final Movie movie = new Movie();
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() throws Exception {
+        entityStateHandler = mock(EntityStateHandler.class);
+        nodeTypeRepresentationStrategy = mock(TypeRepresentationStrategy.class);
+        relationshipTypeRepresentationStrategy = mock(TypeRepresentationStrategy.class);
+        graphDatabase = mock(GraphDatabase.class);
+        entityIndexNames = mock(EntityIndexNames.class);
+        node = mock(Node.class);
+        when(node.getRelationships()).thenReturn(Collections.<Relationship>emptyList());
+        when(entityStateHandler.getPersistentState(movie, Node.class)).thenReturn(node);
+        entityRemover = new EntityRemover(entityStateHandler, nodeTypeRepresentationStrategy, relationshipTypeRepresentationStrategy, graphDatabase);
+        entityRemover.setEntityIndexNames(entityIndexNames);
+    }
+
+    @Test
+    public void testRemovesNodeEntityFromIndexesOfPersistedType() throws Exception {
+        final Collection<String> indexNames = asList("Blockbuster", "title");
+        when(nodeTypeRepresentationStrategy.readAliasFrom(node)).thenReturn("Blockbuster");
+        when(entityIndexNames.indexNamesForAlias("Blockbuster")).thenReturn(indexNames);
+
+        entityRemover.removeNodeEntity(movie);
+
+        final InOrder inOrder = inOrder(nodeTypeRepresentationStrategy, graphDatabase);
+        inOrder.verify(nodeTypeRepresentationStrategy).readAliasFrom(node);
+        inOrder.verify(nodeTypeRepresentationStrategy).preEntityRemoval(node);
+        inOrder.verify(graphDatabase).remove(node, indexNames);
+        verify(entityIndexNames, never()).indexNamesFor(Movie.class);
+    }
+
+    @Test
+    public void testRemovesNodeEntityFromAllIndexesForUnknownAlias() throws Exception {
+        when(nodeTypeRepresentationStrategy.readAliasFrom(node)).thenReturn("Unknown");
+
+        entityRemover.removeNodeEntity(movie);
+
+        verify(graphDatabase).remove(node);
+    }
+
+    @Test
+    public void testRemovesNodeEntityFromAllIndexesWithoutTypeRepresentation() throws Exception {
+        when(nodeTypeRepresentationStrategy.readAliasFrom(node)).thenThrow(new IllegalArgumentException("not attached to a type"));
+
+        entityRemover.removeNodeEntity(movie);
+
+        verify(graphDatabase).remove(node);
+    }
+
+    @Test
+    public void testRemovesRelationshipEntityFromIndexesOfPersistedType() throws Exception {
+        final Relationship relationship = mock(Relationship.class);
+        final Object role = new Object();
+        final Collection<String> indexNames = asList("Role");
+        when(entityStateHandler.getPersistentState(role, Relationship.class)).thenReturn(relationship);
+        when(relationshipTypeRepresentationStrategy.readAliasFrom(relationship)).thenReturn("Role");
+        when(entityIndexNames.indexNamesForAlias("Role")).thenReturn(indexNames);
+
+        entityRemover.removeRelationshipEntity(role);
+
+        final InOrder inOrder = inOrder(relationshipTypeRepresentationStrategy, graphDatabase);
+        inOrder.verify(relationshipTypeRepresentationStrategy).readAliasFrom(relationship);
+        inOrder.verify(relationshipTypeRepresentationStrategy).preEntityRemoval(relationship);
+        inOrder.verify(graphDatabase).remove(relationship, indexNames);
+    }
+}
@@ -0,0 +1,166 @@
+/**
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.neo4j.mapping;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.Relationship;
+import org.springframework.data.neo4j.fieldaccess.NodeDelegatingFieldAccessorFactory;
+import org.springframework.data.neo4j.fieldaccess.RelationshipDelegatingFieldAccessorFactory;
+import org.springframework.data.neo4j.model.Person;
+import org.springframework.data.neo4j.support.mapping.EntitySnapshots;
+import org.springframework.data.neo4j.support.mapping.EntityTools;
+import org.springframework.data.neo4j.support.mapping.Neo4jEntityPersister;
+import org.springframework.data.neo4j.support.node.NodeEntityStateFactory;
+import org.springframework.data.neo4j.support.relationship.RelationshipEntityStateFactory;
+
+import javax.transaction.Status;
+import javax.transaction.Synchronization;
+import javax.transaction.Transaction;
+import javax.transaction.TransactionManager;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author mh
+ * @since 17.10.26
+ */
+public class EntitySnapshotsTests extends Neo4jPersistentTestBase {
+
+    private EntitySnapshots entitySnapshots;
+    private Neo4jEntityPersister trackingPersister;
+
+    @Before
+    public void setUpTracking() throws Exception {
+        useSnapshots(new EntitySnapshots(mappingContext, template.getGraphDatabase().getTransactionManager()));
+    }
+
+    private void useSnapshots(EntitySnapshots snapshots) {
+        entitySnapshots = snapshots;
+        final EntityTools<Node> nodeEntityTools = new EntityTools<Node>(template.getInfrastructure().getNodeTypeRepresentationStrategy(),
+                new NodeEntityStateFactory(mappingContext, new NodeDelegatingFieldAccessorFactory.Factory()), nodeEntityInstantiator, mappingContext, entitySnapshots);
+        final EntityTools<Relationship> relationshipEntityTools = new EntityTools<Relationship>(template.getInfrastructure().getRelationshipTypeRepresentationStrategy(),
+                new RelationshipEntityStateFactory(mappingContext, new RelationshipDelegatingFieldAccessorFactory.Factory()), relationshipEntityInstantiator, mappingContext, entitySnapshots);
+        trackingPersister = new Neo4jEntityPersister(conversionService, nodeEntityTools, relationshipEntityTools, mappingContext, template.getInfrastructure().getEntityStateHandler());
+    }
+
+    @Test
+    public void testOnlyChangedPropertiesAreWritten() throws Exception {
+        storeInGraph(michael);
+        final Person loaded = trackingPersister.read(Person.class, michaelNode(), template.getMappingPolicy(Person.class), template);
+        michaelNode().setProperty("name", "Mike");
+        entitySnapshots.resetStatistics();
+
+        loaded.setAge(38);
+        trackingPersister.write(loaded, michaelNode(), template.getMappingPolicy(loaded), template, null);
+
+        assertEquals(38, michaelNode().getProperty("age"));
+        assertEquals("unchanged name was not written", "Mike", michaelNode().getProperty("name"));
+        assertTrue(entitySnapshots.getSkippedWrites() > 0);
+    }
+
+    @Test
+    public void testUnknownEntitiesAreWrittenCompletely() throws Exception {
+        storeInGraph(michael);
+        michaelNode().setProperty("name", "Mike");
+        entitySnapshots.resetStatistics();
+
+        trackingPersister.write(michael, michaelNode(), template.getMappingPolicy(michael), template, null);
+
+        assertEquals("Michael", michaelNode().getProperty("name"));
+        assertEquals(0, entitySnapshots.getSkippedWrites());
+    }
+
+    @Test
+    public void testSnapshotsOfRolledBackTransactionsAreDiscarded() throws Exception {
+        final Transaction tx = mock(Transaction.class);
+        final TransactionManager transactionManager = mock(TransactionManager.class);
+        when(transactionManager.getTransaction()).thenReturn(tx);
+        useSnapshots(new EntitySnapshots(mappingContext, transactionManager));
+        storeInGraph(michael);
+        final Person loaded = trackingPersister.read(Person.class, michaelNode(), template.getMappingPolicy(Person.class), template);
+        loaded.setName("Mike");
+        trackingPersister.write(loaded, michaelNode(), template.getMappingPolicy(loaded), template, null);
+
+        final ArgumentCaptor<Synchronization> synchronization = ArgumentCaptor.forClass(Synchronization.class);
+        verify(tx).registerSynchronization(synchronization.capture());
+        michaelNode().setProperty("name", "Michael");
+        synchronization.getValue().afterCompletion(Status.STATUS_ROLLEDBACK);
+
+        trackingPersister.write(loaded, michaelNode(), template.getMappingPolicy(loaded), template, null);
+        assertEquals("Mike", michaelNode().getProperty("name"));
+    }
+
+    @Test
+    public void testSnapshotOfEarlierTransactionDoesNotHideConcurrentChange() throws Exception {
+        final TransactionManager transactionManager = mock(TransactionManager.class);
+        final Person loaded = loadInCommittedTransaction(transactionManager);
+        michaelNode().setProperty("name", "Mike");
+
+        loaded.setAge(38);
+        trackingPersister.write(loaded, michaelNode(), template.getMappingPolicy(loaded), template, null);
+
+        assertEquals(38, michaelNode().getProperty("age"));
+        assertEquals("Michael", michaelNode().getProperty("name"));
+    }
+
+    @Test
+    public void testSnapshotOfEarlierTransactionSkipsValuesStillInGraph() throws Exception {
+        final TransactionManager transactionManager = mock(TransactionManager.class);
+        final Person loaded = loadInCommittedTransaction(transactionManager);
+        entitySnapshots.resetStatistics();
+
+        loaded.setAge(38);
+        trackingPersister.write(loaded, michaelNode(), template.getMappingPolicy(loaded), template, null);
+
+        assertEquals(38, michaelNode().getProperty("age"));
+        assertTrue(entitySnapshots.getSkippedWrites() > 0);
+    }
+
+    private Person loadInCommittedTransaction(TransactionManager transactionManager) throws Exception {
+        final Transaction loadTx = mock(Transaction.class);
+        when(transactionManager.getTransaction()).thenReturn(loadTx);
+        useSnapshots(new EntitySnapshots(mappingContext, transactionManager));
+        storeInGraph(michael);
+        final Person loaded = trackingPersister.read(Person.class, michaelNode(), template.getMappingPolicy(Person.class), template);
+
+        final ArgumentCaptor<Synchronization> synchronization = ArgumentCaptor.forClass(Synchronization.class);
+        verify(loadTx).registerSynchronization(synchronization.capture());
+        synchronization.getValue().afterCompletion(Status.STATUS_COMMITTED);
+        when(transactionManager.getTransaction()).thenReturn(mock(Transaction.class));
+        return loaded;
+    }
+
+    @Test
+    public void testSnapshotsAreNotSharedBetweenEqualEntities() throws Exception {
+        storeInGraph(michael);
+        trackingPersister.read(Person.class, michaelNode(), template.getMappingPolicy(Person.class), template);
+        michaelNode().setProperty("name", "Mike");
+
+        final Person copy = new Person(michael.getId());
+        copy.setName("Michael");
+        copy.setAge(37);
+        trackingPersister.write(copy, michaelNode(), template.getMappingPolicy(copy), template, null);
+
+        assertEquals("Michael", michaelNode().getProperty("name"));
+    }
+}
@@ -21,10 +21,13 @@ import org.springframework.data.mapping.model.MappingException;
 import org.springframework.data.neo4j.model.Person;
 import org.springframework.data.neo4j.model.PrimitiveIdEntity;
 import org.springframework.data.neo4j.support.index.IndexType;
+import org.springframework.data.neo4j.support.mapping.EntityTypeCache;
 import org.springframework.data.neo4j.support.mapping.Neo4jMappingContext;
 import org.springframework.data.neo4j.support.mapping.Neo4jPersistentEntityImpl;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 
 /**
  * @author mh
@@ -61,4 +64,21 @@ public class Neo4jMappingContextTests {
     public void testPrimitiveGraphIdFails() {
         mappingContext.getPersistentEntity(PrimitiveIdEntity.class);
     }
+
+    @Test
+    public void testAliasResolutionIsCached() {
+        final EntityTypeCache cache = mappingContext.getEntityTypeCache();
+        final Object alias = personType.getEntityType().getAlias();
+        assertSame(personType, mappingContext.getPersistentEntity(alias));
+        assertSame(personType, mappingContext.getPersistentEntity(alias));
+        assertSame(personType, mappingContext.getPersistentEntity(Person.class.getName()));
+        assertEquals(1, cache.getHits());
+        assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    public void testUnknownAliasesAreNotCached() {
+        assertNull(mappingContext.getPersistentEntity("UnknownAlias"));
+        assertEquals(0, mappingContext.getEntityTypeCache().size());
+    }
 }
@@ -0,0 +1,70 @@
+/**
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.neo4j.mapping;
+
+import org.junit.Test;
+import org.springframework.data.mapping.Association;
+import org.springframework.data.mapping.AssociationHandler;
+import org.springframework.data.mapping.PropertyHandler;
+import org.springframework.data.neo4j.model.Person;
+import org.springframework.data.neo4j.support.mapping.Neo4jPersistentEntityImpl;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author mh
+ * @since 17.10.26
+ */
+public class PropertySlotsTests extends Neo4jPersistentTestBase {
+
+    @Test
+    public void testPropertiesHaveDistinctSlotsWithinTheirEntity() throws Exception {
+        final Neo4jPersistentEntityImpl<?> entity = mappingContext.getPersistentEntity(Person.class);
+        final Set<Integer> slots = new HashSet<Integer>();
+        entity.doWithProperties(new PropertyHandler<Neo4jPersistentProperty>() {
+            public void doWithPersistentProperty(Neo4jPersistentProperty property) {
+                assertTrue(property + " has no slot", property.getSlot() >= 0);
+                assertTrue(property + " shares its slot", slots.add(property.getSlot()));
+            }
+        });
+        entity.doWithAssociations(new AssociationHandler<Neo4jPersistentProperty>() {
+            public void doWithAssociation(Association<Neo4jPersistentProperty> association) {
+                final Neo4jPersistentProperty property = association.getInverse();
+                assertTrue(property + " has no slot", property.getSlot() >= 0);
+                assertTrue(property + " shares its slot", slots.add(property.getSlot()));
+            }
+        });
+        assertEquals(entity.getSlotCount(), slots.size());
+    }
+
+    @Test
+    public void testPropertiesAreReadAndWrittenThroughSharedAccessors() throws Exception {
+        storeInGraph(michael);
+        storeInGraph(emil);
+        final Person first = readPerson(michaelNode());
+        final Person second = readPerson(emilNode());
+        assertEquals("Michael", first.getName());
+        assertEquals("Emil", second.getName());
+        second.setAge(40);
+        write(second, emilNode());
+        assertEquals(40, emilNode().getProperty("age"));
+        assertEquals(michael.getAge(), michaelNode().getProperty("age"));
+    }
+}
@@ -33,6 +33,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.neo4j.conversion.ClosableIterator;
+import org.springframework.data.neo4j.conversion.Handler;
 import org.springframework.data.neo4j.model.*;
 import org.springframework.data.neo4j.support.Neo4jTemplate;
 import org.springframework.data.neo4j.support.conversion.NoSuchColumnFoundException;
@@ -152,6 +154,26 @@ public class GraphRepositoryTests {
         assertThat( asCollection( teamMembers ), hasItems( testTeam.michael, testTeam.david, testTeam.emil ) );
     }
 
+    @Test @Transactional
+    public void testIterateOverPersonsWithQueryAnnotation() {
+        final ClosableIterator<Person> teamMembers = personRepository.iterateTeamMembers(testTeam.sdg);
+        final Collection<Person> result = addToCollection(teamMembers, new ArrayList<Person>());
+        assertThat(result, hasItems(testTeam.michael, testTeam.david, testTeam.emil));
+        assertFalse(teamMembers.hasNext());
+        teamMembers.close();
+    }
+
+    @Test @Transactional
+    public void testHandlePersonsWithQueryAnnotation() {
+        final List<Person> result = new ArrayList<Person>();
+        personRepository.handleTeamMembers(testTeam.sdg, new Handler<Person>() {
+            public void handle(Person value) {
+                result.add(value);
+            }
+        });
+        assertThat(result, hasItems(testTeam.michael, testTeam.david, testTeam.emil));
+    }
+
     @Test @Transactional
     public void testFindIterableOfPersonWithQueryAnnotationSpatial() {
         Iterable<Person> teamMembers = personRepository.findWithinBoundingBox("personLayer", 55, 15, 57, 17);
@@ -191,6 +213,40 @@ public class GraphRepositoryTests {
         assertEquals(1, people.getTotalPages());
     }
 
+    @Test @Transactional
+    public void testFindAllSorted() {
+        final Iterable<Person> people = personRepository.findAll(new Sort(Sort.Direction.DESC, "age"));
+        assertEquals(asList("Michael", "Emil", "David"), names(people));
+    }
+
+    @Test(expected = IllegalArgumentException.class) @Transactional
+    public void testFindAllSortedRejectsUnknownProperty() {
+        personRepository.findAll(new Sort("name` delete n //"));
+    }
+
+    @Test @Transactional
+    public void testFindAllSortedPage() {
+        final Page<Person> people = personRepository.findAll(new PageRequest(1, 2, Sort.Direction.ASC, "name"));
+        assertEquals(asList("Michael"), names(people));
+        assertEquals(3, people.getTotalElements());
+        assertEquals(2, people.getTotalPages());
+    }
+
+    @Test @Transactional
+    public void testFindAllPageSkipsPrecedingInstances() {
+        final Page<Person> people = personRepository.findAll(new PageRequest(1, 2));
+        assertEquals(1, people.getContent().size());
+        assertEquals(3, people.getTotalElements());
+    }
+
+    private List<String> names(Iterable<Person> people) {
+        final List<String> names = new ArrayList<String>();
+        for (Person person : people) {
+            names.add(person.getName());
+        }
+        return names;
+    }
+
     @Test @Transactional
     public void testCypherQueryForPageWithCount() {
         Page<Person> people = personRepository.findSubordinatesWithCount(testTeam.emil, new PageRequest(0, 1));
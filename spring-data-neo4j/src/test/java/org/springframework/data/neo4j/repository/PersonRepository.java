@@ -23,7 +23,9 @@ import org.springframework.data.neo4j.annotation.MapResult;
 import org.springframework.data.neo4j.annotation.Query;
 import org.springframework.data.neo4j.annotation.QueryType;
 import org.springframework.data.neo4j.annotation.ResultColumn;
+import org.springframework.data.neo4j.conversion.ClosableIterator;
 import org.springframework.data.neo4j.conversion.EndResult;
+import org.springframework.data.neo4j.conversion.Handler;
 import org.springframework.data.neo4j.model.Group;
 import org.springframework.data.neo4j.model.Person;
 import org.springframework.data.repository.query.Param;
@@ -42,6 +44,12 @@ public interface PersonRepository extends GraphRepository<Person>, NamedIndexRep
     @Query("start team=node({p_team}) match (team)-[:persons]->(member) return member")
     Iterable<Person> findAllTeamMembers(@Param("p_team") Group team);
 
+    @Query("start team=node({p_team}) match (team)-[:persons]->(member) return member")
+    ClosableIterator<Person> iterateTeamMembers(@Param("p_team") Group team);
+
+    @Query("start team=node({p_team}) match (team)-[:persons]->(member) return member")
+    void handleTeamMembers(@Param("p_team") Group team, @Param("handler") Handler<Person> handler);
+
     @Query(value = "g.v(team).out('persons')", type = QueryType.Gremlin)
     Iterable<Person> findAllTeamMembersGremlin(@Param("team") Group team);
 
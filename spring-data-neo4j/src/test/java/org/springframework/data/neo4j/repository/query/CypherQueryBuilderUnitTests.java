@@ -26,6 +26,10 @@ import org.springframework.data.neo4j.support.Neo4jTemplate;
 import org.springframework.data.neo4j.support.mapping.Neo4jMappingContext;
 import org.springframework.data.repository.query.parser.Part;
 
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
 
@@ -161,7 +165,56 @@ public class CypherQueryBuilderUnitTests {
     public void buildsQueryWithPage() {
         query.addRestriction(new Part("name",Person.class));
         Pageable pageable = new PageRequest(3,10,new Sort("person.name"));
-        assertThat(query.buildQuery().toQueryString(pageable), is("START `person`=node:`Person`(`name`={0}) RETURN `person` ORDER BY person.name ASC SKIP 30 LIMIT 10"));
+        assertThat(query.buildQuery().toQueryString(pageable), is("START `person`=node:`Person`(`name`={0}) RETURN `person` ORDER BY person.name ASC SKIP {__skip__} LIMIT {__limit__}"));
+    }
+
+    @Test
+    public void passesPageAsSkipAndLimitParameters() {
+        final Map<String, Object> params = Collections.<String, Object>singletonMap("0", "Michael");
+        final Map<String, Object> pagedParams = QueryTemplates.withPaging(params, new PageRequest(3, 10));
+        assertThat(pagedParams.get("0"), is((Object) "Michael"));
+        assertThat(pagedParams.get(QueryTemplates.SKIP_PARAMETER), is((Object) 30));
+        assertThat(pagedParams.get(QueryTemplates.LIMIT_PARAMETER), is((Object) 10));
+        assertThat(params.containsKey(QueryTemplates.SKIP_PARAMETER), is(false));
+    }
+
+    @Test
+    public void keepsUserParametersNamedSkipAndLimit() {
+        final Map<String, Object> params = new HashMap<String, Object>();
+        params.put("skip", "user skip");
+        params.put("limit", "user limit");
+        final Map<String, Object> pagedParams = QueryTemplates.withPaging(params, new PageRequest(3, 10));
+        assertThat(pagedParams.get("skip"), is((Object) "user skip"));
+        assertThat(pagedParams.get("limit"), is((Object) "user limit"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsUserParametersWithReservedPagingNames() {
+        QueryTemplates.withPaging(Collections.<String, Object>singletonMap(QueryTemplates.SKIP_PARAMETER, 5), new PageRequest(3, 10));
+    }
+
+    @Test
+    public void rendersQueryAgainAfterAddingRestriction() {
+        query.addRestriction(new Part("name",Person.class));
+        Pageable pageable = new PageRequest(3,10,new Sort("person.name"));
+        assertThat(query.buildQuery().toQueryString(pageable), is("START `person`=node:`Person`(`name`={0}) RETURN `person` ORDER BY person.name ASC SKIP {__skip__} LIMIT {__limit__}"));
+        query.addRestriction(new Part("infoLike", Person.class));
+        assertThat(query.buildQuery().toQueryString(pageable), is("START `person`=node:`Person`(`name`={0}) WHERE `person`.`info`! =~ {1} RETURN `person` ORDER BY person.name ASC SKIP {__skip__} LIMIT {__limit__}"));
+    }
+
+    @Test
+    public void findsPartInfoByParameterIndex() {
+        query.addRestriction(new Part("name",Person.class));
+        query.addRestriction(new Part("infoLike", Person.class));
+        final CypherQuery cypherQuery = (CypherQuery) query.buildQuery();
+        assertThat(cypherQuery.getPartInfo(0).getIdentifier(), is("person"));
+        assertThat(cypherQuery.getPartInfo(1).getParameterIndex(), is(1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void failsForUnknownParameterIndex() {
+        query.addRestriction(new Part("name",Person.class));
+        ((CypherQuery) query.buildQuery()).getPartInfo(1);
     }
 
     @Test
@@ -24,6 +24,7 @@ import org.neo4j.graphdb.Transaction;
 import org.neo4j.helpers.collection.MapUtil;
 import org.neo4j.test.ImpermanentGraphDatabase;
 
+import static java.util.Arrays.asList;
 import static org.junit.Assert.assertEquals;
 import static org.neo4j.helpers.collection.MapUtil.map;
 
@@ -72,4 +73,17 @@ public class DelegatingGraphDatabaseTests {
         tx.success();
         tx.finish();
     }
+
+    @Test
+    public void testRemoveNodeFromGivenIndexesOnly() throws Exception {
+        final Transaction tx = gdb.beginTx();
+        final Node david = graphDatabase.createNode(map("name", "David"));
+        gdb.index().forNodes("user").add(david, "name", "David");
+        gdb.index().forNodes("other").add(david, "name", "David");
+        graphDatabase.remove(david, asList("user", "missing"));
+        assertEquals(null, gdb.index().forNodes("user").get("name", "David").getSingle());
+        assertEquals(1, gdb.index().forNodes("other").get("name", "David").size());
+        tx.failure();
+        tx.finish();
+    }
 }
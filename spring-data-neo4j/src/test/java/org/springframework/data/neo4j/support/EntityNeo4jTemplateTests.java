@@ -38,6 +38,8 @@ import org.springframework.data.neo4j.model.Group;
 import org.springframework.data.neo4j.model.Named;
 import org.springframework.data.neo4j.model.Person;
 import org.springframework.data.neo4j.repository.GraphRepository;
+import org.springframework.data.neo4j.support.mapping.BulkEntityLoader;
+import org.springframework.data.neo4j.support.node.Neo4jHelper;
 import org.springframework.data.neo4j.support.query.QueryEngine;
 import org.springframework.data.neo4j.template.Neo4jOperations;
 import org.springframework.test.context.ContextConfiguration;
@@ -378,4 +380,87 @@ public class EntityNeo4jTemplateTests extends EntityTestBase {
         final Person found = neo4jOperations.lookup(Person.class, "name","Michael").to(Person.class).single();
         assertEquals(testTeam.michael.getId(),found.getId());
     }
+
+    @Test
+    public void testSaveInBatches() throws Exception {
+        final long count = neo4jOperations.count(Person.class);
+        final List<Person> persons = new ArrayList<Person>();
+        for (int i = 0; i < 5; i++) {
+            persons.add(new Person("Batch " + i, i));
+        }
+        final List<Person> saved = neo4jOperations.save(persons, 2);
+        assertEquals(5, saved.size());
+        for (int i = 0; i < 5; i++) {
+            assertNotNull(persons.get(i).getId());
+            assertEquals("Batch " + i, saved.get(i).getName());
+        }
+        assertEquals(count + 5, neo4jOperations.count(Person.class));
+    }
+
+    @Test
+    public void testFindAllByIdsInInputOrder() throws Exception {
+        final List<Long> ids = Arrays.asList(testTeam.david.getId(), testTeam.michael.getId(), testTeam.david.getId(), testTeam.sdg.getId(), Long.MAX_VALUE);
+
+        final List<Person> skipped = neo4jOperations.findAll(ids, Person.class, BulkEntityLoader.Missing.SKIP);
+        assertEquals(3, skipped.size());
+        assertEquals("David", skipped.get(0).getName());
+        assertEquals("Michael", skipped.get(1).getName());
+        assertSame(skipped.get(0), skipped.get(2));
+
+        final List<Person> withNulls = neo4jOperations.findAll(ids, Person.class, BulkEntityLoader.Missing.NULL);
+        assertEquals(5, withNulls.size());
+        assertEquals("Michael", withNulls.get(1).getName());
+        assertNull(withNulls.get(3));
+        assertNull(withNulls.get(4));
+    }
+
+    @Test(expected = DataRetrievalFailureException.class)
+    public void testFindAllByIdsFailsForMissingId() throws Exception {
+        neo4jOperations.findAll(Arrays.asList(testTeam.michael.getId(), Long.MAX_VALUE), Person.class, BulkEntityLoader.Missing.FAIL);
+    }
+
+    @Test
+    public void testIndexedPropertyWriteAfterIndexesWereDeleted() throws Exception {
+        final TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.execute(new TransactionCallbackWithoutResult() {
+            @Override
+            protected void doInTransactionWithoutResult(TransactionStatus status) {
+                template.save(new Person("Emil", 30));
+            }
+        });
+        Neo4jHelper.cleanDb(graphDatabaseService);
+        tx.execute(new TransactionCallbackWithoutResult() {
+            @Override
+            protected void doInTransactionWithoutResult(TransactionStatus status) {
+                template.save(new Person("Rik", 33));
+            }
+        });
+        final Person found = template.lookup(Person.NAME_INDEX, "name", "Rik").to(Person.class).single();
+        assertEquals("Rik", found.getName());
+    }
+
+    @Test
+    public void testIndexedPropertyWriteAfterIndexWasDeletedDirectly() throws Exception {
+        final TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.execute(new TransactionCallbackWithoutResult() {
+            @Override
+            protected void doInTransactionWithoutResult(TransactionStatus status) {
+                template.save(new Person("Emil", 30));
+            }
+        });
+        tx.execute(new TransactionCallbackWithoutResult() {
+            @Override
+            protected void doInTransactionWithoutResult(TransactionStatus status) {
+                graphDatabaseService.index().forNodes(Person.NAME_INDEX).delete();
+            }
+        });
+        tx.execute(new TransactionCallbackWithoutResult() {
+            @Override
+            protected void doInTransactionWithoutResult(TransactionStatus status) {
+                template.save(new Person("Rik", 33));
+            }
+        });
+        final Person found = template.lookup(Person.NAME_INDEX, "name", "Rik").to(Person.class).single();
+        assertEquals("Rik", found.getName());
+    }
 }
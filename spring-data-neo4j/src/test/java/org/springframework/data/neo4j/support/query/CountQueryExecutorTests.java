@@ -0,0 +1,182 @@
+/**
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.neo4j.support.query;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.data.neo4j.conversion.EndResult;
+import org.springframework.data.neo4j.conversion.Result;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.springframework.data.neo4j.core.GraphDatabase;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static java.util.Collections.singletonMap;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.anyMap;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author mh
+ * @since 17.10.26
+ */
+public class CountQueryExecutorTests {
+    private static final String COUNT_QUERY = "start n=node(*) return count(*)";
+
+    private QueryEngine<Object> engine;
+    private GraphDatabase graphDatabase;
+    private Result<Object> result;
+    private final List<Runnable> submitted = new ArrayList<Runnable>();
+    private final Executor executor = new Executor() {
+        public void execute(Runnable command) {
+            submitted.add(command);
+            command.run();
+        }
+    };
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() throws Exception {
+        engine = mock(QueryEngine.class);
+        result = mock(Result.class);
+        final EndResult<Long> endResult = mock(EndResult.class);
+        when(engine.query(anyString(), anyMap())).thenReturn(result);
+        when(result.to(Long.class)).thenReturn(endResult);
+        when(endResult.singleOrNull()).thenReturn(42L);
+        graphDatabase = mock(GraphDatabase.class);
+    }
+
+    @Test
+    public void testRunsCountOnExecutorOutsideOfTransaction() throws Exception {
+        final CountQueryExecutor countQueryExecutor = new CountQueryExecutor(executor, 0);
+        final Long count = countQueryExecutor.await(countQueryExecutor.count(engine, COUNT_QUERY, params(1), graphDatabase));
+        assertEquals(42L, count.longValue());
+        assertEquals(1, submitted.size());
+    }
+
+    @Test
+    public void testRunsCountInCallingThreadWithinTransaction() throws Exception {
+        when(graphDatabase.transactionIsRunning()).thenReturn(true);
+        final CountQueryExecutor countQueryExecutor = new CountQueryExecutor(executor, 0);
+        final Long count = countQueryExecutor.await(countQueryExecutor.count(engine, COUNT_QUERY, params(1), graphDatabase));
+        assertEquals(42L, count.longValue());
+        assertEquals(0, submitted.size());
+    }
+
+    @Test
+    public void testReusesCachedCountForSameParameters() throws Exception {
+        final CountQueryExecutor countQueryExecutor = new CountQueryExecutor(null, 60000);
+        countQueryExecutor.await(countQueryExecutor.count(engine, COUNT_QUERY, params(1), graphDatabase));
+        countQueryExecutor.await(countQueryExecutor.count(engine, COUNT_QUERY, params(1), graphDatabase));
+        verify(engine, times(1)).query(COUNT_QUERY, params(1));
+
+        countQueryExecutor.await(countQueryExecutor.count(engine, COUNT_QUERY, params(2), graphDatabase));
+        verify(engine, times(1)).query(COUNT_QUERY, params(2));
+    }
+
+    @Test
+    public void testBypassesCacheWithinTransaction() throws Exception {
+        when(graphDatabase.transactionIsRunning()).thenReturn(true);
+        final CountQueryExecutor countQueryExecutor = new CountQueryExecutor(null, 60000);
+        countQueryExecutor.await(countQueryExecutor.count(engine, COUNT_QUERY, params(1), graphDatabase));
+        countQueryExecutor.await(countQueryExecutor.count(engine, COUNT_QUERY, params(1), graphDatabase));
+        verify(engine, times(2)).query(COUNT_QUERY, params(1));
+
+        when(graphDatabase.transactionIsRunning()).thenReturn(false);
+        countQueryExecutor.await(countQueryExecutor.count(engine, COUNT_QUERY, params(1), graphDatabase));
+        verify(engine, times(3)).query(COUNT_QUERY, params(1));
+    }
+
+    @Test
+    public void testCountsInCallingThreadIfExecutorRejects() throws Exception {
+        final Executor rejecting = new Executor() {
+            public void execute(Runnable command) {
+                throw new RejectedExecutionException("saturated");
+            }
+        };
+        final CountQueryExecutor countQueryExecutor = new CountQueryExecutor(rejecting, 0);
+        final Long count = countQueryExecutor.await(countQueryExecutor.count(engine, COUNT_QUERY, params(1), graphDatabase));
+        assertEquals(42L, count.longValue());
+    }
+
+    @Test
+    public void testCountsInCallingThreadIfExecutorDoesNotFinishInTime() throws Exception {
+        final Executor queueing = new Executor() {
+            public void execute(Runnable command) {
+                submitted.add(command);
+            }
+        };
+        final CountQueryExecutor countQueryExecutor = new CountQueryExecutor(queueing, 0, 10);
+        final Long count = countQueryExecutor.await(countQueryExecutor.count(engine, COUNT_QUERY, params(1), graphDatabase));
+        assertEquals(42L, count.longValue());
+        assertEquals(1, submitted.size());
+        verify(engine, times(1)).query(COUNT_QUERY, params(1));
+    }
+
+    @Test
+    public void testDoesNotInterruptCountStillRunningOnExecutor() throws Exception {
+        final Thread caller = Thread.currentThread();
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicBoolean interrupted = new AtomicBoolean();
+        when(engine.query(anyString(), anyMap())).thenAnswer(new Answer<Result<Object>>() {
+            public Result<Object> answer(InvocationOnMock invocation) throws Throwable {
+                if (Thread.currentThread() != caller) {
+                    started.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        interrupted.set(true);
+                    }
+                }
+                return result;
+            }
+        });
+        final List<Thread> workers = new ArrayList<Thread>();
+        final Executor threaded = new Executor() {
+            public void execute(Runnable command) {
+                final Thread worker = new Thread(command);
+                workers.add(worker);
+                worker.start();
+            }
+        };
+        final CountQueryExecutor countQueryExecutor = new CountQueryExecutor(threaded, 0, 10);
+        final Future<Long> count = countQueryExecutor.count(engine, COUNT_QUERY, params(1), graphDatabase);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        assertEquals(42L, countQueryExecutor.await(count).longValue());
+
+        release.countDown();
+        workers.get(0).join(5000);
+        assertFalse(interrupted.get());
+    }
+
+    private Map<String, Object> params(Object value) {
+        return singletonMap("id", value);
+    }
+}
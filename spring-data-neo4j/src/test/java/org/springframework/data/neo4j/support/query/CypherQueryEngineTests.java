@@ -0,0 +1,84 @@
+/**
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.neo4j.support.query;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.neo4j.test.ImpermanentGraphDatabase;
+
+import java.util.Collections;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author mh
+ * @since 17.10.26
+ */
+public class CypherQueryEngineTests {
+    private ImpermanentGraphDatabase db;
+
+    @Before
+    public void setUp() throws Exception {
+        db = new ImpermanentGraphDatabase();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        db.shutdown();
+    }
+
+    @Test
+    public void shouldReusePreparedPlans() throws Exception {
+        final CypherQueryEngine engine = new CypherQueryEngine(db, null, 10);
+        final CypherQueryPlanCache cache = engine.getQueryPlanCache();
+        final Map<String, Object> params = Collections.<String, Object>singletonMap("id", 0L);
+
+        assertTrue(engine.prepare("start n=node({id}) return n"));
+        assertEquals(0L, engine.query("start n=node({id}) return id(n) as id", params).to(Long.class).single().longValue());
+        assertEquals(0L, engine.query("start n=node({id}) return id(n) as id", params).to(Long.class).single().longValue());
+        engine.query("start n=node({id}) return n", params).to(Object.class).single();
+
+        assertEquals(2, cache.size());
+        assertEquals(2, cache.getMisses());
+        assertEquals(2, cache.getHits());
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedPlans() throws Exception {
+        final CypherQueryEngine engine = new CypherQueryEngine(db, null, 2);
+        final CypherQueryPlanCache cache = engine.getQueryPlanCache();
+        engine.prepare("start n=node(0) return n");
+        engine.prepare("start n=node(0) return id(n)");
+        engine.prepare("start n=node(0) return n");
+        engine.prepare("start n=node(0) return n.name?");
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictions());
+        assertTrue(cache.contains("start n=node(0) return n"));
+        assertFalse(cache.contains("start n=node(0) return id(n)"));
+    }
+
+    @Test
+    public void shouldNotFailToPrepareInvalidStatements() throws Exception {
+        final CypherQueryEngine engine = new CypherQueryEngine(db, null, 10);
+        assertFalse(engine.prepare("start n=nod(0) return n"));
+        assertEquals(0, engine.getQueryPlanCache().size());
+    }
+}
@@ -0,0 +1,150 @@
+/**
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.neo4j.typerepresentation;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.Transaction;
+import org.neo4j.test.ImpermanentGraphDatabase;
+import org.springframework.data.neo4j.model.Person;
+import org.springframework.data.neo4j.support.MappingInfrastructureFactoryBean;
+import org.springframework.data.neo4j.support.Neo4jTemplate;
+import org.springframework.data.neo4j.support.typerepresentation.AbstractIndexingTypeRepresentationStrategy;
+import org.springframework.data.neo4j.support.typerepresentation.IndexedTypeCounters;
+import org.springframework.data.neo4j.support.typerepresentation.IndexingNodeTypeRepresentationStrategy;
+import org.springframework.data.neo4j.support.typerepresentation.TypeRepresentationStrategyFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+/**
+ * @author mh
+ * @since 17.10.26
+ */
+public class IndexedTypeCountersTests {
+
+    private ImpermanentGraphDatabase db;
+    private Neo4jTemplate template;
+    private AbstractIndexingTypeRepresentationStrategy<Node> strategy;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() throws Exception {
+        db = new ImpermanentGraphDatabase();
+        MappingInfrastructureFactoryBean factoryBean = new MappingInfrastructureFactoryBean(db, null);
+        factoryBean.setTypeRepresentationStrategy(TypeRepresentationStrategyFactory.Strategy.Indexed);
+        factoryBean.setIndexedTypeCounters(true);
+        factoryBean.afterPropertiesSet();
+        template = new Neo4jTemplate(factoryBean.getObject());
+        strategy = (AbstractIndexingTypeRepresentationStrategy<Node>) factoryBean.getObject().getNodeTypeRepresentationStrategy();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        db.shutdown();
+    }
+
+    @Test
+    public void testCountIsMaintainedOnSaveAndDelete() throws Exception {
+        assertNotNull(strategy.getTypeCounters());
+        Transaction tx = db.beginTx();
+        final Person first = template.save(new Person("First", 1));
+        template.save(new Person("Second", 2));
+        template.save(new Person("Third", 3));
+        assertEquals(3, template.count(Person.class));
+        tx.success();
+        tx.finish();
+        assertEquals(3, template.count(Person.class));
+
+        tx = db.beginTx();
+        template.delete(first);
+        tx.success();
+        tx.finish();
+        assertEquals(2, template.count(Person.class));
+
+        tx = db.beginTx();
+        template.save(new Person("Fourth", 4));
+        tx.failure();
+        tx.finish();
+        assertEquals(2, template.count(Person.class));
+    }
+
+    @Test
+    public void testRebuildRecomputesCountsFromIndex() throws Exception {
+        Transaction tx = db.beginTx();
+        template.save(new Person("First", 1));
+        template.save(new Person("Second", 2));
+        tx.success();
+        tx.finish();
+
+        final Object alias = template.getEntityType(Person.class).getAlias();
+        tx = db.beginTx();
+        final Node counterNode = db.index().forNodes(IndexingNodeTypeRepresentationStrategy.INDEX_NAME + "counters__").get(IndexedTypeCounters.ALIAS_KEY, alias.toString()).getSingle();
+        counterNode.setProperty(IndexedTypeCounters.COUNTER_KEY, 42);
+        tx.success();
+        tx.finish();
+        assertEquals(42, template.count(Person.class));
+
+        tx = db.beginTx();
+        strategy.rebuildTypeCounters();
+        tx.success();
+        tx.finish();
+        assertEquals(2, template.count(Person.class));
+    }
+
+    @Test
+    public void testRebuildAfterSaveAndDeleteInSameTransaction() throws Exception {
+        Transaction tx = db.beginTx();
+        final Person first = template.save(new Person("First", 1));
+        template.save(new Person("Second", 2));
+        tx.success();
+        tx.finish();
+
+        tx = db.beginTx();
+        template.save(new Person("Third", 3));
+        template.save(new Person("Fourth", 4));
+        template.delete(first);
+        strategy.rebuildTypeCounters();
+        assertEquals(3, template.count(Person.class));
+        tx.success();
+        tx.finish();
+        assertEquals(3, template.count(Person.class));
+        assertEquals(Long.valueOf(3), counterNode().getProperty(IndexedTypeCounters.COUNTER_KEY));
+    }
+
+    @Test
+    public void testCounterNodeOfRolledBackTransactionIsNotReused() throws Exception {
+        Transaction tx = db.beginTx();
+        template.save(new Person("First", 1));
+        tx.failure();
+        tx.finish();
+
+        tx = db.beginTx();
+        template.save(new Person("Second", 2));
+        template.save(new Person("Third", 3));
+        tx.success();
+        tx.finish();
+        assertEquals(2, template.count(Person.class));
+        assertEquals(Long.valueOf(2), counterNode().getProperty(IndexedTypeCounters.COUNTER_KEY));
+    }
+
+    private Node counterNode() {
+        final Object alias = template.getEntityType(Person.class).getAlias();
+        return db.index().forNodes(IndexingNodeTypeRepresentationStrategy.INDEX_NAME + "counters__").get(IndexedTypeCounters.ALIAS_KEY, alias.toString()).getSingle();
+    }
+}
@@ -0,0 +1,151 @@
+/**
+ * Copyright 2011 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.neo4j.typerepresentation;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.neo4j.graphdb.Direction;
+import org.neo4j.graphdb.DynamicRelationshipType;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.Transaction;
+import org.neo4j.test.ImpermanentGraphDatabase;
+import org.springframework.data.neo4j.support.DelegatingGraphDatabase;
+import org.springframework.data.neo4j.support.typerepresentation.StripedCounters;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author mh
+ * @since 17.10.26
+ */
+public class StripedCountersTests {
+
+    private ImpermanentGraphDatabase db;
+    private DelegatingGraphDatabase graphDatabase;
+    private Node counterNode;
+
+    @Before
+    public void setUp() throws Exception {
+        db = new ImpermanentGraphDatabase();
+        graphDatabase = new DelegatingGraphDatabase(db);
+        Transaction tx = db.beginTx();
+        counterNode = db.createNode();
+        tx.success();
+        tx.finish();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        db.shutdown();
+    }
+
+    @Test
+    public void testCountersAreSpreadOverStripes() throws Exception {
+        final StripedCounters counters = new StripedCounters(graphDatabase, "count", 4, false);
+        final AtomicInteger failures = new AtomicInteger();
+        Thread[] threads = new Thread[4];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread() {
+                public void run() {
+                    try {
+                        for (int j = 0; j < 10; j++) {
+                            Transaction tx = db.beginTx();
+                            counters.increment(counterNode);
+                            tx.success();
+                            tx.finish();
+                        }
+                    } catch (RuntimeException e) {
+                        failures.incrementAndGet();
+                    }
+                }
+            };
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(0, failures.get());
+        assertEquals(40, counters.get(counterNode));
+        assertTrue(counterNode.hasRelationship(StripedCounters.COUNTER_STRIPE));
+
+        Transaction tx = db.beginTx();
+        counters.compact(counterNode);
+        tx.success();
+        tx.finish();
+        assertEquals(40, counterNode.getProperty("count"));
+        assertEquals(40, counters.get(counterNode));
+    }
+
+    @Test
+    public void testDeferredCountersAreAppliedOnCommitOnly() throws Exception {
+        final StripedCounters counters = new StripedCounters(graphDatabase, "count", 1, true);
+        assertTrue(counters.isDeferred());
+
+        Transaction tx = db.beginTx();
+        counters.increment(counterNode);
+        counters.increment(counterNode);
+        assertEquals(2, counters.get(counterNode));
+        assertEquals(false, counterNode.hasProperty("count"));
+        tx.success();
+        tx.finish();
+        assertEquals(2, counterNode.getProperty("count"));
+
+        tx = db.beginTx();
+        counters.decrement(counterNode);
+        tx.failure();
+        tx.finish();
+        assertEquals(2, counters.get(counterNode));
+    }
+
+    @Test
+    public void testDestroyedDeferredCountersAreUpdatedImmediately() throws Exception {
+        final StripedCounters counters = new StripedCounters(graphDatabase, "count", 1, true);
+        counters.destroy();
+        assertEquals(false, counters.isDeferred());
+
+        Transaction tx = db.beginTx();
+        counters.increment(counterNode);
+        assertEquals(1, counterNode.getProperty("count"));
+        tx.success();
+        tx.finish();
+        assertEquals(1, counters.get(counterNode));
+    }
+
+    @Test
+    public void testCompactKeepsStripesWithInstanceLinks() throws Exception {
+        final StripedCounters counters = new StripedCounters(graphDatabase, "count", 4, false);
+        Transaction tx = db.beginTx();
+        final Node stripe = counters.stripeFor(counterNode);
+        final Node instance = db.createNode();
+        instance.createRelationshipTo(stripe, DynamicRelationshipType.withName("INSTANCE_OF"));
+        counters.increment(counterNode);
+        tx.success();
+        tx.finish();
+        assertEquals(counterNode, counters.counterNodeOf(stripe));
+
+        tx = db.beginTx();
+        counters.compact(counterNode);
+        tx.success();
+        tx.finish();
+        assertEquals(1, counters.get(counterNode));
+        assertEquals(false, stripe.hasProperty("count"));
+        assertEquals(stripe, instance.getSingleRelationship(DynamicRelationshipType.withName("INSTANCE_OF"), Direction.OUTGOING).getEndNode());
+    }
+}